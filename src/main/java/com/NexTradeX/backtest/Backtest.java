@@ -0,0 +1,30 @@
+package com.NexTradeX.backtest;
+
+/**
+ * Replays a {@link TickSource} through a {@link BacktestExchange} as fast as the
+ * strategy allows. Everything runs on the calling thread against in-memory
+ * state: no sequencer, no database, no events, so a run is deterministic and
+ * its throughput is bounded only by decoding and the strategy itself.
+ */
+public final class Backtest {
+
+    private Backtest() {
+    }
+
+    public static BacktestReport run(TickSource source, BacktestExchange exchange, Strategy strategy) {
+        exchange.attach(strategy);
+        strategy.onStart(exchange);
+        long[] events = new long[1];
+        long[] firstTime = new long[1];
+        long started = System.nanoTime();
+        source.replay((timeMillis, priceTicks) -> {
+            if (events[0]++ == 0) {
+                firstTime[0] = timeMillis;
+            }
+            exchange.onTick(timeMillis, priceTicks);
+            strategy.onTick(exchange, timeMillis, priceTicks);
+            return true;
+        });
+        return exchange.report(events[0], firstTime[0], System.nanoTime() - started);
+    }
+}
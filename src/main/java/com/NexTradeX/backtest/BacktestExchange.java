@@ -0,0 +1,381 @@
+package com.NexTradeX.backtest;
+
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.matching.BookOrder;
+import com.NexTradeX.matching.Fill;
+import com.NexTradeX.matching.MatchingEngine;
+import com.NexTradeX.matching.StopOrder;
+import com.NexTradeX.order.OrderSide;
+import com.NexTradeX.order.TimeInForce;
+import com.NexTradeX.risk.TradingRules;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-account, single-symbol paper exchange for backtests, built from the
+ * same parts as the live one: limit and stop orders live in a
+ * {@link MatchingEngine}, and fees, collateral, PnL and liquidation come from
+ * {@link TradingRules}, with the spot and futures semantics of
+ * SpotTradingService, FuturesTradingService and RiskManagementService.
+ * Balances are plain fixed-point longs; nothing is persisted.
+ *
+ * The live exchange fills market orders at the current price and matches
+ * limit orders against other users' orders. Here the other side is the tape:
+ * on each tick, resting orders that the tick price crosses are filled at their
+ * limit price by an immediate-or-cancel order with unlimited quantity.
+ *
+ * As live, a resting order holds its funds until it fills or is cancelled:
+ * quote for a buy, base lots for a sell. Every balance check is against what
+ * is not held.
+ *
+ * Not thread-safe; driven by {@link Backtest} on one thread.
+ */
+public class BacktestExchange {
+
+    private static final long STRATEGY_USER = 1L;
+    private static final long TAPE_USER = 0L;
+    private static final long TAPE_ORDER = -1L;
+
+    @Getter
+    private final String symbol;
+    @Getter
+    private final InstrumentSpec spec;
+    @Getter
+    private final VirtualClock clock = new VirtualClock();
+    private final MatchingEngine matchingEngine = new MatchingEngine(event -> { });
+    private final BigDecimal tapeQuantity;
+    private Strategy strategy;
+
+    private long nextOrderId = 1;
+    @Getter
+    private long lastPriceTicks;
+
+    // Spot account: quote currency at TradingRules.MONEY_SCALE, base asset in lots
+    @Getter
+    private long quoteBalance;
+    @Getter
+    private long baseLots;
+    // Held for resting limit orders; part of the balances above
+    @Getter
+    private long reservedQuote;
+    @Getter
+    private long reservedLots;
+    private final Map<Long, RestingOrder> restingOrders = new HashMap<>();
+    private final Map<Long, Long> stopQuantities = new HashMap<>();
+
+    // Futures account
+    @Getter
+    private long futuresBalance;
+    @Getter
+    private long futuresLocked;
+    private final List<Position> positions = new ArrayList<>();
+
+    private final long initialEquity;
+    private long trades;
+    private long rejected;
+    private long liquidations;
+    private long fees;
+    private long peakEquity;
+    private double maxDrawdown;
+
+    private static final class RestingOrder {
+        final OrderSide side;
+        final long priceTicks;
+        long lots;
+
+        RestingOrder(OrderSide side, long priceTicks, long lots) {
+            this.side = side;
+            this.priceTicks = priceTicks;
+            this.lots = lots;
+        }
+    }
+
+    private static final class Position {
+        final long id;
+        final boolean isLong;
+        final long entryTicks;
+        final long lots;
+        final long collateral;
+
+        Position(long id, boolean isLong, long entryTicks, long lots, long collateral) {
+            this.id = id;
+            this.isLong = isLong;
+            this.entryTicks = entryTicks;
+            this.lots = lots;
+            this.collateral = collateral;
+        }
+    }
+
+    public BacktestExchange(String symbol, BigDecimal spotBalance, BigDecimal futuresBalance) {
+        this.symbol = symbol;
+        this.spec = InstrumentSpec.of(symbol);
+        this.tapeQuantity = spec.fromLots(Long.MAX_VALUE / 4);
+        this.quoteBalance = TradingRules.toMoney(spotBalance);
+        this.futuresBalance = TradingRules.toMoney(futuresBalance);
+        this.initialEquity = quoteBalance + this.futuresBalance;
+        this.peakEquity = initialEquity;
+    }
+
+    void attach(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Apply one replayed tick: cross resting orders, fire stops, mark and
+     * liquidate futures positions, then update the equity statistics.
+     */
+    void onTick(long timeMillis, long priceTicks) {
+        clock.advanceTo(timeMillis);
+        lastPriceTicks = priceTicks;
+        if (!restingOrders.isEmpty()) {
+            crossRestingOrders(priceTicks);
+        }
+        if (!stopQuantities.isEmpty()) {
+            for (StopOrder stop : matchingEngine.triggerStops(symbol, priceTicks)) {
+                Long lots = stopQuantities.remove(stop.getOrderId());
+                if (lots != null) {
+                    execute(stop.getOrderId(), stop.getSide(), priceTicks, lots);
+                }
+            }
+        }
+        if (!positions.isEmpty()) {
+            liquidateUnderwater(priceTicks);
+        }
+        trackEquity();
+    }
+
+    // ---- Spot ----
+
+    /**
+     * Fill at the last price, like a live spot market order.
+     *
+     * @return the order id, or -1 if rejected for insufficient balance
+     */
+    public long marketOrder(OrderSide side, long lots) {
+        long orderId = nextOrderId++;
+        return execute(orderId, side, lastPriceTicks, lots) ? orderId : -1;
+    }
+
+    /**
+     * Place a GTC limit order; the balance check mirrors the live one, and
+     * whatever rests holds its funds until it fills or is cancelled.
+     *
+     * @return the order id, or -1 if rejected
+     */
+    public long limitOrder(OrderSide side, long priceTicks, long lots) {
+        if (!canAfford(side, priceTicks, lots)) {
+            rejected++;
+            return -1;
+        }
+        long orderId = nextOrderId++;
+        BookOrder order = new BookOrder(orderId, STRATEGY_USER, symbol, side,
+                spec.fromTicks(priceTicks), spec.fromLots(lots), TimeInForce.GTC);
+        List<Fill> fills = matchingEngine.submit(order);
+        for (Fill fill : fills) {
+            // No other participants in the book: every fill here is the strategy against itself
+            settle(fill.getTakerOrderId(), fill.getTakerSide(), fill);
+            settle(fill.getMakerOrderId(), opposite(fill.getTakerSide()), fill);
+        }
+        if (order.isResting()) {
+            RestingOrder resting = new RestingOrder(side, priceTicks, spec.toLots(order.getRemainingQuantity()));
+            restingOrders.put(orderId, resting);
+            hold(resting, 1);
+        }
+        return orderId;
+    }
+
+    /**
+     * Stop-market order that executes at the first price through {@code stopPriceTicks}.
+     */
+    public long stopOrder(OrderSide side, long stopPriceTicks, long lots) {
+        long orderId = nextOrderId++;
+        matchingEngine.addStop(StopOrder.stop(orderId, STRATEGY_USER, symbol, side, spec.fromTicks(stopPriceTicks)));
+        stopQuantities.put(orderId, lots);
+        return orderId;
+    }
+
+    public boolean cancel(long orderId) {
+        RestingOrder resting = restingOrders.remove(orderId);
+        if (resting != null) {
+            hold(resting, -1);
+        }
+        stopQuantities.remove(orderId);
+        return matchingEngine.cancel(symbol, orderId);
+    }
+
+    private void crossRestingOrders(long priceTicks) {
+        BigDecimal price = spec.fromTicks(priceTicks);
+        for (OrderSide tapeSide : OrderSide.values()) {
+            BookOrder tape = new BookOrder(TAPE_ORDER, TAPE_USER, symbol, tapeSide, price, tapeQuantity, TimeInForce.IOC);
+            for (Fill fill : matchingEngine.submit(tape)) {
+                settle(fill.getMakerOrderId(), opposite(tapeSide), fill);
+            }
+        }
+    }
+
+    private void settle(long orderId, OrderSide side, Fill fill) {
+        long priceTicks = spec.toTicks(fill.getPrice());
+        long lots = spec.toLots(fill.getQuantity());
+        RestingOrder resting = restingOrders.get(orderId);
+        if (resting != null) {
+            hold(resting, -1);
+            resting.lots -= lots;
+            if (matchingEngine.getBook(symbol).getOrder(orderId) == null) {
+                restingOrders.remove(orderId);
+            } else {
+                hold(resting, 1);
+            }
+        }
+        book(side, priceTicks, lots);
+        strategy.onFill(this, orderId, side, priceTicks, lots);
+    }
+
+    private boolean execute(long orderId, OrderSide side, long priceTicks, long lots) {
+        if (priceTicks <= 0 || !canAfford(side, priceTicks, lots)) {
+            rejected++;
+            return false;
+        }
+        book(side, priceTicks, lots);
+        strategy.onFill(this, orderId, side, priceTicks, lots);
+        return true;
+    }
+
+    private boolean canAfford(OrderSide side, long priceTicks, long lots) {
+        if (side == OrderSide.SELL) {
+            return baseLots - reservedLots >= lots;
+        }
+        return quoteBalance - reservedQuote >= cost(priceTicks, lots);
+    }
+
+    private long cost(long priceTicks, long lots) {
+        long notional = TradingRules.notional(spec, priceTicks, lots);
+        return notional + TradingRules.commission(notional);
+    }
+
+    /**
+     * Add ({@code sign} 1) or release ({@code sign} -1) what a resting order holds.
+     */
+    private void hold(RestingOrder resting, int sign) {
+        if (resting.side == OrderSide.SELL) {
+            reservedLots += sign * resting.lots;
+        } else {
+            reservedQuote += sign * cost(resting.priceTicks, resting.lots);
+        }
+    }
+
+    private void book(OrderSide side, long priceTicks, long lots) {
+        long notional = TradingRules.notional(spec, priceTicks, lots);
+        long fee = TradingRules.commission(notional);
+        if (side == OrderSide.BUY) {
+            quoteBalance -= notional + fee;
+            baseLots += lots;
+        } else {
+            quoteBalance += notional - fee;
+            baseLots -= lots;
+        }
+        fees += fee;
+        trades++;
+    }
+
+    private static OrderSide opposite(OrderSide side) {
+        return side == OrderSide.BUY ? OrderSide.SELL : OrderSide.BUY;
+    }
+
+    // ---- Futures ----
+
+    /**
+     * Open a position at the last price with collateral of notional / leverage.
+     *
+     * @return the position id, or -1 if the leverage is out of range or collateral is short
+     */
+    public long openFutures(OrderSide side, long lots, BigDecimal leverage) {
+        if (!TradingRules.isValidFuturesLeverage(leverage) || lastPriceTicks <= 0) {
+            rejected++;
+            return -1;
+        }
+        BigDecimal collateralAmount = spec.fromTicks(lastPriceTicks).multiply(spec.fromLots(lots))
+                .divide(leverage, TradingRules.MONEY_SCALE, RoundingMode.HALF_UP);
+        long collateral = TradingRules.toMoney(collateralAmount);
+        if (futuresBalance - futuresLocked < collateral) {
+            rejected++;
+            return -1;
+        }
+        futuresLocked += collateral;
+        long positionId = nextOrderId++;
+        positions.add(new Position(positionId, side == OrderSide.BUY, lastPriceTicks, lots, collateral));
+        trades++;
+        return positionId;
+    }
+
+    public boolean closeFutures(long positionId) {
+        for (Iterator<Position> iterator = positions.iterator(); iterator.hasNext(); ) {
+            Position position = iterator.next();
+            if (position.id == positionId) {
+                iterator.remove();
+                futuresLocked -= position.collateral;
+                futuresBalance += pnl(position, lastPriceTicks);
+                trades++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getOpenPositionCount() {
+        return positions.size();
+    }
+
+    private void liquidateUnderwater(long priceTicks) {
+        for (Iterator<Position> iterator = positions.iterator(); iterator.hasNext(); ) {
+            Position position = iterator.next();
+            long marginRatio = TradingRules.futuresMarginRatio(position.collateral, pnl(position, priceTicks));
+            if (TradingRules.isFuturesLiquidatable(marginRatio)) {
+                iterator.remove();
+                // As live: a liquidated position's collateral is not returned
+                futuresLocked -= position.collateral;
+                futuresBalance -= position.collateral;
+                liquidations++;
+                strategy.onLiquidation(this, position.id);
+            }
+        }
+    }
+
+    private long pnl(Position position, long priceTicks) {
+        return TradingRules.unrealizedPnL(spec, position.isLong, position.entryTicks, priceTicks, position.lots);
+    }
+
+    // ---- Results ----
+
+    public long getEquity() {
+        long equity = quoteBalance + futuresBalance;
+        if (baseLots != 0 && lastPriceTicks > 0) {
+            equity += TradingRules.notional(spec, lastPriceTicks, baseLots);
+        }
+        for (Position position : positions) {
+            equity += pnl(position, lastPriceTicks);
+        }
+        return equity;
+    }
+
+    private void trackEquity() {
+        long equity = getEquity();
+        if (equity > peakEquity) {
+            peakEquity = equity;
+        } else if (peakEquity > 0) {
+            maxDrawdown = Math.max(maxDrawdown, (double) (peakEquity - equity) / peakEquity);
+        }
+    }
+
+    BacktestReport report(long events, long firstTime, long wallNanos) {
+        return new BacktestReport(symbol, events, firstTime, clock.now(), wallNanos, trades, rejected,
+                liquidations, TradingRules.fromMoney(fees), TradingRules.fromMoney(initialEquity),
+                TradingRules.fromMoney(getEquity()), maxDrawdown);
+    }
+}
@@ -0,0 +1,34 @@
+package com.NexTradeX.backtest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Outcome of one {@link Backtest} run. Money is in the quote currency.
+ */
+public record BacktestReport(String symbol, long events, long firstTime, long lastTime, long wallNanos,
+                             long trades, long rejected, long liquidations, BigDecimal fees,
+                             BigDecimal initialEquity, BigDecimal finalEquity, double maxDrawdown) {
+
+    public double eventsPerSecond() {
+        return wallNanos == 0 ? 0 : events * 1e9 / wallNanos;
+    }
+
+    public BigDecimal profit() {
+        return finalEquity.subtract(initialEquity);
+    }
+
+    public String format() {
+        String period = events == 0 ? "-" : Instant.ofEpochMilli(firstTime) + " .. " + Instant.ofEpochMilli(lastTime);
+        return String.format("""
+                        Backtest %s %s
+                          events:        %,d in %.3f s (%,.0f events/s)
+                          trades:        %,d (rejected %,d, liquidations %,d)
+                          fees:          %s
+                          equity:        %s -> %s (profit %s)
+                          max drawdown:  %.2f%%""",
+                symbol, period, events, wallNanos / 1e9, eventsPerSecond(), trades, rejected, liquidations,
+                fees.toPlainString(), initialEquity.toPlainString(), finalEquity.toPlainString(),
+                profit().toPlainString(), maxDrawdown * 100);
+    }
+}
@@ -0,0 +1,77 @@
+package com.NexTradeX.backtest;
+
+import com.NexTradeX.market.GbmJumpModel;
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.tickstore.TickStore;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line entry point that runs {@link MovingAverageCrossStrategy} without
+ * starting the application context. Arguments are {@code --key=value}:
+ * <ul>
+ *   <li>{@code symbol} (BTCUSDT), {@code spot-balance} (10000), {@code futures-balance} (0)</li>
+ *   <li>{@code fast} (50), {@code slow} (200) and {@code quantity} (0.01) for the strategy</li>
+ *   <li>{@code ticks-dir} with optional ISO-8601 {@code from} / {@code to}: replay ticks
+ *       recorded by {@link TickStore} in that directory</li>
+ *   <li>otherwise a generated path: {@code count} (10000000), {@code start-price} (60000),
+ *       {@code volatility} (0.6), {@code seed} (42)</li>
+ * </ul>
+ * From the packaged jar:
+ * {@code java -cp nextradex.jar -Dloader.main=com.NexTradeX.backtest.BacktestRunner
+ * org.springframework.boot.loader.launch.PropertiesLauncher --ticks-dir=data/ticks}
+ */
+public final class BacktestRunner {
+
+    private BacktestRunner() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = parse(args);
+        String symbol = options.getOrDefault("symbol", "BTCUSDT");
+        InstrumentSpec spec = InstrumentSpec.of(symbol);
+
+        BacktestExchange exchange = new BacktestExchange(symbol,
+                new BigDecimal(options.getOrDefault("spot-balance", "10000")),
+                new BigDecimal(options.getOrDefault("futures-balance", "0")));
+        Strategy strategy = new MovingAverageCrossStrategy(
+                Integer.parseInt(options.getOrDefault("fast", "50")),
+                Integer.parseInt(options.getOrDefault("slow", "200")),
+                spec.toLots(new BigDecimal(options.getOrDefault("quantity", "0.01"))));
+
+        BacktestReport report;
+        String ticksDir = options.get("ticks-dir");
+        if (ticksDir != null) {
+            TickStore tickStore = new TickStore(false, ticksDir, 8 << 20, 3_600_000L, 365);
+            try {
+                long from = options.containsKey("from") ? Instant.parse(options.get("from")).toEpochMilli() : 0;
+                long to = options.containsKey("to") ? Instant.parse(options.get("to")).toEpochMilli() : Long.MAX_VALUE;
+                report = Backtest.run(new TickStoreSource(tickStore, symbol, from, to), exchange, strategy);
+            } finally {
+                tickStore.close();
+            }
+        } else {
+            GbmJumpModel model = new GbmJumpModel(0, Double.parseDouble(options.getOrDefault("volatility", "0.6")),
+                    50, 0, 0.01, 1.0 / (365 * 86_400), Long.parseLong(options.getOrDefault("seed", "42")));
+            report = Backtest.run(new GeneratedTickSource(spec, model,
+                    Double.parseDouble(options.getOrDefault("start-price", "60000")), 0, 1_000,
+                    Long.parseLong(options.getOrDefault("count", "10000000"))), exchange, strategy);
+        }
+        System.out.println(report.format());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,27 @@
+package com.NexTradeX.backtest;
+
+import com.NexTradeX.common.FixedPoint;
+import com.NexTradeX.market.GbmJumpModel;
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.tickstore.TickVisitor;
+
+/**
+ * {@code count} ticks spaced {@code stepMillis} apart along a {@link GbmJumpModel}
+ * path, generated on the fly.
+ */
+public record GeneratedTickSource(InstrumentSpec spec, GbmJumpModel model, double startPrice,
+                                  long startTime, long stepMillis, long count) implements TickSource {
+
+    @Override
+    public void replay(TickVisitor visitor) {
+        double ticksPerUnit = FixedPoint.pow10(spec.priceScale());
+        double price = startPrice;
+        for (long i = 0; i < count; i++) {
+            price = model.next(price);
+            long priceTicks = Math.max(1, Math.round(price * ticksPerUnit));
+            if (!visitor.visit(startTime + i * stepMillis, priceTicks)) {
+                return;
+            }
+        }
+    }
+}
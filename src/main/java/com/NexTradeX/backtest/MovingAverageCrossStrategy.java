@@ -0,0 +1,49 @@
+package com.NexTradeX.backtest;
+
+import com.NexTradeX.order.OrderSide;
+
+/**
+ * Sample strategy: long the base asset while the fast exponential moving
+ * average of the price is above the slow one, flat otherwise.
+ */
+public class MovingAverageCrossStrategy implements Strategy {
+
+    private final double fastAlpha;
+    private final double slowAlpha;
+    private final long lots;
+    private final int warmup;
+
+    private double fast;
+    private double slow;
+    private int seen;
+
+    public MovingAverageCrossStrategy(int fastPeriod, int slowPeriod, long lots) {
+        if (fastPeriod <= 0 || slowPeriod <= fastPeriod) {
+            throw new IllegalArgumentException("Expected 0 < fast period < slow period");
+        }
+        this.fastAlpha = 2.0 / (fastPeriod + 1);
+        this.slowAlpha = 2.0 / (slowPeriod + 1);
+        this.lots = lots;
+        this.warmup = slowPeriod;
+    }
+
+    @Override
+    public void onTick(BacktestExchange exchange, long timeMillis, long priceTicks) {
+        if (seen++ == 0) {
+            fast = priceTicks;
+            slow = priceTicks;
+            return;
+        }
+        fast += fastAlpha * (priceTicks - fast);
+        slow += slowAlpha * (priceTicks - slow);
+        if (seen < warmup) {
+            return;
+        }
+        boolean holding = exchange.getBaseLots() >= lots;
+        if (fast > slow && !holding) {
+            exchange.marketOrder(OrderSide.BUY, lots);
+        } else if (fast < slow && holding) {
+            exchange.marketOrder(OrderSide.SELL, lots);
+        }
+    }
+}
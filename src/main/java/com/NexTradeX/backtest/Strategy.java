@@ -0,0 +1,22 @@
+package com.NexTradeX.backtest;
+
+import com.NexTradeX.order.OrderSide;
+
+/**
+ * Trading logic under test. Callbacks run on the replay thread, after the
+ * exchange has applied the tick (resting orders crossed, stops triggered,
+ * positions marked).
+ */
+public interface Strategy {
+
+    default void onStart(BacktestExchange exchange) {
+    }
+
+    void onTick(BacktestExchange exchange, long timeMillis, long priceTicks);
+
+    default void onFill(BacktestExchange exchange, long orderId, OrderSide side, long priceTicks, long lots) {
+    }
+
+    default void onLiquidation(BacktestExchange exchange, long positionId) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.NexTradeX.backtest;
+
+import com.NexTradeX.tickstore.TickVisitor;
+
+/**
+ * Ticks of one symbol in time order, prices in ticks of its
+ * {@link com.NexTradeX.market.InstrumentSpec}.
+ */
+@FunctionalInterface
+public interface TickSource {
+
+    void replay(TickVisitor visitor);
+}
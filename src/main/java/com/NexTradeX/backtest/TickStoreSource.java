@@ -0,0 +1,15 @@
+package com.NexTradeX.backtest;
+
+import com.NexTradeX.tickstore.TickStore;
+import com.NexTradeX.tickstore.TickVisitor;
+
+/**
+ * Replays ticks recorded by {@link TickStore}, decoded straight from its segment files.
+ */
+public record TickStoreSource(TickStore tickStore, String symbol, long from, long to) implements TickSource {
+
+    @Override
+    public void replay(TickVisitor visitor) {
+        tickStore.scan(symbol, from, to, visitor);
+    }
+}
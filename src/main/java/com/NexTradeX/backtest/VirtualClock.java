@@ -0,0 +1,20 @@
+package com.NexTradeX.backtest;
+
+/**
+ * Simulated time of a backtest, driven by the replayed ticks instead of the
+ * wall clock. Never moves backwards.
+ */
+public final class VirtualClock {
+
+    private long now = Long.MIN_VALUE;
+
+    public long now() {
+        return now;
+    }
+
+    void advanceTo(long timeMillis) {
+        if (timeMillis > now) {
+            now = timeMillis;
+        }
+    }
+}
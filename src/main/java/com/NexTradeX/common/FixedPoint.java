@@ -0,0 +1,114 @@
+package com.NexTradeX.common;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic on scaled {@code long}s: a value {@code v} at scale
+ * {@code s} stands for {@code v / 10^s}, exactly like {@code BigDecimal.valueOf(v, s)}.
+ *
+ * Products are computed as 128-bit values via {@link Math#multiplyHigh}, so
+ * rescaling a product never overflows silently; only results that genuinely
+ * do not fit a {@code long} fall back to {@link BigDecimal} (and then throw
+ * {@link ArithmeticException} like {@code longValueExact}). Rounding is HALF_UP
+ * throughout to match the BigDecimal code it replaces.
+ */
+public final class FixedPoint {
+
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private FixedPoint() {
+    }
+
+    public static long pow10(int exponent) {
+        return POW10[exponent];
+    }
+
+    /**
+     * Exact conversion; throws {@link ArithmeticException} if the value carries
+     * more decimals than {@code scale} or does not fit.
+     */
+    public static long toScaled(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static long toScaled(BigDecimal value, int scale, RoundingMode roundingMode) {
+        return value.setScale(scale, roundingMode).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long value, int scale) {
+        return BigDecimal.valueOf(value, scale);
+    }
+
+    /**
+     * Whether the value can be represented at {@code scale} without rounding.
+     */
+    public static boolean fits(BigDecimal value, int scale) {
+        return value.stripTrailingZeros().scale() <= scale;
+    }
+
+    public static long rescale(long value, int fromScale, int toScale) {
+        if (toScale >= fromScale) {
+            return Math.multiplyExact(value, POW10[toScale - fromScale]);
+        }
+        return divideRounded(value, POW10[fromScale - toScale]);
+    }
+
+    /**
+     * {@code a * b} where the exact product has scale {@code productScale},
+     * rounded to {@code resultScale}.
+     */
+    public static long multiply(long a, long b, int productScale, int resultScale) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if (high == (low >> 63)) {
+            return rescale(low, productScale, resultScale);
+        }
+        return BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                .movePointLeft(productScale - resultScale)
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    /**
+     * {@code a / b} rounded to {@code resultScale}, where {@code a} and
+     * {@code b} share the same scale. Throws on division by zero.
+     */
+    public static long divide(long a, long b, int resultScale) {
+        long factor = POW10[resultScale];
+        long high = Math.multiplyHigh(a, factor);
+        long low = a * factor;
+        if (high == (low >> 63)) {
+            return divideRounded(low, b);
+        }
+        return BigDecimal.valueOf(a).movePointRight(resultScale)
+                .divide(BigDecimal.valueOf(b), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    /**
+     * Sign of {@code a * b - c * d}, computed exactly on 128-bit products.
+     */
+    public static int compareProducts(long a, long b, long c, long d) {
+        long high1 = Math.multiplyHigh(a, b);
+        long high2 = Math.multiplyHigh(c, d);
+        if (high1 != high2) {
+            return high1 < high2 ? -1 : 1;
+        }
+        return Long.compareUnsigned(a * b, c * d);
+    }
+
+    private static long divideRounded(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (remainder != 0 && Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += (value ^ divisor) < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+}
@@ -1,5 +1,7 @@
 package com.NexTradeX.common;
 
+import com.NexTradeX.spot.SpotTradeWriter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,8 +14,11 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/health")
+@RequiredArgsConstructor
 public class HealthController {
     
+    private final SpotTradeWriter spotTradeWriter;
+    
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> response = new HashMap<>();
@@ -21,6 +26,7 @@ public class HealthController {
         response.put("timestamp", LocalDateTime.now());
         response.put("application", "NexTradeX");
         response.put("version", "1.0.0");
+        response.put("tradeWriteBehind", spotTradeWriter.getStats());
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,66 @@
+package com.NexTradeX.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit ids: 41 bits of milliseconds since {@link #EPOCH},
+ * 10 bits of node id and a 12-bit per-millisecond sequence.
+ *
+ * The last issued (timestamp, sequence) pair lives in a single AtomicLong and
+ * is advanced with CAS, so generation is lock-free. When a millisecond's 4096
+ * sequence values run out, or the wall clock steps backwards, ids continue
+ * from the last timestamp instead of waiting, which keeps them strictly
+ * increasing per node.
+ */
+public final class SnowflakeIdGenerator {
+
+    public static final long EPOCH = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static volatile long nodeId;
+    private static final AtomicLong lastState = new AtomicLong();
+
+    private SnowflakeIdGenerator() {
+    }
+
+    public static void setNodeId(long id) {
+        if (id < 0 || id > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        nodeId = id;
+    }
+
+    public static long nextId() {
+        long now = System.currentTimeMillis() - EPOCH;
+        long state;
+        long next;
+        do {
+            state = lastState.get();
+            long lastTimestamp = state >>> SEQUENCE_BITS;
+            // Either a fresh millisecond with sequence 0, or the next sequence value
+            // (overflowing into the timestamp bits when the millisecond is exhausted)
+            next = now > lastTimestamp ? now << SEQUENCE_BITS : state + 1;
+        } while (!lastState.compareAndSet(state, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * Epoch milliseconds encoded in an id, e.g. for time-range partitioning.
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    /**
+     * Smallest id that can be issued at the given epoch millisecond, for range scans by time.
+     */
+    public static long minIdAt(long epochMillis) {
+        return (epochMillis - EPOCH) << (NODE_BITS + SEQUENCE_BITS);
+    }
+}
@@ -0,0 +1,28 @@
+package com.NexTradeX.common;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.EventType;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate adapter for {@link SnowflakeIdGenerator}, wired through {@link SnowflakeId}.
+ * An id assigned before persist (e.g. one already written to the journal) is kept.
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return SnowflakeIdGenerator.nextId();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return currentValue != null ? currentValue : generate(session, owner);
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
@@ -0,0 +1,27 @@
+package com.NexTradeX.config;
+
+import com.NexTradeX.market.BinaryMarketDataHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Optional binary market data endpoint next to the STOMP one on /ws.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "nextradex.ws-binary.enabled", havingValue = "true", matchIfMissing = true)
+public class BinaryWebSocketConfig implements WebSocketConfigurer {
+    
+    private final BinaryMarketDataHandler binaryMarketDataHandler;
+    
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(binaryMarketDataHandler, "/ws-bin")
+                .setAllowedOrigins("*");
+    }
+}
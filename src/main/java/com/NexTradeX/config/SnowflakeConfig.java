@@ -0,0 +1,24 @@
+package com.NexTradeX.config;
+
+import com.NexTradeX.common.SnowflakeIdGenerator;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Each running instance needs its own node id so generated ids never collide.
+ */
+@Slf4j
+@Configuration
+public class SnowflakeConfig {
+
+    @Value("${nextradex.id.node-id:0}")
+    private long nodeId;
+
+    @PostConstruct
+    public void configureNodeId() {
+        SnowflakeIdGenerator.setNodeId(nodeId);
+        log.info("Snowflake id generator using node id {}", nodeId);
+    }
+}
@@ -1,15 +1,33 @@
 package com.NexTradeX.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     
+    @Value("${nextradex.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+    
+    @Value("${nextradex.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMillis;
+    
+    @Value("${nextradex.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+    
+    @Value("${nextradex.websocket.outbound-pool-size:8}")
+    private int outboundPoolSize;
+    
+    @Value("${nextradex.websocket.outbound-queue-capacity:100000}")
+    private int outboundQueueCapacity;
+    
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.enableSimpleBroker("/topic");
@@ -22,4 +40,28 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOrigins("*")
                 .withSockJS();
     }
+    
+    /**
+     * Bound what a slow client can hold on the server: once its session buffer
+     * exceeds the size limit, or a send blocks past the time limit, the session
+     * is closed instead of queueing more.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMillis)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+    
+    /**
+     * Fixed pool and bounded queue for broker-to-client delivery; when the queue
+     * is full the broker drops the message for that session rather than growing.
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
 }
@@ -0,0 +1,22 @@
+package com.NexTradeX.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderRequest {
+    
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = 500, message = "A batch may contain at most 500 orders")
+    private List<@Valid SpotOrderRequest> orders;
+}
@@ -0,0 +1,17 @@
+package com.NexTradeX.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderResult {
+    private int index;
+    private boolean accepted;
+    private OrderResponse order;
+    private String error;
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,4 +32,7 @@ public class FuturesOrderRequest {
     @DecimalMin(value = "1", message = "Leverage must be at least 1x")
     @DecimalMax(value = "20", message = "Leverage cannot exceed 20x")
     private BigDecimal leverage;
+    
+    @Size(max = 64, message = "Client order id cannot exceed 64 characters")
+    private String clientOrderId;
 }
@@ -1,5 +1,6 @@
 package com.NexTradeX.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,14 +14,21 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class OrderResponse {
+    // Snowflake ids exceed 2^53, so they go out as strings that JavaScript clients can hold exactly
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
+    private String clientOrderId;
     private String symbol;
     private String side;
     private String orderType;
     private String status;
+    private String timeInForce;
+    private LocalDateTime expireAt;
     private String tradeType;
     private BigDecimal quantity;
     private BigDecimal price;
+    private BigDecimal stopPrice;
+    private BigDecimal trailingDelta;
     private BigDecimal filledQuantity;
     private BigDecimal averagePrice;
     private BigDecimal commission;
@@ -3,12 +3,14 @@ package com.NexTradeX.dto;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
@@ -22,7 +24,7 @@ public class SpotOrderRequest {
     @NotBlank(message = "Side is required (BUY/SELL)")
     private String side;
     
-    @NotBlank(message = "Order type is required (MARKET/LIMIT)")
+    @NotBlank(message = "Order type is required (MARKET/LIMIT/STOP_MARKET/STOP_LIMIT/TRAILING_STOP)")
     private String orderType;
     
     @NotNull(message = "Quantity is required")
@@ -31,4 +33,19 @@ public class SpotOrderRequest {
     
     @DecimalMin(value = "0.00000001", message = "Price must be greater than zero")
     private BigDecimal price;
+    
+    @DecimalMin(value = "0.00000001", message = "Stop price must be greater than zero")
+    private BigDecimal stopPrice;
+    
+    @DecimalMin(value = "0.00000001", message = "Trailing delta must be greater than zero")
+    private BigDecimal trailingDelta;
+    
+    // GTC (default), IOC, FOK, GTD or POST_ONLY; limit and stop-limit orders only
+    private String timeInForce;
+    
+    // Required for GTD orders
+    private LocalDateTime expireAt;
+    
+    @Size(max = 64, message = "Client order id cannot exceed 64 characters")
+    private String clientOrderId;
 }
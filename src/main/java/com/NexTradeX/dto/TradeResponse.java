@@ -0,0 +1,27 @@
+package com.NexTradeX.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TradeResponse {
+    // A Snowflake id, sent as a string like OrderResponse.id
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Long id;
+    private String symbol;
+    private String side;
+    private BigDecimal quantity;
+    private BigDecimal executionPrice;
+    private BigDecimal totalValue;
+    private BigDecimal commission;
+    private LocalDateTime createdAt;
+}
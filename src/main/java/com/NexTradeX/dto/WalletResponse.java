@@ -1,5 +1,6 @@
 package com.NexTradeX.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,6 +13,8 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @Builder
 public class WalletResponse {
+    // A Snowflake id, sent as a string like OrderResponse.id
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
     private String walletType;
     private BigDecimal balance;
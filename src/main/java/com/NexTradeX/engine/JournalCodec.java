@@ -0,0 +1,143 @@
+package com.NexTradeX.engine;
+
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.matching.BookOrder;
+import com.NexTradeX.order.Order;
+import com.NexTradeX.order.OrderSide;
+import com.NexTradeX.order.OrderType;
+import com.NexTradeX.order.TimeInForce;
+import com.NexTradeX.spot.SpotTrade;
+import com.NexTradeX.user.User;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary layouts of journal payloads, plus the field encoders they share with
+ * the snapshot format. Every encode method has a matching decode method.
+ */
+final class JournalCodec {
+
+    private JournalCodec() {
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        if (value == null) {
+            buffer.put((byte) -1);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        buffer.put((byte) unscaled.length);
+        buffer.put(unscaled);
+        buffer.putInt(value.scale());
+    }
+
+    static BigDecimal getDecimal(ByteBuffer buffer) {
+        byte length = buffer.get();
+        if (length < 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), buffer.getInt());
+    }
+
+    static void putLong(ByteBuffer buffer, Long value) {
+        buffer.putLong(value == null ? 0L : value);
+    }
+
+    static Long getLong(ByteBuffer buffer) {
+        long value = buffer.getLong();
+        return value == 0L ? null : value;
+    }
+
+    static void encodeOrder(ByteBuffer buffer, Order order) {
+        buffer.putLong(order.getId());
+        buffer.putLong(order.getUser().getId());
+        putString(buffer, order.getSymbol());
+        buffer.put((byte) order.getSide().ordinal());
+        putString(buffer, order.getOrderType().name());
+        putDecimal(buffer, order.getPrice());
+        putDecimal(buffer, order.getQuantity());
+        buffer.put((byte) order.getTimeInForce().ordinal());
+    }
+
+    /**
+     * Only limit and triggered stop-limit orders keep their price; anything else
+     * decodes as a market order so it can never rest in a replayed book.
+     */
+    static BookOrder decodeOrder(ByteBuffer buffer) {
+        long orderId = buffer.getLong();
+        long userId = buffer.getLong();
+        String symbol = getString(buffer);
+        InstrumentSpec.register(symbol); // it was listed when the order was accepted
+        OrderSide side = OrderSide.values()[buffer.get()];
+        OrderType orderType = OrderType.valueOf(getString(buffer));
+        BigDecimal price = getDecimal(buffer);
+        BigDecimal quantity = getDecimal(buffer);
+        TimeInForce timeInForce = TimeInForce.values()[buffer.get()];
+        return new BookOrder(orderId, userId, symbol, side,
+                orderType == OrderType.LIMIT || orderType == OrderType.STOP_LIMIT ? price : null, quantity, timeInForce);
+    }
+
+    static void encodeCancel(ByteBuffer buffer, String symbol, Long orderId) {
+        putString(buffer, symbol);
+        buffer.putLong(orderId);
+    }
+
+    static void encodeSpotTrade(ByteBuffer buffer, SpotTrade trade) {
+        buffer.putLong(trade.getId());
+        buffer.putLong(trade.getUser().getId());
+        putString(buffer, trade.getSymbol());
+        putString(buffer, trade.getSide());
+        putDecimal(buffer, trade.getQuantity());
+        putDecimal(buffer, trade.getExecutionPrice());
+        putDecimal(buffer, trade.getTotalValue());
+        putDecimal(buffer, trade.getCommission());
+        buffer.putLong(trade.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        putString(buffer, trade.getRemarks());
+    }
+
+    /**
+     * The trade's user is a stub carrying only the id.
+     */
+    static SpotTrade decodeSpotTrade(ByteBuffer buffer) {
+        return SpotTrade.builder()
+                .id(buffer.getLong())
+                .user(User.builder().id(buffer.getLong()).build())
+                .symbol(getString(buffer))
+                .side(getString(buffer))
+                .quantity(getDecimal(buffer))
+                .executionPrice(getDecimal(buffer))
+                .totalValue(getDecimal(buffer))
+                .commission(getDecimal(buffer))
+                .createdAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC))
+                .remarks(getString(buffer))
+                .build();
+    }
+}
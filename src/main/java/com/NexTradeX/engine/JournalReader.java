@@ -0,0 +1,82 @@
+package com.NexTradeX.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Sequential reader over journal segment files. Reading stops at the first
+ * empty or corrupt record, which is where a crash may have cut a write short.
+ */
+@Slf4j
+final class JournalReader {
+
+    @FunctionalInterface
+    interface RecordHandler {
+        void onRecord(JournalRecordType type, long sequence, long timestamp, ByteBuffer payload);
+    }
+
+    private JournalReader() {
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(p -> p.getFileName().toString().startsWith(OrderJournal.SEGMENT_PREFIX))
+                    .filter(p -> p.getFileName().toString().endsWith(OrderJournal.SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * @return the sequence of the last valid record, or 0 if the segment is empty
+     */
+    static long read(Path segment, RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 crc = new CRC32();
+            long lastSequence = 0;
+
+            while (buffer.remaining() >= OrderJournal.RECORD_OVERHEAD) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining() - OrderJournal.RECORD_OVERHEAD + 4) {
+                    break;
+                }
+                byte typeCode = buffer.get();
+                long sequence = buffer.getLong();
+                long timestamp = buffer.getLong();
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                int checksum = buffer.getInt();
+
+                crc.reset();
+                crc.update(buffer.slice(start + 4, OrderJournal.RECORD_HEADER - 4 + length));
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Journal segment {} has a corrupt record at offset {}, stopping", segment, start);
+                    break;
+                }
+
+                JournalRecordType type = JournalRecordType.fromCode(typeCode);
+                if (type != null) {
+                    handler.onRecord(type, sequence, timestamp, payload);
+                }
+                lastSequence = sequence;
+            }
+            return lastSequence;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.NexTradeX.engine;
+
+public enum JournalRecordType {
+    ORDER_ACCEPTED(1),
+    ORDER_FILL(2),
+    ORDER_CANCELLED(3),
+    // 4-6 held wallet balances and futures/margin positions; they are no longer written
+    SPOT_TRADE(7);
+
+    private final byte code;
+
+    JournalRecordType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * @return null for the retired codes 4-6, which older journals may still contain
+     */
+    public static JournalRecordType fromCode(byte code) {
+        if (code >= 4 && code <= 6) {
+            return null;
+        }
+        for (JournalRecordType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown journal record type: " + code);
+    }
+}
@@ -0,0 +1,134 @@
+package com.NexTradeX.engine;
+
+import com.NexTradeX.matching.BookOrder;
+import com.NexTradeX.matching.MatchingEngine;
+import com.NexTradeX.matching.OrderBook;
+import com.NexTradeX.spot.SpotTrade;
+import com.NexTradeX.spot.SpotTradeWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Rebuilds the in-memory order books on startup: the latest snapshot is
+ * loaded first and then only the journal tail after its cut is replayed. Accepted orders are re-matched in journal order, which reproduces
+ * the same fills deterministically; journaled fills are only counted. Journaled
+ * spot trades that never reached the database are queued for insertion again.
+ *
+ * Replay runs once all singletons exist but before the web server and the
+ * schedulers start, so no live command can reach a book that is still being
+ * rebuilt. Book records are handed to their symbol's sequencer shard like any
+ * other command, and depth updates stay off until every shard has caught up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JournalReplayer implements SmartInitializingSingleton {
+
+    private final OrderJournal orderJournal;
+    private final MatchingEngine matchingEngine;
+    private final SnapshotService snapshotService;
+    private final OrderSequencer orderSequencer;
+    private final SpotTradeWriter spotTradeWriter;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            replay();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to replay the order journal", e);
+        }
+    }
+
+    public void replay() throws IOException {
+        if (!orderJournal.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        matchingEngine.setDepthPublishing(false);
+        try {
+            SnapshotService.SnapshotCut cut = snapshotService.restoreLatest();
+            long[] counts = new long[2];
+            List<SpotTrade> trades = new ArrayList<>();
+
+            List<Path> segments = JournalReader.listSegments(orderJournal.getDirectory());
+            int replayedSegments = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                if (i + 1 < segments.size() && OrderJournal.firstSequence(segments.get(i + 1)) <= cut.minCut() + 1) {
+                    continue; // every record in this segment is covered by the snapshot
+                }
+                replayedSegments++;
+                JournalReader.read(segments.get(i), (type, sequence, timestamp, payload) -> {
+                    if (sequence > cut.minCut() && apply(cut, type, sequence, payload, trades)) {
+                        counts[0]++;
+                        if (type == JournalRecordType.ORDER_FILL) {
+                            counts[1]++;
+                        }
+                    }
+                });
+            }
+            awaitShards();
+            spotTradeWriter.restore(trades);
+
+            log.info("Replayed {} journal records ({} fills) from {} segments in {} ms",
+                    counts[0], counts[1], replayedSegments, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            matchingEngine.setDepthPublishing(true);
+        }
+    }
+
+    private boolean apply(SnapshotService.SnapshotCut cut, JournalRecordType type, long sequence, ByteBuffer payload,
+                          List<SpotTrade> trades) {
+        switch (type) {
+            case ORDER_ACCEPTED -> {
+                BookOrder order = JournalCodec.decodeOrder(payload);
+                if (cut.covers(order.getSymbol(), sequence)) {
+                    return false;
+                }
+                if (!order.isMarket()) {
+                    orderSequencer.submit(order.getSymbol(), () -> matchingEngine.submit(order));
+                }
+            }
+            case ORDER_CANCELLED -> {
+                String symbol = JournalCodec.getString(payload);
+                if (cut.covers(symbol, sequence)) {
+                    return false;
+                }
+                long orderId = payload.getLong();
+                orderSequencer.submit(symbol, () -> matchingEngine.cancel(symbol, orderId));
+            }
+            case ORDER_FILL -> {
+                // Fills are regenerated by re-matching the accepted orders
+            }
+            case SPOT_TRADE -> trades.add(JournalCodec.decodeSpotTrade(payload));
+        }
+        return true;
+    }
+
+    /**
+     * Wait until every shard has applied the replayed book commands, then drop
+     * the depth changes they accumulated.
+     */
+    private void awaitShards() {
+        CompletableFuture<?>[] barriers = new CompletableFuture<?>[orderSequencer.getShardCount()];
+        for (int shard = 0; shard < barriers.length; shard++) {
+            int shardIndex = shard;
+            barriers[shard] = orderSequencer.enqueueOnShard(shardIndex, () -> {
+                matchingEngine.getBooks().stream()
+                        .filter(book -> orderSequencer.shardOf(book.getSymbol()) == shardIndex)
+                        .forEach(OrderBook::drainDepthChanges);
+                return null;
+            });
+        }
+        CompletableFuture.allOf(barriers).join();
+    }
+}
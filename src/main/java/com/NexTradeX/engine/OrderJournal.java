@@ -0,0 +1,198 @@
+package com.NexTradeX.engine;
+
+import com.NexTradeX.matching.Fill;
+import com.NexTradeX.order.Order;
+import com.NexTradeX.spot.SpotTrade;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of accepted order commands, fills and spot
+ * trades, written to memory-mapped segment files.
+ *
+ * Record layout: {@code [int length][byte type][long sequence][long timestamp][payload][int crc32]}.
+ * A segment is rotated once the next record no longer fits; new segments are
+ * named after the sequence of their first record so they sort in replay order.
+ *
+ * Records produced inside a transaction are encoded immediately but written
+ * only once it commits, so a rolled-back order, fill or trade never
+ * reaches the journal.
+ */
+@Slf4j
+@Component
+public class OrderJournal {
+
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".dat";
+    static final int RECORD_HEADER = 4 + 1 + 8 + 8;
+    static final int RECORD_OVERHEAD = RECORD_HEADER + 4;
+    private static final int MAX_PAYLOAD = 1024;
+
+    @Value("${nextradex.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${nextradex.journal.dir:data/journal}")
+    private String directory;
+
+    @Value("${nextradex.journal.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    @Value("${nextradex.journal.fsync:false}")
+    private boolean fsync;
+
+    private final ThreadLocal<ByteBuffer> scratch = ThreadLocal.withInitial(() -> ByteBuffer.allocate(MAX_PAYLOAD));
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long lastSequence;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path dir = getDirectory();
+        Files.createDirectories(dir);
+        List<Path> segments = JournalReader.listSegments(dir);
+        if (!segments.isEmpty()) {
+            // Continue numbering after the last durable record; appends go to a fresh segment
+            lastSequence = JournalReader.read(segments.get(segments.size() - 1), (type, seq, ts, payload) -> { });
+        }
+        log.info("Order journal opened at {} (last sequence {})", dir.toAbsolutePath(), lastSequence);
+    }
+
+    public void orderAccepted(Order order) {
+        append(JournalRecordType.ORDER_ACCEPTED, buffer -> JournalCodec.encodeOrder(buffer, order));
+    }
+
+    public void fill(Fill fill) {
+        append(JournalRecordType.ORDER_FILL, buffer -> {
+            JournalCodec.putString(buffer, fill.getSymbol());
+            buffer.putLong(fill.getMakerOrderId());
+            buffer.putLong(fill.getTakerOrderId());
+            JournalCodec.putDecimal(buffer, fill.getPrice());
+            JournalCodec.putDecimal(buffer, fill.getQuantity());
+        });
+    }
+
+    public void orderCancelled(String symbol, Long orderId) {
+        append(JournalRecordType.ORDER_CANCELLED, buffer -> JournalCodec.encodeCancel(buffer, symbol, orderId));
+    }
+
+    public void spotTrade(SpotTrade trade) {
+        append(JournalRecordType.SPOT_TRADE, buffer -> JournalCodec.encodeSpotTrade(buffer, trade));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    Path getDirectory() {
+        return Paths.get(directory);
+    }
+
+    /**
+     * Sequence of the first record in a segment, taken from its file name.
+     */
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void append(JournalRecordType type, Consumer<ByteBuffer> encoder) {
+        if (!enabled) {
+            return;
+        }
+        ByteBuffer payload = scratch.get().clear();
+        encoder.accept(payload);
+        payload.flip();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Capture the entity state now; it may change again before the commit
+            ByteBuffer record = ByteBuffer.allocate(payload.remaining()).put(payload).flip();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(type, record);
+                }
+            });
+        } else {
+            write(type, payload);
+        }
+    }
+
+    private synchronized void write(JournalRecordType type, ByteBuffer payload) {
+        int length = payload.remaining();
+        if (segment == null || segment.remaining() < RECORD_OVERHEAD + length) {
+            rotate();
+        }
+
+        long sequence = ++lastSequence;
+        int start = segment.position();
+        segment.putInt(length);
+        segment.put(type.getCode());
+        segment.putLong(sequence);
+        segment.putLong(System.currentTimeMillis());
+        segment.put(payload);
+
+        crc.reset();
+        crc.update(segment.slice(start + 4, RECORD_HEADER - 4 + length));
+        segment.putInt((int) crc.getValue());
+
+        if (fsync) {
+            segment.force();
+        }
+    }
+
+    private void rotate() {
+        try {
+            closeSegment();
+            Path file = getDirectory().resolve(String.format("%s%020d%s", SEGMENT_PREFIX, lastSequence + 1, SEGMENT_SUFFIX));
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentSizeMb * 1024 * 1024);
+            log.info("Rotated order journal to segment {}", file.getFileName());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open journal segment", e);
+        }
+    }
+
+    private void closeSegment() throws IOException {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        closeSegment();
+    }
+}
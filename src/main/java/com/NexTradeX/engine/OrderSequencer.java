@@ -0,0 +1,243 @@
+package com.NexTradeX.engine;
+
+import com.NexTradeX.exception.SequencerTimeoutException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer sequencer for order commands. Symbols are hashed onto a fixed
+ * set of shards; each shard owns a lock-free ring buffer and one dedicated
+ * thread, so every command for a symbol runs on the same thread, in arrival
+ * order. Request threads only enqueue and wait for the acknowledgement.
+ *
+ * In-memory state keyed by symbol (order books, stop indexes, ...) is confined
+ * to its shard thread and needs no further locking.
+ */
+@Slf4j
+@Component
+public class OrderSequencer {
+
+    private final Shard[] shards;
+    private final long ackTimeoutMillis;
+
+    public OrderSequencer(@Value("${nextradex.sequencer.shards:4}") int shardCount,
+                          @Value("${nextradex.sequencer.ring-size:4096}") int ringSize,
+                          @Value("${nextradex.sequencer.ack-timeout-ms:5000}") long ackTimeoutMillis) {
+        this.ackTimeoutMillis = ackTimeoutMillis;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, ringSize);
+            shards[i].thread.start();
+        }
+        log.info("Order sequencer started with {} shards", shardCount);
+    }
+
+    /**
+     * Run the command on the symbol's shard thread and wait for its result.
+     * Exceptions thrown by the command are rethrown to the caller unchanged.
+     */
+    public <T> T execute(String symbol, Supplier<T> command) {
+        return executeOnShard(shardOf(symbol), command);
+    }
+
+    /**
+     * Run the command on a specific shard thread, e.g. as a barrier that sees
+     * a consistent view of every symbol owned by that shard.
+     */
+    public <T> T executeOnShard(int shardIndex, Supplier<T> command) {
+        return await(enqueueOnShard(shardIndex, command));
+    }
+
+    /**
+     * Enqueue the command on the symbol's shard and return its acknowledgement
+     * without waiting. The ack completes with the command's own result or
+     * exception once it has run, so callers can chain follow-up work onto it
+     * that must happen whether or not anybody is still waiting.
+     */
+    public <T> CompletableFuture<T> enqueue(String symbol, Supplier<T> command) {
+        return enqueueOnShard(shardOf(symbol), command);
+    }
+
+    /**
+     * Wait for an ack returned by {@link #enqueue}. On timeout a command that
+     * has not started yet is withdrawn, so it never runs and its ack fails with
+     * a non-pending {@link SequencerTimeoutException}; a command that is
+     * already running is left to finish and a pending one is thrown instead.
+     */
+    public <T> T await(CompletableFuture<T> ack) {
+        try {
+            return ack.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw withdraw(ack);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw withdraw(ack);
+        }
+    }
+
+    /**
+     * {@link #enqueue} for a specific shard, e.g. a barrier behind everything
+     * already queued there.
+     */
+    public <T> CompletableFuture<T> enqueueOnShard(int shardIndex, Supplier<T> command) {
+        Shard shard = shards[shardIndex];
+        if (Thread.currentThread() == shard.thread) {
+            try {
+                return CompletableFuture.completedFuture(command.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        Ack<T> ack = new Ack<>();
+        shard.publish(() -> {
+            if (!ack.started.compareAndSet(false, true)) {
+                return; // withdrawn by a caller that stopped waiting
+            }
+            try {
+                ack.complete(command.get());
+            } catch (Throwable t) {
+                ack.completeExceptionally(t);
+            }
+        });
+        return ack;
+    }
+
+    private static SequencerTimeoutException withdraw(CompletableFuture<?> ack) {
+        if (ack instanceof Ack<?> queued && queued.started.compareAndSet(false, true)) {
+            SequencerTimeoutException e = new SequencerTimeoutException(
+                    "Order sequencer is busy, command was not executed", false);
+            queued.completeExceptionally(e);
+            return e;
+        }
+        return new SequencerTimeoutException(
+                "Order command is still being processed, its outcome is not known yet", true);
+    }
+
+    public void run(String symbol, Runnable command) {
+        execute(symbol, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * Enqueue the command without waiting for it to run.
+     */
+    public void submit(String symbol, Runnable command) {
+        shardFor(symbol).publish(() -> {
+            try {
+                command.run();
+            } catch (Exception e) {
+                log.error("Sequenced command for {} failed: {}", symbol, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Whether the caller is the symbol's shard thread.
+     */
+    public boolean isShardThread(String symbol) {
+        return Thread.currentThread() == shardFor(symbol).thread;
+    }
+
+    public int shardOf(String symbol) {
+        return Math.floorMod(symbol.hashCode(), shards.length);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    private Shard shardFor(String symbol) {
+        return shards[shardOf(symbol)];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join(ackTimeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Acknowledgement that also records whether the shard has picked the
+     * command up, so exactly one of "run it" and "withdraw it" wins.
+     */
+    private static final class Ack<T> extends CompletableFuture<T> {
+        private final AtomicBoolean started = new AtomicBoolean();
+    }
+
+    private static final class Shard implements Runnable {
+
+        private static final int SPIN_TRIES = 100;
+
+        private final CommandRingBuffer<Runnable> ring;
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile boolean parked;
+
+        Shard(int index, int ringSize) {
+            this.ring = new CommandRingBuffer<>(ringSize);
+            this.thread = new Thread(this, "order-sequencer-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void publish(Runnable command) {
+            while (!ring.offer(command)) {
+                // Ring is full: back-pressure the producer until the shard catches up
+                LockSupport.parkNanos(1_000);
+            }
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (running || !ring.isEmpty()) {
+                Runnable command = ring.poll();
+                if (command != null) {
+                    idle = 0;
+                    try {
+                        command.run();
+                    } catch (Throwable t) {
+                        log.error("Sequencer shard {} command failed", thread.getName(), t);
+                    }
+                } else if (++idle < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    parked = true;
+                    if (ring.isEmpty() && running) {
+                        LockSupport.parkNanos(1_000_000);
+                    }
+                    parked = false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.NexTradeX.engine;
+
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.matching.BookOrder;
+import com.NexTradeX.matching.MatchingEngine;
+import com.NexTradeX.matching.OrderBook;
+import com.NexTradeX.order.OrderSide;
+import com.NexTradeX.spot.SpotTradeWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Periodic binary snapshots of the resting orders of every symbol. Balances
+ * and positions are not included: the database is their source of truth.
+ *
+ * Each sequencer shard copies the books it owns inside a barrier command and
+ * records the journal sequence at that instant, giving every symbol a
+ * consistent cut without stopping the other shards. Serialization runs on the
+ * scheduler thread afterwards. On restart the latest snapshot is loaded and only
+ * journal records after each symbol's cut are replayed, so journal segments
+ * wholly before the cut are deleted once the snapshot is written.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SnapshotService {
+
+    private static final int MAGIC = 0x4E585353; // "NXSS"
+    private static final int VERSION = 3;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int FLUSH_THRESHOLD = 4096;
+
+    private final OrderJournal orderJournal;
+    private final OrderSequencer orderSequencer;
+    private final MatchingEngine matchingEngine;
+    private final SpotTradeWriter spotTradeWriter;
+
+    @Value("${nextradex.snapshot.retain:2}")
+    private int retain;
+
+    @Value("${nextradex.snapshot.trade-flush-timeout-ms:30000}")
+    private long tradeFlushTimeoutMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(fixedDelayString = "${nextradex.snapshot.interval-ms:60000}",
+            initialDelayString = "${nextradex.snapshot.interval-ms:60000}")
+    public void scheduledSnapshot() {
+        if (orderJournal.isEnabled()) {
+            try {
+                takeSnapshot();
+            } catch (Exception e) {
+                log.error("Snapshot failed: ", e);
+            }
+        }
+    }
+
+    public Path takeSnapshot() throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            long started = System.nanoTime();
+            List<BookCopy> books = new ArrayList<>();
+            for (int shard = 0; shard < orderSequencer.getShardCount(); shard++) {
+                int shardIndex = shard;
+                books.addAll(orderSequencer.executeOnShard(shardIndex, () -> copyBooks(shardIndex)));
+            }
+            long minCut = books.stream().mapToLong(BookCopy::cut).min().orElse(orderJournal.getLastSequence());
+            awaitTradesBefore(minCut);
+
+            Path file = write(minCut, books);
+            pruneOldSnapshots();
+            pruneJournalSegments(minCut);
+            log.info("Snapshot {} written in {} ms", file.getFileName(), (System.nanoTime() - started) / 1_000_000);
+            return file;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Replay skips the journaled trades before the cut, so they must be in the
+     * database first. They are all queued by now: the shard barriers ran after
+     * the commits that journaled them.
+     */
+    private void awaitTradesBefore(long minCut) {
+        try {
+            if (!spotTradeWriter.awaitFlushed(tradeFlushTimeoutMillis)) {
+                throw new IllegalStateException("Spot trades journaled before " + minCut + " are not yet inserted");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for spot trades to be inserted");
+        }
+    }
+
+    private List<BookCopy> copyBooks(int shardIndex) {
+        long cut = orderJournal.getLastSequence();
+        List<BookCopy> copies = new ArrayList<>();
+        for (OrderBook book : matchingEngine.getBooks()) {
+            if (orderSequencer.shardOf(book.getSymbol()) != shardIndex) {
+                continue;
+            }
+            int count = book.getOrderCount();
+            BookCopy copy = new BookCopy(book.getSymbol(), cut, new long[count], new long[count],
+                    new byte[count], new long[count], new long[count]);
+            int[] i = {0};
+            book.forEachOrder(order -> {
+                copy.orderIds[i[0]] = order.getOrderId();
+                copy.userIds[i[0]] = order.getUserId();
+                copy.sides[i[0]] = (byte) order.getSide().ordinal();
+                copy.prices[i[0]] = order.getPriceTicks();
+                copy.quantities[i[0]] = order.getRemainingLots();
+                i[0]++;
+            });
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    private Path write(long minCut, List<BookCopy> books) throws IOException {
+        Path dir = orderJournal.getDirectory();
+        Path file = dir.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, minCut, SNAPSHOT_SUFFIX));
+        Path tmp = dir.resolve(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putLong(System.currentTimeMillis());
+            buffer.putLong(minCut);
+
+            buffer.putInt(books.size());
+            for (BookCopy book : books) {
+                JournalCodec.putString(buffer, book.symbol());
+                buffer.putLong(book.cut());
+                buffer.putInt(book.orderIds.length);
+                for (int i = 0; i < book.orderIds.length; i++) {
+                    buffer.putLong(book.orderIds[i]);
+                    buffer.putLong(book.userIds[i]);
+                    buffer.put(book.sides[i]);
+                    buffer.putLong(book.prices[i]);
+                    buffer.putLong(book.quantities[i]);
+                    flushIfNeeded(channel, buffer);
+                }
+            }
+
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        return Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void flushIfNeeded(FileChannel channel, ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < FLUSH_THRESHOLD) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Load the newest snapshot into the matching engine. Book orders are queued
+     * on their sequencer shards; callers wait for the shards before reading the
+     * books.
+     *
+     * @return the cut to resume journal replay from, or {@link SnapshotCut#NONE}
+     */
+    public SnapshotCut restoreLatest() throws IOException {
+        Path latest = listSnapshots().stream().reduce((first, second) -> second).orElse(null);
+        if (latest == null) {
+            return SnapshotCut.NONE;
+        }
+
+        long started = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(latest, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                log.warn("Ignoring snapshot {} with unknown format", latest.getFileName());
+                return SnapshotCut.NONE;
+            }
+            buffer.getLong(); // created at
+            long minCut = buffer.getLong();
+
+            Map<String, Long> symbolCuts = new HashMap<>();
+            int orderCount = 0;
+            int bookCount = buffer.getInt();
+            for (int b = 0; b < bookCount; b++) {
+                String symbol = JournalCodec.getString(buffer);
+                symbolCuts.put(symbol, buffer.getLong());
+                // A symbol that had a book was listed when the snapshot was taken
+                InstrumentSpec.register(symbol);
+                OrderBook book = matchingEngine.getBook(symbol);
+                InstrumentSpec spec = book.getSpec();
+                int count = buffer.getInt();
+                List<BookOrder> orders = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    long orderId = buffer.getLong();
+                    long userId = buffer.getLong();
+                    OrderSide side = OrderSide.values()[buffer.get()];
+                    BigDecimal price = spec.fromTicks(buffer.getLong());
+                    BigDecimal quantity = spec.fromLots(buffer.getLong());
+                    orders.add(new BookOrder(orderId, userId, symbol, side, price, quantity));
+                }
+                orderSequencer.submit(symbol, () -> orders.forEach(book::add));
+                orderCount += count;
+            }
+
+            log.info("Restored snapshot {} ({} resting orders) in {} ms",
+                    latest.getFileName(), orderCount, (System.nanoTime() - started) / 1_000_000);
+            return new SnapshotCut(minCut, symbolCuts);
+        }
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        Path dir = orderJournal.getDirectory();
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(p -> p.getFileName().toString().startsWith(SNAPSHOT_PREFIX))
+                    .filter(p -> p.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void pruneOldSnapshots() throws IOException {
+        List<Path> snapshots = listSnapshots();
+        for (int i = 0; i < snapshots.size() - retain; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    /**
+     * Delete the journal segments whose records all lie at or before the cut;
+     * replay never reads them again. The newest segment is always kept, as the
+     * journal may still be appending to it.
+     */
+    private void pruneJournalSegments(long minCut) throws IOException {
+        List<Path> segments = JournalReader.listSegments(orderJournal.getDirectory());
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (OrderJournal.firstSequence(segments.get(i + 1)) - 1 > minCut) {
+                break;
+            }
+            Files.deleteIfExists(segments.get(i));
+            deleted++;
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} journal segments covered by the snapshot at {}", deleted, minCut);
+        }
+    }
+
+    /**
+     * Prices and quantities in ticks and lots of the symbol's instrument spec.
+     */
+    private record BookCopy(String symbol, long cut, long[] orderIds, long[] userIds,
+                            byte[] sides, long[] prices, long[] quantities) {
+    }
+
+    /**
+     * Journal position a snapshot was taken at. Order records for a symbol are
+     * replayed only past that symbol's cut; everything else past {@code minCut}.
+     */
+    public record SnapshotCut(long minCut, Map<String, Long> symbolCuts) {
+
+        public static final SnapshotCut NONE = new SnapshotCut(0L, Map.of());
+
+        public boolean covers(String symbol, long sequence) {
+            return sequence <= symbolCuts.getOrDefault(symbol, minCut);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.NexTradeX.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Bounded write-behind stage. Producers hand over records and return at once;
+ * one flusher thread drains them into batches of up to {@code batchSize}
+ * records, or whatever arrived within {@code flushInterval} of the first one,
+ * and passes each batch to the flush callback.
+ *
+ * When the queue is full, producers block until the flusher catches up, so
+ * a slow database pushes back on the callers instead of growing memory, but
+ * only for {@code putTimeout}: after that {@link #put} fails rather than
+ * stalling its caller indefinitely.
+ *
+ * A batch that fails transiently is retried with backoff and is never dropped
+ * while the stage is running. A batch that fails for a reason retrying cannot
+ * fix (e.g. a constraint violation) is split into single records, and the
+ * records that still fail are handed to the dead-letter callback so the flusher
+ * can move on.
+ */
+@Slf4j
+public class WriteBehindQueue<T> {
+
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5_000;
+
+    private final String name;
+    private final BlockingQueue<Pending<T>> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long putTimeoutMillis;
+    private final Consumer<List<T>> flusher;
+    private final Predicate<RuntimeException> retryable;
+    private final Consumer<List<T>> deadLetters;
+    private final Thread thread;
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong deadLetteredCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private volatile long inFlightSince; // enqueue time of the oldest record being flushed, 0 if idle
+    private volatile long lastFlushLagMillis;
+    private volatile boolean running = true;
+
+    public WriteBehindQueue(String name, int capacity, int batchSize, long flushIntervalMillis, long putTimeoutMillis,
+                            Consumer<List<T>> flusher, Predicate<RuntimeException> retryable,
+                            Consumer<List<T>> deadLetters) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.putTimeoutMillis = putTimeoutMillis;
+        this.flusher = flusher;
+        this.retryable = retryable;
+        this.deadLetters = deadLetters;
+        this.thread = new Thread(this::run, "write-behind-" + name);
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Queue a record, blocking while the queue is full.
+     *
+     * @throws IllegalStateException if the queue stayed full for {@code putTimeout}
+     */
+    public void put(T record) {
+        Pending<T> pending = new Pending<>(record, System.currentTimeMillis());
+        long deadline = System.currentTimeMillis() + putTimeoutMillis;
+        try {
+            while (!queue.offer(pending, flushIntervalMillis, TimeUnit.MILLISECONDS)) {
+                if (System.currentTimeMillis() >= deadline) {
+                    rejectedCount.incrementAndGet();
+                    throw new IllegalStateException("Write-behind queue " + name + " stayed full for "
+                            + putTimeoutMillis + " ms (lag " + getLagMillis() + " ms)");
+                }
+                log.warn("Write-behind queue {} is full ({} queued, lag {} ms), producer waiting",
+                        name, queue.size(), getLagMillis());
+            }
+            queuedCount.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing write-behind record for " + name);
+        }
+    }
+
+    /**
+     * Wait until every record queued before this call has been flushed or dead-lettered.
+     *
+     * @return false if that did not happen within {@code timeoutMillis}
+     */
+    public boolean awaitFlushed(long timeoutMillis) throws InterruptedException {
+        long target = queuedCount.get();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (flushedCount.get() + deadLetteredCount.get() < target) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(Math.max(1, flushIntervalMillis / 2));
+        }
+        return true;
+    }
+
+    /**
+     * Age in milliseconds of the oldest record not yet flushed.
+     */
+    public long getLagMillis() {
+        long oldest = inFlightSince;
+        Pending<T> head = queue.peek();
+        if (oldest == 0 && head != null) {
+            oldest = head.enqueuedAt();
+        }
+        return oldest == 0 ? 0 : System.currentTimeMillis() - oldest;
+    }
+
+    public Stats getStats() {
+        return new Stats(name, queue.size(), getLagMillis(), lastFlushLagMillis, flushedCount.get(),
+                deadLetteredCount.get(), rejectedCount.get());
+    }
+
+    /**
+     * Stop the flusher once it has flushed whatever is queued, waiting at most {@code timeoutMillis}.
+     */
+    public void shutdown(long timeoutMillis) {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.error("Write-behind queue {} stopped with {} records not flushed", name, queue.size());
+        }
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // Shutdown requested: drain without waiting
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<Pending<T>> batch) throws InterruptedException {
+        Pending<T> first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            Pending<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        inFlightSince = batch.get(0).enqueuedAt();
+        List<T> records = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch) {
+            records.add(pending.record());
+        }
+
+        if (!write(records)) {
+            // Isolate the records that cannot be written so the rest still are
+            log.warn("Write-behind flush of {} records for {} failed permanently, retrying them one by one",
+                    records.size(), name);
+            for (T record : records) {
+                write(List.of(record));
+            }
+        }
+
+        lastFlushLagMillis = System.currentTimeMillis() - inFlightSince;
+        inFlightSince = 0;
+        log.debug("Write-behind queue {} flushed {} records, lag {} ms", name, records.size(), lastFlushLagMillis);
+    }
+
+    /**
+     * Write the records, retrying transient failures while the stage runs, and
+     * dead-letter them if they cannot be written.
+     *
+     * @return false if several records failed permanently and the caller should
+     * split them up to find the ones at fault
+     */
+    private boolean write(List<T> records) {
+        long backoff = 50;
+        while (true) {
+            try {
+                flusher.accept(records);
+                flushedCount.addAndGet(records.size());
+                return true;
+            } catch (RuntimeException e) {
+                if (!retryable.test(e) || !running) {
+                    if (records.size() > 1 && running) {
+                        return false;
+                    }
+                    log.error("Write-behind queue {} dead-lettering {} records: {}", name, records.size(), e.getMessage());
+                    deadLetter(records);
+                    return true;
+                }
+                log.error("Write-behind flush of {} records for {} failed, retrying in {} ms: {}",
+                        records.size(), name, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    // Shutdown requested: one more attempt, then give up
+                }
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void deadLetter(List<T> records) {
+        deadLetteredCount.addAndGet(records.size());
+        try {
+            deadLetters.accept(records);
+        } catch (RuntimeException e) {
+            log.error("Write-behind queue {} could not set aside {} dead-lettered records: {}", name, records.size(), e.getMessage());
+        }
+    }
+
+    private record Pending<T>(T record, long enqueuedAt) {
+    }
+
+    public record Stats(String name, int queued, long lagMillis, long lastFlushLagMillis, long flushed,
+                        long deadLettered, long rejected) {
+    }
+}
@@ -46,6 +46,15 @@ public class GlobalExceptionHandler {
                 .body(new ApiResponse<>(409, ex.getMessage(), null));
     }
 
+    @ExceptionHandler(SequencerTimeoutException.class)
+    public ResponseEntity<ApiResponse<String>> handleSequencerTimeout(
+            SequencerTimeoutException ex, WebRequest request) {
+        log.warn("Sequencer timeout: {}", ex.getMessage());
+        HttpStatus status = ex.isPending() ? HttpStatus.ACCEPTED : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .body(new ApiResponse<>(status.value(), ex.getMessage(), null));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<String>> handleValidationException(
             MethodArgumentNotValidException ex, WebRequest request) {
@@ -0,0 +1,21 @@
+package com.NexTradeX.exception;
+
+/**
+ * An order command was not acknowledged by its sequencer shard in time.
+ * If {@link #isPending()} is false the command was withdrawn before it started
+ * and will never run; otherwise it is still running and its outcome is unknown
+ * to the caller.
+ */
+public class SequencerTimeoutException extends RuntimeException {
+
+    private final boolean pending;
+
+    public SequencerTimeoutException(String message, boolean pending) {
+        super(message);
+        this.pending = pending;
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+}
@@ -15,6 +15,10 @@ import org.springframework.web.bind.annotation.RestController;
 import com.NexTradeX.common.ApiResponse;
 import com.NexTradeX.dto.FuturesOrderRequest;
 import com.NexTradeX.dto.OrderResponse;
+import com.NexTradeX.engine.OrderSequencer;
+import com.NexTradeX.exception.SequencerTimeoutException;
+import com.NexTradeX.order.ClientOrderIdRegistry;
+import com.NexTradeX.order.Order;
 import com.NexTradeX.order.OrderSide;
 
 import jakarta.validation.Valid;
@@ -28,21 +32,27 @@ import lombok.extern.slf4j.Slf4j;
 public class FuturesController {
     
     private final FuturesTradingService futuresTradingService;
+    private final OrderSequencer orderSequencer;
+    private final ClientOrderIdRegistry clientOrderIdRegistry;
     
     @PostMapping("/open")
     public ResponseEntity<ApiResponse<OrderResponse>> openPosition(
             @Valid @RequestBody FuturesOrderRequest request,
             Authentication authentication) {
+        Long userId = extractUserIdFromAuth(authentication);
         try {
-            Long userId = extractUserIdFromAuth(authentication);
             OrderSide side = OrderSide.valueOf(request.getSide().toUpperCase());
             
-            var order = futuresTradingService.openFuturesPosition(
-                    userId, request.getSymbol(), side, 
-                    request.getQuantity(), request.getLeverage());
-            
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(new ApiResponse<>(201, "Futures position opened", toOrderResponse(order)));
+            return clientOrderIdRegistry.submit(userId, request.getClientOrderId(),
+                    () -> orderSequencer.enqueue(request.getSymbol(), () -> futuresTradingService.openFuturesPosition(
+                            userId, request.getSymbol(), side,
+                            request.getQuantity(), request.getLeverage(), request.getClientOrderId())),
+                    this::toOrderResponse).toResponse("Futures position opened");
+        } catch (SequencerTimeoutException e) {
+            log.warn("Futures order for user {} not acknowledged in time: {}", userId, e.getMessage());
+            HttpStatus status = e.isPending() ? HttpStatus.ACCEPTED : HttpStatus.SERVICE_UNAVAILABLE;
+            return ResponseEntity.status(status)
+                    .body(new ApiResponse<>(status.value(), e.getMessage(), null));
         } catch (Exception e) {
             log.error("Error opening futures position: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -69,9 +79,10 @@ public class FuturesController {
         }
     }
     
-    private OrderResponse toOrderResponse(com.NexTradeX.order.Order order) {
+    private OrderResponse toOrderResponse(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
+                .clientOrderId(order.getClientOrderId())
                 .symbol(order.getSymbol())
                 .side(order.getSide().name())
                 .status(order.getStatus().name())
@@ -89,6 +100,7 @@ public class FuturesController {
                 .quantity(position.getQuantity())
                 .entryPrice(position.getEntryPrice())
                 .markPrice(position.getMarkPrice())
+                .liquidationPrice(position.getLiquidationPrice())
                 .unrealizedPnL(position.getUnrealizedPnL())
                 .leverage(position.getLeverage())
                 .marginRatio(position.getMarginRatio())
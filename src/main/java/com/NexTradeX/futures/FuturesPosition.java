@@ -3,6 +3,7 @@ package com.NexTradeX.futures;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.NexTradeX.common.SnowflakeId;
 import com.NexTradeX.user.User;
 
 import jakarta.persistence.Column;
@@ -10,8 +11,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
@@ -45,7 +44,7 @@ import lombok.NoArgsConstructor;
 public class FuturesPosition {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -89,6 +88,9 @@ public class FuturesPosition {
     @Column(precision = 19, scale = 8)
     private BigDecimal markPrice;
 
+    @Column(precision = 19, scale = 8)
+    private BigDecimal liquidationPrice;
+
     @Builder.Default
     @Column(precision = 5, scale = 2)
     private BigDecimal marginRatio = BigDecimal.ZERO;
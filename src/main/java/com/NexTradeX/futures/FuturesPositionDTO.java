@@ -1,5 +1,6 @@
 package com.NexTradeX.futures;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,12 +13,15 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @Builder
 public class FuturesPositionDTO {
+    // A Snowflake id, sent as a string like OrderResponse.id
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
     private String symbol;
     private String positionMode;
     private BigDecimal quantity;
     private BigDecimal entryPrice;
     private BigDecimal markPrice;
+    private BigDecimal liquidationPrice;
     private BigDecimal unrealizedPnL;
     private BigDecimal leverage;
     private BigDecimal marginRatio;
@@ -11,6 +11,7 @@ import java.util.Optional;
 public interface FuturesPositionRepository extends JpaRepository<FuturesPosition, Long> {
     List<FuturesPosition> findAllByUser(User user);
     List<FuturesPosition> findAllByUserAndStatus(User user, PositionStatus status);
+    List<FuturesPosition> findAllByStatus(PositionStatus status);
     List<FuturesPosition> findAllByUserAndSymbol(User user, String symbol);
     Optional<FuturesPosition> findByUserAndSymbolAndPositionMode(User user, String symbol, PositionMode positionMode);
     Optional<FuturesPosition> findByIdAndUser(Long positionId, User user);
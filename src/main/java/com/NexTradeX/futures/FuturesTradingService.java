@@ -1,12 +1,16 @@
 package com.NexTradeX.futures;
 
 import com.NexTradeX.exception.InvalidOrderException;
+import com.NexTradeX.market.InstrumentSpec;
 import com.NexTradeX.market.MarketService;
 import com.NexTradeX.order.Order;
 import com.NexTradeX.order.OrderRepository;
 import com.NexTradeX.order.OrderSide;
 import com.NexTradeX.order.OrderStatus;
+import com.NexTradeX.order.OrderType;
 import com.NexTradeX.order.TradeType;
+import com.NexTradeX.risk.LiquidationIndex;
+import com.NexTradeX.risk.TradingRules;
 import com.NexTradeX.user.User;
 import com.NexTradeX.user.UserService;
 import com.NexTradeX.wallet.WalletService;
@@ -32,12 +36,16 @@ public class FuturesTradingService {
     private final UserService userService;
     private final WalletService walletService;
     private final MarketService marketService;
+    private final LiquidationIndex liquidationIndex;
     
-    private static final BigDecimal MAINTENANCE_MARGIN_RATIO = new BigDecimal("0.05"); // 5%
     private static final BigDecimal INITIAL_MARGIN_RATIO = new BigDecimal("0.10"); // 10%
     
     public Order openFuturesPosition(Long userId, String symbol, OrderSide side,
-                                     BigDecimal quantity, BigDecimal leverage) {
+                                     BigDecimal quantity, BigDecimal leverage, String clientOrderId) {
+        if (!InstrumentSpec.isSupported(symbol)) {
+            throw new InvalidOrderException("Unsupported symbol: " + symbol);
+        }
+        
         User user = userService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
@@ -45,7 +53,12 @@ public class FuturesTradingService {
             throw new InvalidOrderException("Quantity must be greater than zero");
         }
         
-        if (leverage.compareTo(BigDecimal.ONE) < 0 || leverage.compareTo(new BigDecimal("20")) > 0) {
+        InstrumentSpec spec = InstrumentSpec.of(symbol);
+        if (!spec.isValidQuantity(quantity)) {
+            throw new InvalidOrderException("Quantity exceeds " + spec.quantityScale() + " decimals for " + symbol);
+        }
+        
+        if (!TradingRules.isValidFuturesLeverage(leverage)) {
             throw new InvalidOrderException("Leverage must be between 1x and 20x");
         }
         
@@ -75,19 +88,23 @@ public class FuturesTradingService {
                 .markPrice(entryPrice)
                 .marginRatio(INITIAL_MARGIN_RATIO)
                 .build();
+        position.setLiquidationPrice(LiquidationIndex.futuresLiquidationPrice(position));
         
         FuturesPosition savedPosition = futuresPositionRepository.save(position);
+        liquidationIndex.trackFutures(savedPosition);
         
         // Create order
         Order order = Order.builder()
                 .user(user)
                 .symbol(symbol)
                 .side(side)
+                .orderType(OrderType.MARKET)
                 .quantity(quantity)
                 .price(entryPrice)
                 .status(OrderStatus.FILLED)
                 .tradeType(TradeType.FUTURES)
                 .leverage(leverage)
+                .clientOrderId(clientOrderId)
                 .filledQuantity(quantity)
                 .averagePrice(entryPrice)
                 .filledAt(LocalDateTime.now())
@@ -103,29 +120,19 @@ public class FuturesTradingService {
         FuturesPosition position = futuresPositionRepository.findById(positionId)
                 .orElseThrow(() -> new RuntimeException("Position not found"));
         
-        position.setMarkPrice(markPrice);
+        InstrumentSpec spec = InstrumentSpec.of(position.getSymbol());
+        long unrealizedPnL = pnlAt(position, spec.toTicks(markPrice));
+        long marginRatio = TradingRules.futuresMarginRatio(TradingRules.toMoney(position.getCollateral()), unrealizedPnL);
         
-        // Calculate unrealized PnL
-        BigDecimal pnlPerUnit;
-        if (position.getPositionMode() == PositionMode.LONG) {
-            pnlPerUnit = markPrice.subtract(position.getEntryPrice());
-        } else {
-            pnlPerUnit = position.getEntryPrice().subtract(markPrice);
-        }
-        
-        BigDecimal unrealizedPnL = pnlPerUnit.multiply(position.getQuantity());
-        position.setUnrealizedPnL(unrealizedPnL);
-        
-        // Update margin ratio
-        BigDecimal marginRatio = position.getCollateral()
-                .divide(position.getCollateral().add(unrealizedPnL), 4, RoundingMode.HALF_UP);
-        position.setMarginRatio(marginRatio);
+        position.setMarkPrice(markPrice);
+        position.setUnrealizedPnL(TradingRules.fromMoney(unrealizedPnL));
+        position.setMarginRatio(TradingRules.fromRatio(marginRatio));
         
         futuresPositionRepository.save(position);
         log.debug("Updated mark price for position {}: {}", positionId, markPrice);
         
         // Check liquidation
-        if (marginRatio.compareTo(MAINTENANCE_MARGIN_RATIO) < 0) {
+        if (TradingRules.isFuturesLiquidatable(marginRatio)) {
             liquidatePosition(positionId);
         }
     }
@@ -145,14 +152,8 @@ public class FuturesTradingService {
         position.setExitPrice(exitPrice);
         
         // Calculate realized PnL
-        BigDecimal pnlPerUnit;
-        if (position.getPositionMode() == PositionMode.LONG) {
-            pnlPerUnit = exitPrice.subtract(position.getEntryPrice());
-        } else {
-            pnlPerUnit = position.getEntryPrice().subtract(exitPrice);
-        }
-        
-        BigDecimal realizedPnL = pnlPerUnit.multiply(position.getQuantity());
+        BigDecimal realizedPnL = TradingRules.fromMoney(
+                pnlAt(position, InstrumentSpec.of(position.getSymbol()).toTicks(exitPrice)));
         position.setRealizedPnL(realizedPnL);
         position.setStatus(PositionStatus.CLOSED);
         position.setClosedAt(LocalDateTime.now());
@@ -167,14 +168,19 @@ public class FuturesTradingService {
         }
         
         futuresPositionRepository.save(position);
+        liquidationIndex.untrackFutures(position);
         log.info("Futures position closed: {} PnL: {}", positionId, realizedPnL);
     }
     
     public void liquidatePosition(Long positionId) {
-        FuturesPosition position = futuresPositionRepository.findById(positionId)
-                .orElseThrow(() -> new RuntimeException("Position not found"));
+        FuturesPosition position = futuresPositionRepository.findById(positionId).orElse(null);
+        if (position == null) {
+            // Crossing already dropped the id from the liquidation index; nothing to liquidate
+            log.warn("Futures position {} not found, dropped from liquidation index", positionId);
+            return;
+        }
         
-        if (position.getStatus() == PositionStatus.LIQUIDATED) {
+        if (position.getStatus() != PositionStatus.OPEN) {
             return;
         }
         
@@ -185,24 +191,42 @@ public class FuturesTradingService {
         position.setRemarks("Position liquidated");
         
         // Calculate loss
-        BigDecimal pnlPerUnit;
-        if (position.getPositionMode() == PositionMode.LONG) {
-            pnlPerUnit = liquidationPrice.subtract(position.getEntryPrice());
-        } else {
-            pnlPerUnit = position.getEntryPrice().subtract(liquidationPrice);
-        }
-        
-        BigDecimal realizedPnL = pnlPerUnit.multiply(position.getQuantity());
+        BigDecimal realizedPnL = TradingRules.fromMoney(
+                pnlAt(position, InstrumentSpec.of(position.getSymbol()).toTicks(liquidationPrice)));
         position.setRealizedPnL(realizedPnL);
         
         futuresPositionRepository.save(position);
+        liquidationIndex.untrackFutures(position);
         log.warn("Position {} liquidated at price {}", positionId, liquidationPrice);
     }
     
+    private long pnlAt(FuturesPosition position, long priceTicks) {
+        InstrumentSpec spec = InstrumentSpec.of(position.getSymbol());
+        return TradingRules.unrealizedPnL(spec, position.getPositionMode() == PositionMode.LONG,
+                spec.toTicks(position.getEntryPrice()), priceTicks, spec.toLots(position.getQuantity()));
+    }
+    
+    /**
+     * Open positions marked to the current price. The marks are computed on
+     * read and never written back: liquidation runs off {@link LiquidationIndex},
+     * not off the stored margin ratio.
+     */
+    @Transactional(readOnly = true)
     public List<FuturesPosition> getUserOpenPositions(Long userId) {
         User user = userService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return futuresPositionRepository.findAllByUserAndStatus(user, PositionStatus.OPEN);
+        List<FuturesPosition> positions = futuresPositionRepository.findAllByUserAndStatus(user, PositionStatus.OPEN);
+        positions.forEach(this::markToMarket);
+        return positions;
+    }
+    
+    private void markToMarket(FuturesPosition position) {
+        BigDecimal markPrice = marketService.getPrice(position.getSymbol()).getCurrentPrice();
+        long unrealizedPnL = pnlAt(position, InstrumentSpec.of(position.getSymbol()).toTicks(markPrice));
+        position.setMarkPrice(markPrice);
+        position.setUnrealizedPnL(TradingRules.fromMoney(unrealizedPnL));
+        position.setMarginRatio(TradingRules.fromRatio(
+                TradingRules.futuresMarginRatio(TradingRules.toMoney(position.getCollateral()), unrealizedPnL)));
     }
     
     public List<FuturesPosition> getUserAllPositions(Long userId) {
@@ -1,5 +1,6 @@
 package com.NexTradeX.margin;
 
+import com.NexTradeX.common.SnowflakeId;
 import com.NexTradeX.user.User;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -22,7 +23,7 @@ import java.time.LocalDateTime;
 public class MarginPosition {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -53,27 +54,37 @@ public class MarginPosition {
     @Column(nullable = false, precision = 19, scale = 8)
     private BigDecimal borrowedAmount;
     
+    @Column(precision = 19, scale = 8)
+    private BigDecimal liquidationPrice;
+    
     @Column(nullable = false, precision = 19, scale = 8)
     private BigDecimal collateral;
     
+    @Builder.Default
     @Column(precision = 19, scale = 8)
     private BigDecimal interestAccrued = BigDecimal.ZERO;
     
+    @Builder.Default
     @Column(precision = 5, scale = 2)
     private BigDecimal interestRate = new BigDecimal("0.0005"); // 0.05% per day
     
+    @Builder.Default
     @Column(precision = 19, scale = 8)
     private BigDecimal unrealizedPnL = BigDecimal.ZERO;
     
+    @Builder.Default
     @Column(precision = 19, scale = 8)
     private BigDecimal realizedPnL = BigDecimal.ZERO;
     
+    @Builder.Default
     @Column(precision = 5, scale = 2)
     private BigDecimal marginRatio = BigDecimal.ZERO;
     
+    @Builder.Default
     @Column(nullable = false, updatable = false)
     private LocalDateTime openedAt = LocalDateTime.now();
     
+    @Builder.Default
     @Column(nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
     
@@ -11,6 +11,7 @@ import java.util.Optional;
 public interface MarginPositionRepository extends JpaRepository<MarginPosition, Long> {
     List<MarginPosition> findAllByUser(User user);
     List<MarginPosition> findAllByUserAndStatus(User user, String status);
+    List<MarginPosition> findAllByStatus(String status);
     List<MarginPosition> findAllByUserAndSymbol(User user, String symbol);
     Optional<MarginPosition> findByUserAndSymbol(User user, String symbol);
     Optional<MarginPosition> findByIdAndUser(Long positionId, User user);
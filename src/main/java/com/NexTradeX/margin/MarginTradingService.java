@@ -1,12 +1,16 @@
 package com.NexTradeX.margin;
 
 import com.NexTradeX.exception.InvalidOrderException;
+import com.NexTradeX.market.InstrumentSpec;
 import com.NexTradeX.market.MarketService;
 import com.NexTradeX.order.Order;
 import com.NexTradeX.order.OrderRepository;
 import com.NexTradeX.order.OrderSide;
 import com.NexTradeX.order.OrderStatus;
+import com.NexTradeX.order.OrderType;
 import com.NexTradeX.order.TradeType;
+import com.NexTradeX.risk.LiquidationIndex;
+import com.NexTradeX.risk.TradingRules;
 import com.NexTradeX.user.User;
 import com.NexTradeX.user.UserService;
 import com.NexTradeX.wallet.WalletService;
@@ -32,13 +36,17 @@ public class MarginTradingService {
     private final UserService userService;
     private final WalletService walletService;
     private final MarketService marketService;
+    private final LiquidationIndex liquidationIndex;
     
-    private static final BigDecimal MAINTENANCE_MARGIN_RATIO = new BigDecimal("0.20"); // 20%
     private static final BigDecimal INITIAL_MARGIN_RATIO = new BigDecimal("0.50"); // 50%
     private static final BigDecimal DAILY_INTEREST_RATE = new BigDecimal("0.0005"); // 0.05% per day
     
     public Order openMarginPosition(Long userId, String symbol, OrderSide side,
-                                    BigDecimal quantity, BigDecimal leverage) {
+                                    BigDecimal quantity, BigDecimal leverage, String clientOrderId) {
+        if (!InstrumentSpec.isSupported(symbol)) {
+            throw new InvalidOrderException("Unsupported symbol: " + symbol);
+        }
+        
         User user = userService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
@@ -46,7 +54,12 @@ public class MarginTradingService {
             throw new InvalidOrderException("Quantity must be greater than zero");
         }
         
-        if (leverage.compareTo(new BigDecimal("2")) < 0 || leverage.compareTo(new BigDecimal("10")) > 0) {
+        InstrumentSpec spec = InstrumentSpec.of(symbol);
+        if (!spec.isValidQuantity(quantity)) {
+            throw new InvalidOrderException("Quantity exceeds " + spec.quantityScale() + " decimals for " + symbol);
+        }
+        
+        if (!TradingRules.isValidMarginLeverage(leverage)) {
             throw new InvalidOrderException("Margin leverage must be between 2x and 10x");
         }
         
@@ -78,19 +91,23 @@ public class MarginTradingService {
                 .interestRate(DAILY_INTEREST_RATE)
                 .marginRatio(INITIAL_MARGIN_RATIO)
                 .build();
+        position.setLiquidationPrice(LiquidationIndex.marginLiquidationPrice(position));
         
         MarginPosition savedPosition = marginPositionRepository.save(position);
+        liquidationIndex.trackMargin(savedPosition);
         
         // Create order
         Order order = Order.builder()
                 .user(user)
                 .symbol(symbol)
                 .side(side)
+                .orderType(OrderType.MARKET)
                 .quantity(quantity)
                 .price(entryPrice)
                 .status(OrderStatus.FILLED)
                 .tradeType(TradeType.MARGIN)
                 .leverage(leverage)
+                .clientOrderId(clientOrderId)
                 .filledQuantity(quantity)
                 .averagePrice(entryPrice)
                 .filledAt(LocalDateTime.now())
@@ -106,26 +123,17 @@ public class MarginTradingService {
         MarginPosition position = marginPositionRepository.findById(positionId)
                 .orElseThrow(() -> new RuntimeException("Position not found"));
         
-        // Calculate unrealized PnL
-        BigDecimal pnlPerUnit;
-        if ("BUY".equals(position.getSide())) {
-            pnlPerUnit = currentPrice.subtract(position.getEntryPrice());
-        } else {
-            pnlPerUnit = position.getEntryPrice().subtract(currentPrice);
-        }
-        
-        BigDecimal unrealizedPnL = pnlPerUnit.multiply(position.getQuantity());
-        position.setUnrealizedPnL(unrealizedPnL);
-        
-        // Update margin ratio
-        BigDecimal equity = position.getCollateral().add(unrealizedPnL).subtract(position.getInterestAccrued());
-        BigDecimal marginRatio = equity.divide(position.getBorrowedAmount(), 4, RoundingMode.HALF_UP);
-        position.setMarginRatio(marginRatio);
+        // Unrealized PnL and margin ratio on fixed-point values
+        long unrealizedPnL = pnlAt(position, InstrumentSpec.of(position.getSymbol()).toTicks(currentPrice));
+        long marginRatio = TradingRules.marginRatio(TradingRules.toMoney(position.getCollateral()), unrealizedPnL,
+                TradingRules.toMoney(position.getInterestAccrued()), TradingRules.toMoney(position.getBorrowedAmount()));
+        position.setUnrealizedPnL(TradingRules.fromMoney(unrealizedPnL));
+        position.setMarginRatio(TradingRules.fromRatio(marginRatio));
         
         marginPositionRepository.save(position);
         
         // Check liquidation
-        if (marginRatio.compareTo(MAINTENANCE_MARGIN_RATIO) < 0) {
+        if (TradingRules.isMarginLiquidatable(marginRatio)) {
             liquidatePosition(positionId);
         }
     }
@@ -145,15 +153,8 @@ public class MarginTradingService {
         position.setExitPrice(exitPrice);
         
         // Calculate realized PnL
-        BigDecimal pnlPerUnit;
-        if ("BUY".equals(position.getSide())) {
-            pnlPerUnit = exitPrice.subtract(position.getEntryPrice());
-        } else {
-            pnlPerUnit = position.getEntryPrice().subtract(exitPrice);
-        }
-        
-        BigDecimal realizedPnL = pnlPerUnit.multiply(position.getQuantity())
-                .subtract(position.getInterestAccrued());
+        long pnl = pnlAt(position, InstrumentSpec.of(position.getSymbol()).toTicks(exitPrice));
+        BigDecimal realizedPnL = TradingRules.fromMoney(pnl - TradingRules.toMoney(position.getInterestAccrued()));
         position.setRealizedPnL(realizedPnL);
         position.setStatus("CLOSED");
         position.setClosedAt(LocalDateTime.now());
@@ -164,14 +165,19 @@ public class MarginTradingService {
         walletService.updateBalance(wallet.getId(), realizedPnL);
         
         marginPositionRepository.save(position);
+        liquidationIndex.untrackMargin(position);
         log.info("Margin position closed: {} PnL: {}", positionId, realizedPnL);
     }
     
     public void liquidatePosition(Long positionId) {
-        MarginPosition position = marginPositionRepository.findById(positionId)
-                .orElseThrow(() -> new RuntimeException("Position not found"));
+        MarginPosition position = marginPositionRepository.findById(positionId).orElse(null);
+        if (position == null) {
+            // Crossing already dropped the id from the liquidation index; nothing to liquidate
+            log.warn("Margin position {} not found, dropped from liquidation index", positionId);
+            return;
+        }
         
-        if ("LIQUIDATED".equals(position.getStatus())) {
+        if (!"OPEN".equals(position.getStatus())) {
             return;
         }
         
@@ -181,13 +187,34 @@ public class MarginTradingService {
         position.setClosedAt(LocalDateTime.now());
         
         marginPositionRepository.save(position);
+        liquidationIndex.untrackMargin(position);
         log.warn("Margin position {} liquidated at price {}", positionId, liquidationPrice);
     }
     
+    private long pnlAt(MarginPosition position, long priceTicks) {
+        InstrumentSpec spec = InstrumentSpec.of(position.getSymbol());
+        return TradingRules.unrealizedPnL(spec, "BUY".equals(position.getSide()),
+                spec.toTicks(position.getEntryPrice()), priceTicks, spec.toLots(position.getQuantity()));
+    }
+    
+    /**
+     * Open positions marked to the current price; nothing is written back.
+     */
+    @Transactional(readOnly = true)
     public List<MarginPosition> getUserOpenPositions(Long userId) {
         User user = userService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return marginPositionRepository.findAllByUserAndStatus(user, "OPEN");
+        List<MarginPosition> positions = marginPositionRepository.findAllByUserAndStatus(user, "OPEN");
+        positions.forEach(this::markToMarket);
+        return positions;
+    }
+    
+    private void markToMarket(MarginPosition position) {
+        BigDecimal currentPrice = marketService.getPrice(position.getSymbol()).getCurrentPrice();
+        long unrealizedPnL = pnlAt(position, InstrumentSpec.of(position.getSymbol()).toTicks(currentPrice));
+        position.setUnrealizedPnL(TradingRules.fromMoney(unrealizedPnL));
+        position.setMarginRatio(TradingRules.fromRatio(TradingRules.marginRatio(TradingRules.toMoney(position.getCollateral()),
+                unrealizedPnL, TradingRules.toMoney(position.getInterestAccrued()), TradingRules.toMoney(position.getBorrowedAmount()))));
     }
     
     public List<MarginPosition> getUserAllPositions(Long userId) {
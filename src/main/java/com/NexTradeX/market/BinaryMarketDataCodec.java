@@ -0,0 +1,85 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.matching.DepthUpdate;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Fixed-layout binary encoding of market data for {@code /ws-bin}. All numbers
+ * are big-endian; prices and quantities are fixed-point integers in the
+ * symbol's {@link InstrumentSpec} scales, which every message carries.
+ *
+ * <pre>
+ * header   u8 schema version, u8 message type, u8 price scale, u8 quantity scale,
+ *          u8 symbol length, symbol (ASCII)
+ * PRICE    i64 time millis, i64 price
+ * TRADE    i64 trade id, i64 time millis, i64 price, i64 quantity, u8 taker side (0 buy, 1 sell)
+ * DEPTH    i64 sequence, u8 snapshot (0/1), u16 bid count, u16 ask count,
+ *          then (i64 price, i64 quantity) per bid, then per ask; quantity 0 removes a level
+ * </pre>
+ *
+ * A message is encoded once and the same bytes are sent to every subscriber.
+ */
+public final class BinaryMarketDataCodec {
+
+    public static final byte SCHEMA_VERSION = 1;
+    public static final byte PRICE = 1;
+    public static final byte TRADE = 2;
+    public static final byte DEPTH = 3;
+
+    private BinaryMarketDataCodec() {
+    }
+
+    public static ByteBuffer encodePrice(String symbol, long timeMillis, BigDecimal price) {
+        InstrumentSpec spec = InstrumentSpec.of(symbol);
+        ByteBuffer buffer = header(PRICE, spec, 16);
+        buffer.putLong(timeMillis);
+        buffer.putLong(spec.toTicks(price));
+        return buffer.flip();
+    }
+
+    public static ByteBuffer encodeTrade(TradeTick trade) {
+        InstrumentSpec spec = InstrumentSpec.of(trade.symbol());
+        ByteBuffer buffer = header(TRADE, spec, 33);
+        buffer.putLong(trade.id());
+        buffer.putLong(trade.time());
+        buffer.putLong(spec.toTicks(trade.price()));
+        buffer.putLong(spec.toLots(trade.quantity()));
+        buffer.put((byte) ("BUY".equals(trade.side()) ? 0 : 1));
+        return buffer.flip();
+    }
+
+    public static ByteBuffer encodeDepth(DepthUpdate depth) {
+        InstrumentSpec spec = InstrumentSpec.of(depth.symbol());
+        ByteBuffer buffer = header(DEPTH, spec, 13 + 16 * (depth.bids().size() + depth.asks().size()));
+        buffer.putLong(depth.sequence());
+        buffer.put((byte) (depth.snapshot() ? 1 : 0));
+        buffer.putShort((short) depth.bids().size());
+        buffer.putShort((short) depth.asks().size());
+        putLevels(buffer, spec, depth.bids());
+        putLevels(buffer, spec, depth.asks());
+        return buffer.flip();
+    }
+
+    private static void putLevels(ByteBuffer buffer, InstrumentSpec spec, List<BigDecimal[]> levels) {
+        for (BigDecimal[] level : levels) {
+            buffer.putLong(spec.toTicks(level[0]));
+            buffer.putLong(spec.toLots(level[1]));
+        }
+    }
+
+    private static ByteBuffer header(byte type, InstrumentSpec spec, int bodyBytes) {
+        byte[] symbol = spec.symbol().getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocate(5 + symbol.length + bodyBytes);
+        buffer.put(SCHEMA_VERSION);
+        buffer.put(type);
+        buffer.put((byte) spec.priceScale());
+        buffer.put((byte) spec.quantityScale());
+        buffer.put((byte) symbol.length);
+        buffer.put(symbol);
+        return buffer;
+    }
+}
@@ -0,0 +1,191 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.matching.DepthUpdate;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary market data over plain WebSocket on {@code /ws-bin}, encoded with
+ * {@link BinaryMarketDataCodec}. Clients subscribe with text frames
+ * {@code SUB <PRICE|TRADE|DEPTH> <symbol|*>} and {@code UNSUB ...}; subscribing
+ * to depth first sends the current snapshot.
+ *
+ * Each update is encoded once on the publishing thread; a single fan-out
+ * thread hands every subscriber a view of the same bytes. Prices are conflated
+ * per broadcast interval like the STOMP feed, trades and depth deltas are sent
+ * as they happen, and depth subscribers also get the periodic snapshots of
+ * books that changed. Slow sessions drop messages once their buffer is full;
+ * a client that sees a gap in the depth sequence resyncs from the next
+ * snapshot.
+ */
+@Slf4j
+@Component
+public class BinaryMarketDataHandler extends AbstractWebSocketHandler {
+
+    private static final String ALL = "*";
+
+    private final DepthPublisher depthPublisher;
+    private final int sendTimeLimitMillis;
+    private final int sendBufferSizeLimit;
+    private final ThreadPoolExecutor fanOut;
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    // "<TYPE>:<symbol or *>" -> session ids
+    private final Map<String, Set<String>> subscriptions = new ConcurrentHashMap<>();
+    private final Set<String> changedPrices = ConcurrentHashMap.newKeySet();
+    private final Map<String, BigDecimal> latestPrices = new ConcurrentHashMap<>();
+
+    public BinaryMarketDataHandler(DepthPublisher depthPublisher,
+                                   @Value("${nextradex.websocket.send-time-limit-ms:10000}") int sendTimeLimitMillis,
+                                   @Value("${nextradex.websocket.send-buffer-size-limit:524288}") int sendBufferSizeLimit,
+                                   @Value("${nextradex.ws-binary.fan-out-queue-capacity:65536}") int fanOutQueueCapacity) {
+        this.depthPublisher = depthPublisher;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.fanOut = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fanOutQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "binary-market-data");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> log.warn("Binary market data fan-out queue full, update dropped"));
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        sessions.put(session.getId(), new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis,
+                sendBufferSizeLimit, ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        String[] parts = message.getPayload().trim().split("\\s+");
+        if (parts.length != 3 || !Set.of("PRICE", "TRADE", "DEPTH").contains(parts[1])) {
+            session.sendMessage(new TextMessage("ERROR expected SUB|UNSUB PRICE|TRADE|DEPTH <symbol|*>"));
+            return;
+        }
+        if (!ALL.equals(parts[2]) && !InstrumentSpec.isSupported(parts[2])) {
+            session.sendMessage(new TextMessage("ERROR unsupported symbol " + parts[2]));
+            return;
+        }
+        String key = parts[1] + ":" + parts[2];
+        switch (parts[0]) {
+            case "SUB" -> {
+                subscriptions.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(session.getId());
+                if ("DEPTH".equals(parts[1]) && !ALL.equals(parts[2])) {
+                    ByteBuffer snapshot = BinaryMarketDataCodec.encodeDepth(depthPublisher.getSnapshot(parts[2]));
+                    fanOut.execute(() -> send(sessions.get(session.getId()), snapshot));
+                }
+            }
+            case "UNSUB" -> {
+                Set<String> subscribers = subscriptions.get(key);
+                if (subscribers != null) {
+                    subscribers.remove(session.getId());
+                }
+            }
+            default -> session.sendMessage(new TextMessage("ERROR unknown command " + parts[0]));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        sessions.remove(session.getId());
+        subscriptions.values().forEach(subscribers -> subscribers.remove(session.getId()));
+    }
+
+    @EventListener
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        if (!sessions.isEmpty()) {
+            latestPrices.put(event.symbol(), event.price());
+            changedPrices.add(event.symbol());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${nextradex.prices.broadcast-interval-ms:250}")
+    public void broadcastPrices() {
+        long now = System.currentTimeMillis();
+        for (Iterator<String> iterator = changedPrices.iterator(); iterator.hasNext(); ) {
+            String symbol = iterator.next();
+            iterator.remove();
+            publish("PRICE", symbol, BinaryMarketDataCodec.encodePrice(symbol, now, latestPrices.get(symbol)));
+        }
+    }
+
+    @EventListener
+    public void onTrade(TradeTick trade) {
+        if (!sessions.isEmpty()) {
+            publish("TRADE", trade.symbol(), BinaryMarketDataCodec.encodeTrade(trade));
+        }
+    }
+
+    @EventListener
+    public void onDepthUpdate(DepthUpdate delta) {
+        if (!sessions.isEmpty()) {
+            publish("DEPTH", delta.symbol(), BinaryMarketDataCodec.encodeDepth(delta));
+        }
+    }
+
+    @EventListener
+    public void onDepthSnapshot(DepthSnapshotEvent event) {
+        if (!sessions.isEmpty()) {
+            publish("DEPTH", event.snapshot().symbol(), BinaryMarketDataCodec.encodeDepth(event.snapshot()));
+        }
+    }
+
+    private void publish(String type, String symbol, ByteBuffer payload) {
+        Set<String> bySymbol = subscriptions.get(type + ":" + symbol);
+        Set<String> byWildcard = subscriptions.get(type + ":" + ALL);
+        if ((bySymbol == null || bySymbol.isEmpty()) && (byWildcard == null || byWildcard.isEmpty())) {
+            return;
+        }
+        fanOut.execute(() -> {
+            if (bySymbol != null) {
+                bySymbol.forEach(id -> send(sessions.get(id), payload));
+            }
+            if (byWildcard != null) {
+                byWildcard.stream()
+                        .filter(id -> bySymbol == null || !bySymbol.contains(id))
+                        .forEach(id -> send(sessions.get(id), payload));
+            }
+        });
+    }
+
+    private void send(WebSocketSession session, ByteBuffer payload) {
+        if (session == null || !session.isOpen()) {
+            return;
+        }
+        try {
+            // duplicate() shares the bytes; only the position is per session
+            session.sendMessage(new BinaryMessage(payload.duplicate()));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Binary market data send to {} failed: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOut.shutdownNow();
+    }
+}
@@ -0,0 +1,54 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.common.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A closed candle. Written behind by {@link CandleService}; charts are served
+ * from memory, this table is the long-term history.
+ */
+@Entity
+@Table(name = "candles", indexes = {
+        @Index(name = "idx_candles_symbol_interval_time", columnList = "symbol,interval_code,open_time")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Candle {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(nullable = false)
+    private String symbol;
+
+    @Column(name = "interval_code", nullable = false, length = 4)
+    private String intervalCode;
+
+    // Epoch millis of the bucket start
+    @Column(name = "open_time", nullable = false)
+    private Long openTime;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal openPrice;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal highPrice;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal lowPrice;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal closePrice;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal volume;
+}
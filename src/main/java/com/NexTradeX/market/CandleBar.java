@@ -0,0 +1,7 @@
+package com.NexTradeX.market;
+
+import java.math.BigDecimal;
+
+public record CandleBar(long openTime, BigDecimal open, BigDecimal high, BigDecimal low,
+                        BigDecimal close, BigDecimal volume) {
+}
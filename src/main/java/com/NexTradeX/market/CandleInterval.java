@@ -0,0 +1,33 @@
+package com.NexTradeX.market;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Candle resolutions; buckets are aligned to the epoch, so days are UTC days.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CandleInterval {
+    S1("1s", 1_000L),
+    M1("1m", 60_000L),
+    M5("5m", 300_000L),
+    H1("1h", 3_600_000L),
+    D1("1d", 86_400_000L);
+
+    private final String code;
+    private final long millis;
+
+    public long bucketOf(long timeMillis) {
+        return Math.floorDiv(timeMillis, millis) * millis;
+    }
+
+    public static CandleInterval fromCode(String code) {
+        for (CandleInterval interval : values()) {
+            if (interval.code.equals(code)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported candle interval: " + code);
+    }
+}
@@ -0,0 +1,8 @@
+package com.NexTradeX.market;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CandleRepository extends JpaRepository<Candle, Long> {
+}
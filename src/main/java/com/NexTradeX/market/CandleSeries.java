@@ -0,0 +1,97 @@
+package com.NexTradeX.market;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The last {@code capacity} candles of one symbol at one resolution, the newest
+ * being the one still open. Columns are primitive arrays used as a ring, in
+ * price ticks and quantity lots of the symbol's {@link InstrumentSpec}, so a
+ * tick allocates nothing unless it closes a candle.
+ *
+ * Prices arrive from several threads (price feed, sequencer shards); methods
+ * are synchronized, which is uncontended in practice.
+ */
+public class CandleSeries {
+
+    @Getter
+    private final String symbol;
+    @Getter
+    private final CandleInterval interval;
+    private final InstrumentSpec spec;
+
+    private final long[] openTimes;
+    private final long[] opens;
+    private final long[] highs;
+    private final long[] lows;
+    private final long[] closes;
+    private final long[] volumes;
+    private int last = -1;
+    private int count;
+
+    public CandleSeries(String symbol, CandleInterval interval, int capacity) {
+        this.symbol = symbol;
+        this.interval = interval;
+        this.spec = InstrumentSpec.of(symbol);
+        this.openTimes = new long[capacity];
+        this.opens = new long[capacity];
+        this.highs = new long[capacity];
+        this.lows = new long[capacity];
+        this.closes = new long[capacity];
+        this.volumes = new long[capacity];
+    }
+
+    /**
+     * Fold a tick into the open candle, starting a new one when the tick falls in
+     * a later bucket. Ticks older than the open candle are ignored.
+     *
+     * @return the candle this tick closed, or null
+     */
+    public synchronized CandleBar update(long timeMillis, long priceTicks, long lots) {
+        long bucket = interval.bucketOf(timeMillis);
+        if (count > 0 && bucket == openTimes[last]) {
+            highs[last] = Math.max(highs[last], priceTicks);
+            lows[last] = Math.min(lows[last], priceTicks);
+            closes[last] = priceTicks;
+            volumes[last] += lots;
+            return null;
+        }
+        if (count > 0 && bucket < openTimes[last]) {
+            return null;
+        }
+
+        CandleBar closed = count > 0 ? bar(last) : null;
+        last = (last + 1) % openTimes.length;
+        count = Math.min(count + 1, openTimes.length);
+        openTimes[last] = bucket;
+        opens[last] = priceTicks;
+        highs[last] = priceTicks;
+        lows[last] = priceTicks;
+        closes[last] = priceTicks;
+        volumes[last] = lots;
+        return closed;
+    }
+
+    /**
+     * Up to {@code limit} most recent candles, oldest first, ending with the open one.
+     */
+    public synchronized List<CandleBar> recent(int limit) {
+        int n = Math.min(limit, count);
+        List<CandleBar> bars = new ArrayList<>(n);
+        for (int i = n - 1; i >= 0; i--) {
+            bars.add(bar(Math.floorMod(last - i, openTimes.length)));
+        }
+        return bars;
+    }
+
+    public synchronized CandleBar current() {
+        return count == 0 ? null : bar(last);
+    }
+
+    private CandleBar bar(int index) {
+        return new CandleBar(openTimes[index], spec.fromTicks(opens[index]), spec.fromTicks(highs[index]),
+                spec.fromTicks(lows[index]), spec.fromTicks(closes[index]), spec.fromLots(volumes[index]));
+    }
+}
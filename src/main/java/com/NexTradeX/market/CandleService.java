@@ -0,0 +1,117 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.engine.WriteBehindQueue;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds candles at every {@link CandleInterval} incrementally from price ticks
+ * and executions. Charts are answered from the in-memory {@link CandleSeries};
+ * closed candles are written behind to the candles table in batches, and the
+ * open candle of each changed series is streamed on
+ * {@code /topic/candles/{symbol}/{interval}} once per stream interval.
+ */
+@Slf4j
+@Service
+public class CandleService {
+
+    private static final String CANDLES_TOPIC = "/topic/candles/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final WriteBehindQueue<Candle> closedCandles;
+    private final int capacity;
+
+    private final Map<String, CandleSeries[]> series = new ConcurrentHashMap<>();
+    private final Set<CandleSeries> changed = ConcurrentHashMap.newKeySet();
+
+    public CandleService(SimpMessagingTemplate messagingTemplate,
+                         CandleRepository candleRepository,
+                         @Value("${nextradex.candles.capacity:1000}") int capacity,
+                         @Value("${nextradex.candles.flush-batch-size:500}") int flushBatchSize,
+                         @Value("${nextradex.candles.flush-interval-ms:1000}") long flushIntervalMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.capacity = capacity;
+        this.closedCandles = new WriteBehindQueue<>("candles", 16_384, flushBatchSize, flushIntervalMillis,
+                candleRepository::saveAll);
+        this.closedCandles.start();
+    }
+
+    @EventListener
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        InstrumentSpec spec = InstrumentSpec.of(event.symbol());
+        onTick(event.symbol(), System.currentTimeMillis(), spec.toTicks(event.price()), 0);
+    }
+
+    public void onTrade(String symbol, long priceTicks, long lots, long timeMillis) {
+        onTick(symbol, timeMillis, priceTicks, lots);
+    }
+
+    /**
+     * Up to {@code limit} candles, oldest first; the last one is still open.
+     */
+    public List<CandleBar> getCandles(String symbol, CandleInterval interval, int limit) {
+        CandleSeries[] bySymbol = series.get(symbol);
+        return bySymbol == null ? List.of() : bySymbol[interval.ordinal()].recent(limit);
+    }
+
+    @Scheduled(fixedDelayString = "${nextradex.candles.stream-interval-ms:1000}")
+    public void streamOpenCandles() {
+        for (Iterator<CandleSeries> iterator = changed.iterator(); iterator.hasNext(); ) {
+            CandleSeries candles = iterator.next();
+            iterator.remove();
+            CandleBar current = candles.current();
+            if (current != null) {
+                messagingTemplate.convertAndSend(
+                        CANDLES_TOPIC + candles.getSymbol() + "/" + candles.getInterval().getCode(), current);
+            }
+        }
+    }
+
+    private void onTick(String symbol, long timeMillis, long priceTicks, long lots) {
+        for (CandleSeries candles : series.computeIfAbsent(symbol, this::newSeries)) {
+            CandleBar closed = candles.update(timeMillis, priceTicks, lots);
+            if (closed != null) {
+                closedCandles.put(toEntity(candles, closed));
+            }
+            changed.add(candles);
+        }
+    }
+
+    private CandleSeries[] newSeries(String symbol) {
+        CandleInterval[] intervals = CandleInterval.values();
+        CandleSeries[] bySymbol = new CandleSeries[intervals.length];
+        for (CandleInterval interval : intervals) {
+            bySymbol[interval.ordinal()] = new CandleSeries(symbol, interval, capacity);
+        }
+        return bySymbol;
+    }
+
+    private static Candle toEntity(CandleSeries candles, CandleBar bar) {
+        return Candle.builder()
+                .symbol(candles.getSymbol())
+                .intervalCode(candles.getInterval().getCode())
+                .openTime(bar.openTime())
+                .openPrice(bar.open())
+                .highPrice(bar.high())
+                .lowPrice(bar.low())
+                .closePrice(bar.close())
+                .volume(bar.volume())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closedCandles.shutdown(10_000);
+    }
+}
@@ -0,0 +1,179 @@
+package com.NexTradeX.market;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.json.JsonFactory;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Non-blocking CoinMarketCap quotes client. All requested symbols are fetched
+ * in one call, and the response is read token by token. Nothing is bound to
+ * intermediate objects.
+ */
+@Component
+public class CoinMarketCapClient {
+
+    static final String QUOTES_PATH = "/v1/cryptocurrency/quotes/latest";
+    private static final String CONVERT = "USD";
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final Duration defaultRetryAfter;
+
+    public CoinMarketCapClient(@Value("${coinmarketcap.api.url:https://pro-api.coinmarketcap.com}") String baseUrl,
+                               @Value("${coinmarketcap.api.key}") String apiKey,
+                               @Value("${nextradex.ingest.timeout-ms:5000}") long timeoutMillis,
+                               @Value("${nextradex.ingest.default-retry-after-ms:60000}") long defaultRetryAfterMillis) {
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .defaultHeader("X-CMC_PRO_API_KEY", apiKey)
+                .build();
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.defaultRetryAfter = Duration.ofMillis(defaultRetryAfterMillis);
+    }
+
+    /**
+     * Latest quotes for the given base symbols (e.g. BTC, ETH), keyed back to
+     * their USDT pairs. USD quotes stand in for USDT. Fails with
+     * {@link RateLimitedException} on HTTP 429.
+     */
+    public Mono<List<PriceUpdateDTO>> fetchQuotes(Collection<String> baseSymbols) {
+        return webClient.get()
+                .uri(uri -> uri.path(QUOTES_PATH)
+                        .queryParam("symbol", String.join(",", baseSymbols))
+                        .queryParam("convert", CONVERT)
+                        .build())
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        Duration retryAfter = parseRetryAfter(response.headers().header("Retry-After"));
+                        return response.releaseBody().then(Mono.error(new RateLimitedException(retryAfter)));
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    return response.bodyToMono(byte[].class).map(CoinMarketCapClient::parseQuotes);
+                })
+                .timeout(timeout);
+    }
+
+    private Duration parseRetryAfter(List<String> values) {
+        if (values.isEmpty()) {
+            return defaultRetryAfter;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(values.get(0).trim()));
+        } catch (NumberFormatException e) {
+            // HTTP-date form: not worth parsing, fall back to the default pause
+            return defaultRetryAfter;
+        }
+    }
+
+    /**
+     * Read {@code data.<SYMBOL>.quote.USD} from a quotes/latest response. Other
+     * properties are skipped without being materialised.
+     */
+    static List<PriceUpdateDTO> parseQuotes(byte[] body) {
+        List<PriceUpdateDTO> updates = new ArrayList<>();
+        try (JsonParser parser = JSON.createParser(ObjectReadContext.empty(), body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return updates;
+            }
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("data".equals(name) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                        String symbol = parser.currentName();
+                        parser.nextToken();
+                        PriceUpdateDTO update = readCoin(parser, symbol + "USDT");
+                        if (update != null) {
+                            updates.add(update);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return updates;
+    }
+
+    private static PriceUpdateDTO readCoin(JsonParser parser, String symbol) {
+        PriceUpdateDTO update = null;
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if ("quote".equals(name) && parser.currentToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                    String currency = parser.currentName();
+                    parser.nextToken();
+                    if (CONVERT.equals(currency) && parser.currentToken() == JsonToken.START_OBJECT) {
+                        update = readQuote(parser, symbol);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return update;
+    }
+
+    private static PriceUpdateDTO readQuote(JsonParser parser, String symbol) {
+        PriceUpdateDTO update = PriceUpdateDTO.builder().symbol(symbol).build();
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!value.isNumeric()) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (name) {
+                case "price" -> update.setCurrentPrice(parser.getDecimalValue());
+                case "volume_24h" -> update.setVolume24h(parser.getDecimalValue());
+                case "percent_change_24h" -> update.setPercentChange24h(parser.getDecimalValue());
+                case "market_cap" -> update.setMarketCap(parser.getDecimalValue());
+                default -> { }
+            }
+        }
+        if (update.getCurrentPrice() == null) {
+            return null;
+        }
+        if (update.getPercentChange24h() != null) {
+            // open = price / (1 + pct / 100)
+            BigDecimal growth = BigDecimal.ONE.add(update.getPercentChange24h().movePointLeft(2));
+            if (growth.signum() > 0) {
+                BigDecimal open = update.getCurrentPrice().divide(growth, MathContext.DECIMAL64);
+                update.setOpenPrice(open);
+                update.setPriceChange24h(update.getCurrentPrice().subtract(open));
+            }
+        }
+        return update;
+    }
+
+    @Getter
+    public static class RateLimitedException extends RuntimeException {
+
+        private final Duration retryAfter;
+
+        public RateLimitedException(Duration retryAfter) {
+            super("CoinMarketCap rate limit hit, retry after " + retryAfter.toSeconds() + "s");
+            this.retryAfter = retryAfter;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.NexTradeX.market;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -11,4 +12,5 @@ public interface CryptoPriceRepository extends JpaRepository<CryptoPrice, Long>
     Optional<CryptoPrice> findBySymbol(String symbol);
     List<CryptoPrice> findAll();
     boolean existsBySymbol(String symbol);
+    List<CryptoPrice> findAllBySymbolIn(Collection<String> symbols);
 }
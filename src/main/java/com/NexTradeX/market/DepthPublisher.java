@@ -0,0 +1,76 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.engine.OrderSequencer;
+import com.NexTradeX.matching.DepthUpdate;
+import com.NexTradeX.matching.MatchingEngine;
+import com.NexTradeX.matching.OrderBook;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams order book depth on {@code /topic/depth/{symbol}}. Deltas are
+ * forwarded as the matching engine emits them; full snapshots of books that
+ * changed are sent periodically so clients can detect a sequence gap and
+ * resync; they are also published as {@link DepthSnapshotEvent}s for the
+ * binary feed. The latest snapshot per symbol is also kept for REST callers, who
+ * therefore never walk a live book.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DepthPublisher {
+
+    private static final String DEPTH_TOPIC = "/topic/depth/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MatchingEngine matchingEngine;
+    private final OrderSequencer orderSequencer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${nextradex.depth.snapshot-levels:100}")
+    private int snapshotLevels;
+
+    private final Map<String, DepthUpdate> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Runs on the book's shard thread, right after the command that changed it.
+     */
+    @EventListener
+    public void onDepthUpdate(DepthUpdate delta) {
+        if (!snapshots.containsKey(delta.symbol())) {
+            // First change of this book: give REST callers a baseline straight away
+            snapshots.put(delta.symbol(), matchingEngine.getBook(delta.symbol()).depthSnapshot(snapshotLevels));
+        }
+        messagingTemplate.convertAndSend(DEPTH_TOPIC + delta.symbol(), delta);
+    }
+
+    @Scheduled(fixedDelayString = "${nextradex.depth.snapshot-interval-ms:1000}")
+    public void publishSnapshots() {
+        for (OrderBook book : matchingEngine.getBooks()) {
+            // Taken on the shard thread so the snapshot matches its sequence number
+            orderSequencer.submit(book.getSymbol(), () -> {
+                DepthUpdate previous = snapshots.get(book.getSymbol());
+                if (previous != null && previous.sequence() == book.getDepthSequence()) {
+                    return;
+                }
+                DepthUpdate snapshot = book.depthSnapshot(snapshotLevels);
+                snapshots.put(book.getSymbol(), snapshot);
+                messagingTemplate.convertAndSend(DEPTH_TOPIC + book.getSymbol(), snapshot);
+                eventPublisher.publishEvent(new DepthSnapshotEvent(snapshot));
+            });
+        }
+    }
+
+    public DepthUpdate getSnapshot(String symbol) {
+        return snapshots.getOrDefault(symbol, DepthUpdate.empty(symbol));
+    }
+}
@@ -0,0 +1,10 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.matching.DepthUpdate;
+
+/**
+ * Published with every periodic depth snapshot, so each market data feed can
+ * pass it on to clients resyncing after a missed delta.
+ */
+public record DepthSnapshotEvent(DepthUpdate snapshot) {
+}
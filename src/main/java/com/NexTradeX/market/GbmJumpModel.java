@@ -0,0 +1,37 @@
+package com.NexTradeX.market;
+
+import java.util.SplittableRandom;
+
+/**
+ * Geometric Brownian motion with log-normal (Merton) jumps, stepped with a
+ * fixed time increment. Drift, volatility and jump intensity are annualised;
+ * {@code dtYears} is the simulated time between two steps of one path.
+ * Not thread-safe.
+ */
+public final class GbmJumpModel {
+
+    private final SplittableRandom random;
+    private final double driftTerm;
+    private final double diffusionTerm;
+    private final double jumpProbability;
+    private final double jumpMean;
+    private final double jumpVolatility;
+
+    public GbmJumpModel(double drift, double volatility, double jumpIntensity, double jumpMean,
+                 double jumpVolatility, double dtYears, long seed) {
+        this.random = new SplittableRandom(seed);
+        this.driftTerm = (drift - volatility * volatility / 2) * dtYears;
+        this.diffusionTerm = volatility * Math.sqrt(dtYears);
+        this.jumpProbability = Math.min(1, jumpIntensity * dtYears);
+        this.jumpMean = jumpMean;
+        this.jumpVolatility = jumpVolatility;
+    }
+
+    public double next(double price) {
+        double logReturn = driftTerm + diffusionTerm * random.nextGaussian();
+        if (jumpProbability > 0 && random.nextDouble() < jumpProbability) {
+            logReturn += jumpMean + jumpVolatility * random.nextGaussian();
+        }
+        return price * Math.exp(logReturn);
+    }
+}
@@ -0,0 +1,82 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.common.FixedPoint;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Price and quantity precision of a tradable symbol. Prices are held as ticks
+ * ({@code price * 10^priceScale}) and quantities as lots
+ * ({@code quantity * 10^quantityScale}) on the trading path; BigDecimal is only
+ * used at the API and persistence boundaries.
+ */
+public record InstrumentSpec(String symbol, int priceScale, int quantityScale) {
+
+    private static final int DEFAULT_PRICE_SCALE = 8;
+    private static final int DEFAULT_QUANTITY_SCALE = 8;
+
+    private static final Map<String, InstrumentSpec> SPECS = new ConcurrentHashMap<>(Map.of(
+            "BTCUSDT", new InstrumentSpec("BTCUSDT", 2, 6),
+            "ETHUSDT", new InstrumentSpec("ETHUSDT", 2, 5),
+            "BNBUSDT", new InstrumentSpec("BNBUSDT", 2, 4)
+    ));
+
+    /**
+     * @throws IllegalArgumentException if the symbol is not listed; callers
+     * handling client input check {@link #isSupported} first
+     */
+    public static InstrumentSpec of(String symbol) {
+        InstrumentSpec spec = symbol == null ? null : SPECS.get(symbol);
+        if (spec == null) {
+            throw new IllegalArgumentException("Unsupported symbol: " + symbol);
+        }
+        return spec;
+    }
+
+    public static boolean isSupported(String symbol) {
+        return symbol != null && SPECS.containsKey(symbol);
+    }
+
+    /**
+     * List a further symbol at the default precision. Only for symbols chosen
+     * by the operator (e.g. the synthetic feed), never for request input, so
+     * the registry and every per-symbol structure keyed off it stay bounded.
+     */
+    public static InstrumentSpec register(String symbol) {
+        return SPECS.computeIfAbsent(symbol, s -> new InstrumentSpec(s, DEFAULT_PRICE_SCALE, DEFAULT_QUANTITY_SCALE));
+    }
+
+    public long toTicks(BigDecimal price) {
+        return FixedPoint.toScaled(price, priceScale);
+    }
+
+    public long toLots(BigDecimal quantity) {
+        return FixedPoint.toScaled(quantity, quantityScale);
+    }
+
+    public BigDecimal fromTicks(long ticks) {
+        return FixedPoint.toBigDecimal(ticks, priceScale);
+    }
+
+    public BigDecimal fromLots(long lots) {
+        return FixedPoint.toBigDecimal(lots, quantityScale);
+    }
+
+    /**
+     * Round a feed price onto this symbol's tick grid.
+     */
+    public BigDecimal roundPrice(BigDecimal price) {
+        return price.setScale(priceScale, RoundingMode.HALF_UP);
+    }
+
+    public boolean isValidPrice(BigDecimal price) {
+        return FixedPoint.fits(price, priceScale);
+    }
+
+    public boolean isValidQuantity(BigDecimal quantity) {
+        return FixedPoint.fits(quantity, quantityScale);
+    }
+}
@@ -1,8 +1,15 @@
 package com.NexTradeX.market;
 
 import com.NexTradeX.common.ApiResponse;
+import com.NexTradeX.matching.DepthUpdate;
+import com.NexTradeX.tickstore.TickPoint;
+import com.NexTradeX.tickstore.TickStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,30 +21,151 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MarketController {
     
-    private final MarketService marketService;
+    private final PriceSnapshotCache priceSnapshotCache;
+    private final DepthPublisher depthPublisher;
+    private final TradeTapeService tradeTapeService;
+    private final CandleService candleService;
+    private final TickStore tickStore;
     
+    /**
+     * Served from pre-serialized bytes; polls carrying the current ETag get 304.
+     */
     @GetMapping("/prices")
-    public ResponseEntity<ApiResponse<List<CryptoPrice>>> getAllPrices() {
+    public ResponseEntity<byte[]> getAllPrices(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return snapshotResponse(priceSnapshotCache.getAllPrices(), ifNoneMatch, acceptEncoding);
+    }
+    
+    @GetMapping("/price/{symbol}")
+    public ResponseEntity<?> getPrice(
+            @PathVariable String symbol,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        PriceSnapshotCache.Payload payload = priceSnapshotCache.getPrice(symbol);
+        if (payload == null) {
+            log.error("Error retrieving price for {}: not found", symbol);
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(400, "Price not found for symbol: " + symbol, null));
+        }
+        return snapshotResponse(payload, ifNoneMatch, acceptEncoding);
+    }
+    
+    private static ResponseEntity<byte[]> snapshotResponse(PriceSnapshotCache.Payload payload,
+                                                           String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = payload.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        // Each encoding is a different representation, so it gets its own ETag
+        String etag = "\"" + payload.tag() + (gzip ? "-gz" : "") + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
+    }
+    
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals(etag) || trimmed.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Latest periodic depth snapshot; combine with the deltas on
+     * /topic/depth/{symbol} that have a higher sequence number.
+     */
+    @GetMapping("/depth/{symbol}")
+    public ResponseEntity<ApiResponse<DepthUpdate>> getDepth(
+            @PathVariable String symbol) {
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(200, "Depth retrieved", depthPublisher.getSnapshot(symbol)));
+    }
+    
+    @GetMapping("/trades/{symbol}")
+    public ResponseEntity<ApiResponse<List<TradeTick>>> getRecentTrades(
+            @PathVariable String symbol,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok()
+                .body(new ApiResponse<>(200, "Recent trades retrieved",
+                        tradeTapeService.getRecentTrades(symbol, Math.max(limit, 0))));
+    }
+    
+    /**
+     * Recent candles from memory, oldest first; the last one is still open and
+     * keeps updating on /topic/candles/{symbol}/{interval}.
+     */
+    @GetMapping("/candles/{symbol}")
+    public ResponseEntity<ApiResponse<List<CandleBar>>> getCandles(
+            @PathVariable String symbol,
+            @RequestParam(defaultValue = "1m") String interval,
+            @RequestParam(defaultValue = "500") int limit) {
         try {
-            List<CryptoPrice> prices = marketService.getAllPrices();
+            List<CandleBar> candles = candleService.getCandles(symbol, CandleInterval.fromCode(interval), Math.max(limit, 0));
             return ResponseEntity.ok()
-                    .body(new ApiResponse<>(200, "Prices retrieved", prices));
-        } catch (Exception e) {
-            log.error("Error retrieving prices: {}", e.getMessage());
+                    .body(new ApiResponse<>(200, "Candles retrieved", candles));
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(400, e.getMessage(), null));
         }
     }
     
-    @GetMapping("/price/{symbol}")
-    public ResponseEntity<ApiResponse<CryptoPrice>> getPrice(
-            @PathVariable String symbol) {
+    /**
+     * Raw tick history in [from, to] (epoch millis, default the last hour).
+     */
+    @GetMapping("/ticks/{symbol}")
+    public ResponseEntity<ApiResponse<List<TickPoint>>> getTicks(
+            @PathVariable String symbol,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "1000") int limit) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - 3_600_000L;
+        try {
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(200, "Ticks retrieved",
+                            tickStore.getTicks(symbol, start, end, Math.min(Math.max(limit, 0), 100_000))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
+    }
+    
+    /**
+     * Tick history downsampled to OHLC buckets of bucketMs.
+     */
+    @GetMapping("/ticks/{symbol}/ohlc")
+    public ResponseEntity<ApiResponse<List<CandleBar>>> getTickBars(
+            @PathVariable String symbol,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "60000") long bucketMs,
+            @RequestParam(defaultValue = "1000") int limit) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - 86_400_000L;
         try {
-            CryptoPrice price = marketService.getPrice(symbol);
             return ResponseEntity.ok()
-                    .body(new ApiResponse<>(200, "Price retrieved", price));
-        } catch (Exception e) {
-            log.error("Error retrieving price for {}: {}", symbol, e.getMessage());
+                    .body(new ApiResponse<>(200, "Tick bars retrieved",
+                            tickStore.downsample(symbol, start, end, Math.max(bucketMs, 1), Math.min(Math.max(limit, 1), 100_000))));
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(400, e.getMessage(), null));
         }
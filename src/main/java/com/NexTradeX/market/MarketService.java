@@ -2,72 +2,77 @@ package com.NexTradeX.market;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class MarketService {
     
     private final CryptoPriceRepository cryptoPriceRepository;
-    private final RestTemplate restTemplate;
+    private final PriceCache priceCache;
+    private final ApplicationEventPublisher eventPublisher;
     
-    @Value("${coinmarketcap.api.key}")
-    private String coinMarketCapApiKey;
-    
-    private static final String COINMARKETCAP_API = "https://pro-api.coinmarketcap.com/v1/cryptocurrency/quotes/latest";
+    /**
+     * Load every stored price into the cache before anything reads it.
+     */
+    @PostConstruct
+    public void warmPriceCache() {
+        List<CryptoPrice> rows = cryptoPriceRepository.findAll();
+        priceCache.load(rows);
+        log.info("Price cache warmed with {} symbols", rows.size());
+    }
     
+    /**
+     * Latest price from the in-memory cache; never touches the database.
+     */
     public CryptoPrice getPrice(String symbol) {
-        return cryptoPriceRepository.findBySymbol(symbol)
-                .orElseThrow(() -> new RuntimeException("Price not found for symbol: " + symbol));
+        CryptoPrice price = priceCache.get(symbol);
+        if (price == null) {
+            throw new RuntimeException("Price not found for symbol: " + symbol);
+        }
+        return price;
     }
     
     public Optional<CryptoPrice> getPriceOptional(String symbol) {
-        return cryptoPriceRepository.findBySymbol(symbol);
+        return Optional.ofNullable(priceCache.get(symbol));
     }
     
     public List<CryptoPrice> getAllPrices() {
-        return cryptoPriceRepository.findAll();
+        return new ArrayList<>(priceCache.getAll());
     }
     
-    @Transactional
     public CryptoPrice updateOrCreatePrice(String symbol, BigDecimal currentPrice,
                                           BigDecimal highPrice, BigDecimal lowPrice,
                                           BigDecimal openPrice, BigDecimal priceChange24h,
                                           BigDecimal percentChange24h, BigDecimal volume24h,
                                           BigDecimal marketCap) {
-        Optional<CryptoPrice> existing = cryptoPriceRepository.findBySymbol(symbol);
-        
-        CryptoPrice price = existing.orElse(new CryptoPrice());
-        price.setSymbol(symbol);
-        price.setCurrentPrice(currentPrice);
-        price.setHighPrice(highPrice);
-        price.setLowPrice(lowPrice);
-        price.setOpenPrice(openPrice);
-        price.setPriceChange24h(priceChange24h);
-        price.setPercentChange24h(percentChange24h);
-        price.setVolume24h(volume24h);
-        price.setMarketCap(marketCap);
-        price.setUpdatedAt(LocalDateTime.now());
-        
-        CryptoPrice saved = cryptoPriceRepository.save(price);
-        log.info("Updated price for {}: {}", symbol, currentPrice);
-        return saved;
+        CryptoPrice price = snapshot(priceCache.get(symbol), symbol, currentPrice, highPrice, lowPrice,
+                openPrice, priceChange24h, percentChange24h, volume24h, marketCap);
+        priceCache.put(price);
+        eventPublisher.publishEvent(new PriceUpdatedEvent(symbol, price.getCurrentPrice()));
+        log.debug("Updated price for {}: {}", symbol, price.getCurrentPrice());
+        return priceCache.get(symbol);
     }
     
     public CryptoPrice updatePrice(String symbol, BigDecimal currentPrice) {
-        CryptoPrice price = cryptoPriceRepository.findBySymbol(symbol)
-                .orElseThrow(() -> new RuntimeException("Price not found for symbol: " + symbol));
+        CryptoPrice price = PriceCache.copy(getPrice(symbol));
+        currentPrice = InstrumentSpec.of(symbol).roundPrice(currentPrice);
         
         BigDecimal priceChange = currentPrice.subtract(price.getOpenPrice());
         BigDecimal percentChange = priceChange.divide(price.getOpenPrice(), 4, java.math.RoundingMode.HALF_UP)
@@ -78,14 +83,114 @@ public class MarketService {
         price.setPercentChange24h(percentChange);
         price.setUpdatedAt(LocalDateTime.now());
         
-        CryptoPrice saved = cryptoPriceRepository.save(price);
+        priceCache.put(price);
+        eventPublisher.publishEvent(new PriceUpdatedEvent(symbol, currentPrice));
         log.debug("Updated price for {}: {}", symbol, currentPrice);
-        return saved;
+        return priceCache.get(symbol);
+    }
+    
+    /**
+     * Apply a batch of external quotes. Fields the feed does not carry keep
+     * their cached values; the 24h high and low are widened to the new price.
+     * The cache is swapped once for the whole batch, then one
+     * {@link PriceUpdatedEvent} is published per quote, in order.
+     */
+    public void applyPriceUpdates(Collection<PriceUpdateDTO> updates) {
+        Map<String, CryptoPrice> latest = new HashMap<>();
+        List<PriceUpdatedEvent> events = new ArrayList<>(updates.size());
+        for (PriceUpdateDTO update : updates) {
+            String symbol = update.getSymbol();
+            CryptoPrice existing = latest.containsKey(symbol) ? latest.get(symbol) : priceCache.get(symbol);
+            BigDecimal price = update.getCurrentPrice();
+            BigDecimal high = update.getHighPrice() != null ? update.getHighPrice()
+                    : existing == null ? price : existing.getHighPrice().max(price);
+            BigDecimal low = update.getLowPrice() != null ? update.getLowPrice()
+                    : existing == null ? price : existing.getLowPrice().min(price);
+            CryptoPrice snapshot = snapshot(existing, symbol, price, high, low,
+                    orElse(update.getOpenPrice(), existing == null ? price : existing.getOpenPrice()),
+                    orElse(update.getPriceChange24h(), existing == null ? BigDecimal.ZERO : existing.getPriceChange24h()),
+                    orElse(update.getPercentChange24h(), existing == null ? BigDecimal.ZERO : existing.getPercentChange24h()),
+                    orElse(update.getVolume24h(), existing == null ? BigDecimal.ZERO : existing.getVolume24h()),
+                    orElse(update.getMarketCap(), existing == null ? BigDecimal.ZERO : existing.getMarketCap()));
+            latest.put(symbol, snapshot);
+            events.add(new PriceUpdatedEvent(symbol, snapshot.getCurrentPrice()));
+        }
+        priceCache.putAll(latest.values());
+        events.forEach(eventPublisher::publishEvent);
+        log.debug("Applied {} price updates for {} symbols", events.size(), latest.size());
+    }
+    
+    private CryptoPrice snapshot(CryptoPrice existing, String symbol, BigDecimal currentPrice,
+                                 BigDecimal highPrice, BigDecimal lowPrice,
+                                 BigDecimal openPrice, BigDecimal priceChange24h,
+                                 BigDecimal percentChange24h, BigDecimal volume24h,
+                                 BigDecimal marketCap) {
+        CryptoPrice price = new CryptoPrice();
+        price.setId(existing != null ? existing.getId() : null);
+        price.setSymbol(symbol);
+        price.setCurrentPrice(InstrumentSpec.of(symbol).roundPrice(currentPrice));
+        price.setHighPrice(highPrice);
+        price.setLowPrice(lowPrice);
+        price.setOpenPrice(openPrice);
+        price.setPriceChange24h(priceChange24h);
+        price.setPercentChange24h(percentChange24h);
+        price.setVolume24h(volume24h);
+        price.setMarketCap(marketCap);
+        price.setUpdatedAt(LocalDateTime.now());
+        return price;
+    }
+    
+    private static BigDecimal orElse(BigDecimal value, BigDecimal fallback) {
+        return value != null ? value : fallback;
+    }
+    
+    /**
+     * Write the latest snapshot of every symbol updated since the last flush,
+     * so the database sees at most one write per symbol per interval however
+     * fast prices tick.
+     */
+    @Scheduled(fixedDelayString = "${nextradex.price.flush-interval-ms:1000}")
+    @Transactional
+    public void flushPrices() {
+        List<String> symbols = priceCache.drainDirty();
+        if (symbols.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, CryptoPrice> rows = new HashMap<>();
+            cryptoPriceRepository.findAllBySymbolIn(symbols).forEach(row -> rows.put(row.getSymbol(), row));
+            List<CryptoPrice> updated = new ArrayList<>(symbols.size());
+            for (String symbol : symbols) {
+                CryptoPrice snapshot = priceCache.get(symbol);
+                CryptoPrice row = rows.getOrDefault(symbol, new CryptoPrice());
+                row.setSymbol(symbol);
+                row.setCurrentPrice(snapshot.getCurrentPrice());
+                row.setHighPrice(snapshot.getHighPrice());
+                row.setLowPrice(snapshot.getLowPrice());
+                row.setOpenPrice(snapshot.getOpenPrice());
+                row.setPriceChange24h(snapshot.getPriceChange24h());
+                row.setPercentChange24h(snapshot.getPercentChange24h());
+                row.setVolume24h(snapshot.getVolume24h());
+                row.setMarketCap(snapshot.getMarketCap());
+                row.setUpdatedAt(snapshot.getUpdatedAt());
+                updated.add(row);
+            }
+            cryptoPriceRepository.saveAll(updated);
+            log.debug("Flushed {} prices to the database", updated.size());
+        } catch (RuntimeException e) {
+            priceCache.markDirty(symbols);
+            throw e;
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushPrices();
     }
     
     // Sample data initialization
     public void initializeDefaultPrices() {
-        if (!cryptoPriceRepository.existsBySymbol("BTCUSDT")) {
+        if (priceCache.get("BTCUSDT") == null) {
             updateOrCreatePrice("BTCUSDT", 
                     BigDecimal.valueOf(43250.50),
                     BigDecimal.valueOf(44000.00),
@@ -97,7 +202,7 @@ public class MarketService {
                     BigDecimal.valueOf(850_000_000_000L));
         }
         
-        if (!cryptoPriceRepository.existsBySymbol("ETHUSDT")) {
+        if (priceCache.get("ETHUSDT") == null) {
             updateOrCreatePrice("ETHUSDT",
                     BigDecimal.valueOf(2280.75),
                     BigDecimal.valueOf(2350.00),
@@ -109,7 +214,7 @@ public class MarketService {
                     BigDecimal.valueOf(273_000_000_000L));
         }
         
-        if (!cryptoPriceRepository.existsBySymbol("BNBUSDT")) {
+        if (priceCache.get("BNBUSDT") == null) {
             updateOrCreatePrice("BNBUSDT",
                     BigDecimal.valueOf(618.50),
                     BigDecimal.valueOf(630.00),
@@ -121,21 +226,4 @@ public class MarketService {
                     BigDecimal.valueOf(94_000_000_000L));
         }
     }
-    
-    /**
-     * Fetch price data from CoinMarketCap for a given symbol (e.g., BTC, ETH).
-     */
-    public String fetchCoinMarketCapPrice(String symbol) {
-        String url = COINMARKETCAP_API + "?symbol=" + symbol;
-        org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-        headers.set("X-CMC_PRO_API_KEY", coinMarketCapApiKey);
-        org.springframework.http.HttpEntity<String> entity = new org.springframework.http.HttpEntity<>(headers);
-        org.springframework.http.ResponseEntity<String> response = restTemplate.exchange(
-                url,
-                org.springframework.http.HttpMethod.GET,
-                entity,
-                String.class
-        );
-        return response.getBody();
-    }
-}
\ No newline at end of file
+}
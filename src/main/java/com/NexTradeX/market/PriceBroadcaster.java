@@ -0,0 +1,64 @@
+package com.NexTradeX.market;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes price changes on {@code /topic/prices/{symbol}} and, for clients
+ * that watch everything, as one list on {@code /topic/prices}.
+ *
+ * Updates are conflated: a price event only marks its symbol as changed, and
+ * each interval the latest cached snapshot of every changed symbol is sent
+ * once. Subscribers therefore get at most one message per symbol per interval
+ * however fast prices tick, pending state is bounded by the number of symbols,
+ * and the thread publishing prices never waits on a WebSocket send.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceBroadcaster {
+
+    private static final String PRICES_TOPIC = "/topic/prices";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MarketService marketService;
+
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+
+    @EventListener
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        changed.add(event.symbol());
+    }
+
+    @Scheduled(fixedDelayString = "${nextradex.prices.broadcast-interval-ms:250}")
+    public void broadcast() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<CryptoPrice> prices = new ArrayList<>();
+        for (Iterator<String> iterator = changed.iterator(); iterator.hasNext(); ) {
+            String symbol = iterator.next();
+            iterator.remove();
+            marketService.getPriceOptional(symbol).ifPresent(prices::add);
+        }
+        try {
+            for (CryptoPrice price : prices) {
+                messagingTemplate.convertAndSend(PRICES_TOPIC + "/" + price.getSymbol(), price);
+            }
+            messagingTemplate.convertAndSend(PRICES_TOPIC, prices);
+        } catch (RuntimeException e) {
+            // The next interval sends the then-latest snapshot anyway
+            log.warn("Price broadcast failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.NexTradeX.market;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory table of the latest price per symbol. Each entry is a detached
+ * {@link CryptoPrice} snapshot that is never modified after it is published;
+ * an update builds a new snapshot and swaps in a new table through an atomic
+ * reference, so reads are a plain volatile load and a hash lookup.
+ *
+ * Updated symbols are remembered as dirty until {@link MarketService} writes
+ * them back to the database.
+ */
+@Component
+public class PriceCache {
+
+    private final AtomicReference<Map<String, CryptoPrice>> prices = new AtomicReference<>(Map.of());
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public CryptoPrice get(String symbol) {
+        return prices.get().get(symbol);
+    }
+
+    public Collection<CryptoPrice> getAll() {
+        return prices.get().values();
+    }
+
+    /**
+     * Publish a new snapshot and mark it for the next database flush.
+     */
+    public void put(CryptoPrice price) {
+        CryptoPrice snapshot = copy(price);
+        prices.updateAndGet(current -> {
+            Map<String, CryptoPrice> next = new HashMap<>(current);
+            next.put(snapshot.getSymbol(), snapshot);
+            return Collections.unmodifiableMap(next);
+        });
+        dirty.add(snapshot.getSymbol());
+    }
+
+    /**
+     * Publish several snapshots with a single table swap.
+     */
+    public void putAll(Collection<CryptoPrice> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CryptoPrice> snapshots = batch.stream().map(PriceCache::copy).toList();
+        prices.updateAndGet(current -> {
+            Map<String, CryptoPrice> next = new HashMap<>(current);
+            snapshots.forEach(snapshot -> next.put(snapshot.getSymbol(), snapshot));
+            return Collections.unmodifiableMap(next);
+        });
+        snapshots.forEach(snapshot -> dirty.add(snapshot.getSymbol()));
+    }
+
+    /**
+     * Replace the table with rows loaded from the database; nothing is marked dirty.
+     */
+    public void load(Collection<CryptoPrice> rows) {
+        Map<String, CryptoPrice> table = new HashMap<>();
+        for (CryptoPrice row : rows) {
+            table.put(row.getSymbol(), copy(row));
+        }
+        prices.set(Collections.unmodifiableMap(table));
+    }
+
+    /**
+     * Take the symbols updated since the last call.
+     */
+    public List<String> drainDirty() {
+        List<String> symbols = new ArrayList<>();
+        for (Iterator<String> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            symbols.add(iterator.next());
+            iterator.remove();
+        }
+        return symbols;
+    }
+
+    public void markDirty(Collection<String> symbols) {
+        dirty.addAll(symbols);
+    }
+
+    static CryptoPrice copy(CryptoPrice price) {
+        return CryptoPrice.builder()
+                .id(price.getId())
+                .symbol(price.getSymbol())
+                .currentPrice(price.getCurrentPrice())
+                .highPrice(price.getHighPrice())
+                .lowPrice(price.getLowPrice())
+                .openPrice(price.getOpenPrice())
+                .priceChange24h(price.getPriceChange24h())
+                .percentChange24h(price.getPercentChange24h())
+                .volume24h(price.getVolume24h())
+                .marketCap(price.getMarketCap())
+                .updatedAt(price.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.NexTradeX.market;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodically refreshes every tracked USDT pair from CoinMarketCap in one
+ * batched call. The scheduler thread only subscribes; the response is applied
+ * on a worker thread. Cached prices keep being served while a refresh is in
+ * flight or failing (stale-while-revalidate). After a failure the next call
+ * is delayed by the server's Retry-After or an exponential backoff.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceIngestionService {
+
+    private static final String QUOTE = "USDT";
+
+    private final CoinMarketCapClient coinMarketCapClient;
+    private final MarketService marketService;
+
+    @Value("${nextradex.ingest.enabled:false}")
+    private boolean enabled;
+
+    @Value("${nextradex.ingest.interval-ms:60000}")
+    private long intervalMillis;
+
+    @Value("${nextradex.ingest.max-backoff-ms:900000}")
+    private long maxBackoffMillis;
+
+    @Value("${nextradex.ingest.stale-after-ms:300000}")
+    private long staleAfterMillis;
+
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+    private volatile long retryAt;
+    private volatile long lastSuccessAt = System.currentTimeMillis();
+    private volatile int consecutiveFailures;
+
+    @Scheduled(fixedDelayString = "${nextradex.ingest.interval-ms:60000}",
+            initialDelayString = "${nextradex.ingest.initial-delay-ms:5000}")
+    public void refresh() {
+        if (!enabled || System.currentTimeMillis() < retryAt || !inFlight.compareAndSet(false, true)) {
+            return;
+        }
+        List<String> baseSymbols = marketService.getAllPrices().stream()
+                .map(CryptoPrice::getSymbol)
+                .filter(symbol -> symbol.endsWith(QUOTE))
+                .map(symbol -> symbol.substring(0, symbol.length() - QUOTE.length()))
+                .toList();
+        if (baseSymbols.isEmpty()) {
+            inFlight.set(false);
+            return;
+        }
+        coinMarketCapClient.fetchQuotes(baseSymbols)
+                .publishOn(Schedulers.boundedElastic())
+                .doFinally(signal -> inFlight.set(false))
+                .subscribe(this::apply, this::failed);
+    }
+
+    private void apply(List<PriceUpdateDTO> updates) {
+        marketService.applyPriceUpdates(updates);
+        consecutiveFailures = 0;
+        lastSuccessAt = System.currentTimeMillis();
+        log.debug("Ingested {} CoinMarketCap quotes", updates.size());
+    }
+
+    private void failed(Throwable error) {
+        long delay;
+        if (error instanceof CoinMarketCapClient.RateLimitedException rateLimited) {
+            delay = rateLimited.getRetryAfter().toMillis();
+        } else {
+            int failures = Math.min(++consecutiveFailures, 16);
+            delay = Math.min(intervalMillis << (failures - 1), maxBackoffMillis);
+        }
+        retryAt = System.currentTimeMillis() + delay;
+
+        long staleMillis = System.currentTimeMillis() - lastSuccessAt;
+        if (staleMillis > staleAfterMillis) {
+            log.warn("Price ingestion failed ({}); serving prices {}s old, next attempt in {}s",
+                    error.getMessage(), Duration.ofMillis(staleMillis).toSeconds(), Duration.ofMillis(delay).toSeconds());
+        } else {
+            log.info("Price ingestion failed ({}); next attempt in {}s", error.getMessage(), Duration.ofMillis(delay).toSeconds());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.common.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ready-to-write response bodies for the price endpoints. Every price event
+ * bumps a version; a body is re-serialized only when it is requested and its
+ * version has moved, so polls between changes just write cached bytes. The
+ * version doubles as the ETag, prefixed with a per-boot id so a restart never
+ * validates a client's old copy.
+ */
+@Slf4j
+@Component
+public class PriceSnapshotCache {
+
+    private static final String ALL = "*";
+
+    private final MarketService marketService;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong allVersion = new AtomicLong();
+    private final Map<String, AtomicLong> symbolVersions = new ConcurrentHashMap<>();
+    private final Map<String, Payload> payloads = new ConcurrentHashMap<>();
+
+    /**
+     * @param gzip null when the body is too small to be worth compressing
+     */
+    public record Payload(long version, String tag, byte[] json, byte[] gzip) {
+    }
+
+    public PriceSnapshotCache(MarketService marketService, ObjectMapper objectMapper,
+                              @Value("${nextradex.prices.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.marketService = marketService;
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    @EventListener
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        symbolVersions.computeIfAbsent(event.symbol(), s -> new AtomicLong()).incrementAndGet();
+        allVersion.incrementAndGet();
+    }
+
+    public Payload getAllPrices() {
+        return payload(ALL, allVersion,
+                () -> new ApiResponse<>(200, "Prices retrieved", marketService.getAllPrices()));
+    }
+
+    /**
+     * @return null if the symbol has no price
+     */
+    public Payload getPrice(String symbol) {
+        if (marketService.getPriceOptional(symbol).isEmpty()) {
+            return null;
+        }
+        return payload(symbol, symbolVersions.computeIfAbsent(symbol, s -> new AtomicLong()),
+                () -> new ApiResponse<>(200, "Price retrieved", marketService.getPrice(symbol)));
+    }
+
+    private Payload payload(String key, AtomicLong version, Supplier<ApiResponse<?>> body) {
+        long current = version.get();
+        Payload cached = payloads.get(key);
+        if (cached != null && cached.version() == current) {
+            return cached;
+        }
+        // Concurrent rebuilds of the same version are harmless: the bytes are identical
+        byte[] json = objectMapper.writeValueAsBytes(body.get());
+        Payload rebuilt = new Payload(current, bootId + "-" + current, json,
+                json.length >= gzipMinBytes ? gzip(json) : null);
+        payloads.merge(key, rebuilt, (old, next) -> next.version() >= old.version() ? next : old);
+        return rebuilt;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,9 @@
+package com.NexTradeX.market;
+
+import java.math.BigDecimal;
+
+/**
+ * Published whenever a symbol's current price changes.
+ */
+public record PriceUpdatedEvent(String symbol, BigDecimal price) {
+}
@@ -0,0 +1,181 @@
+package com.NexTradeX.market;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process price feed for load tests and offline runs. One thread walks every
+ * configured symbol along a {@link GbmJumpModel} path at a fixed total tick
+ * rate and hands the ticks to {@link MarketService#applyPriceUpdates} in
+ * batches, the same path real quotes take. Turn real ingestion off when this
+ * is on.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SyntheticMarketFeed {
+
+    private static final double SECONDS_PER_YEAR = 365.0 * 24 * 3600;
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final MarketService marketService;
+
+    @Value("${nextradex.synthetic.enabled:false}")
+    private boolean enabled;
+
+    // Empty means every symbol already priced at startup
+    @Value("${nextradex.synthetic.symbols:}")
+    private List<String> configuredSymbols;
+
+    // Additional generated symbols SYN1USDT, SYN2USDT, ...
+    @Value("${nextradex.synthetic.extra-symbols:0}")
+    private int extraSymbols;
+
+    @Value("${nextradex.synthetic.initial-price:100}")
+    private double initialPrice;
+
+    @Value("${nextradex.synthetic.ticks-per-second:1000}")
+    private double ticksPerSecond;
+
+    @Value("${nextradex.synthetic.batch-size:256}")
+    private int batchSize;
+
+    @Value("${nextradex.synthetic.drift:0}")
+    private double drift;
+
+    @Value("${nextradex.synthetic.volatility:0.8}")
+    private double volatility;
+
+    @Value("${nextradex.synthetic.jump-intensity:50}")
+    private double jumpIntensity;
+
+    @Value("${nextradex.synthetic.jump-mean:0}")
+    private double jumpMean;
+
+    @Value("${nextradex.synthetic.jump-volatility:0.05}")
+    private double jumpVolatility;
+
+    // Simulated seconds per wall-clock second
+    @Value("${nextradex.synthetic.time-scale:1}")
+    private double timeScale;
+
+    @Value("${nextradex.synthetic.seed:42}")
+    private long seed;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Set<String> symbols = new LinkedHashSet<>(configuredSymbols);
+        if (symbols.isEmpty()) {
+            marketService.getAllPrices().forEach(price -> symbols.add(price.getSymbol()));
+        }
+        for (int i = 1; i <= extraSymbols; i++) {
+            symbols.add("SYN" + i + "USDT");
+        }
+        if (symbols.isEmpty()) {
+            log.warn("Synthetic market feed enabled but there are no symbols to drive");
+            return;
+        }
+
+        symbols.forEach(InstrumentSpec::register);
+        String[] names = symbols.toArray(String[]::new);
+        double[] open = new double[names.length];
+        for (int i = 0; i < names.length; i++) {
+            open[i] = marketService.getPriceOptional(names[i])
+                    .map(price -> price.getCurrentPrice().doubleValue())
+                    .orElse(initialPrice);
+        }
+        double dtYears = names.length / ticksPerSecond * timeScale / SECONDS_PER_YEAR;
+        GbmJumpModel model = new GbmJumpModel(drift, volatility, jumpIntensity, jumpMean, jumpVolatility, dtYears, seed);
+
+        running = true;
+        thread = new Thread(() -> generate(names, open, model), "synthetic-market-feed");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Synthetic market feed started: {} symbols at {} ticks/s", names.length, ticksPerSecond);
+    }
+
+    private void generate(String[] symbols, double[] open, GbmJumpModel model) {
+        double[] prices = open.clone();
+        double ticksPerNano = ticksPerSecond / TimeUnit.SECONDS.toNanos(1);
+        long start = System.nanoTime();
+        long nextReport = start + REPORT_INTERVAL_NANOS;
+        long emitted = 0;
+        long reported = 0;
+        int cursor = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            long due = (long) ((now - start) * ticksPerNano);
+            if (due - emitted > ticksPerSecond) {
+                // More than a second behind: drop the backlog instead of bursting
+                emitted = due - batchSize;
+            }
+            int batch = (int) Math.min(due - emitted, batchSize);
+            if (batch <= 0) {
+                LockSupport.parkNanos(Math.max(1_000L, (long) (1 / ticksPerNano)));
+                continue;
+            }
+
+            List<PriceUpdateDTO> updates = new ArrayList<>(batch);
+            for (int i = 0; i < batch; i++) {
+                prices[cursor] = model.next(prices[cursor]);
+                updates.add(tick(symbols[cursor], prices[cursor], open[cursor]));
+                cursor = cursor + 1 == symbols.length ? 0 : cursor + 1;
+            }
+            try {
+                marketService.applyPriceUpdates(updates);
+            } catch (RuntimeException e) {
+                log.warn("Synthetic tick batch failed: {}", e.getMessage());
+            }
+            emitted += batch;
+
+            if (now >= nextReport) {
+                log.info("Synthetic market feed: {} ticks/s", (emitted - reported) * 1_000_000_000L / REPORT_INTERVAL_NANOS);
+                reported = emitted;
+                nextReport = now + REPORT_INTERVAL_NANOS;
+            }
+        }
+    }
+
+    private static PriceUpdateDTO tick(String symbol, double price, double open) {
+        double change = price - open;
+        return PriceUpdateDTO.builder()
+                .symbol(symbol)
+                .currentPrice(BigDecimal.valueOf(price))
+                .openPrice(BigDecimal.valueOf(open))
+                .priceChange24h(BigDecimal.valueOf(change))
+                .percentChange24h(BigDecimal.valueOf(change / open * 100))
+                .build();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
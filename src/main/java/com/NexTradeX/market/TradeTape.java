@@ -0,0 +1,94 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.order.OrderSide;
+import lombok.Getter;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-capacity ring of the most recent executions of one symbol, stored in
+ * parallel primitive arrays so appending never allocates.
+ *
+ * There is a single writer, the symbol's sequencer shard thread. Readers never
+ * block and never retry: every slot carries the number of the trade it holds,
+ * checked before and after copying it, and a reader walking back from the
+ * newest trade simply stops at the first slot the writer has lapped.
+ */
+public class TradeTape {
+
+    private static final byte BUY = 0;
+    private static final byte SELL = 1;
+
+    @Getter
+    private final String symbol;
+    private final InstrumentSpec spec;
+    private final int mask;
+
+    private final long[] priceTicks;
+    private final long[] quantityLots;
+    private final long[] times;
+    private final byte[] sides;
+    // Trade number + 1 held by each slot, 0 while empty or being rewritten
+    private final AtomicLongArray versions;
+    private volatile long count;
+
+    public TradeTape(String symbol, int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Trade tape capacity must be a power of two");
+        }
+        this.symbol = symbol;
+        this.spec = InstrumentSpec.of(symbol);
+        this.mask = capacity - 1;
+        this.priceTicks = new long[capacity];
+        this.quantityLots = new long[capacity];
+        this.times = new long[capacity];
+        this.sides = new byte[capacity];
+        this.versions = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * @return the trade's sequence number
+     */
+    public long append(OrderSide takerSide, long price, long lots, long time) {
+        long sequence = count;
+        int index = (int) sequence & mask;
+        versions.set(index, 0);
+        VarHandle.storeStoreFence();
+        priceTicks[index] = price;
+        quantityLots[index] = lots;
+        times[index] = time;
+        sides[index] = takerSide == OrderSide.BUY ? BUY : SELL;
+        versions.setRelease(index, sequence + 1);
+        count = sequence + 1;
+        return sequence;
+    }
+
+    /**
+     * Up to {@code limit} trades, newest first.
+     */
+    public List<TradeTick> recent(int limit) {
+        long end = count;
+        long start = Math.max(0, end - Math.min(limit, mask + 1));
+        List<TradeTick> trades = new ArrayList<>((int) (end - start));
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            int index = (int) sequence & mask;
+            if (versions.getAcquire(index) != sequence + 1) {
+                break;
+            }
+            long price = priceTicks[index];
+            long lots = quantityLots[index];
+            long time = times[index];
+            byte side = sides[index];
+            VarHandle.loadLoadFence();
+            if (versions.get(index) != sequence + 1) {
+                break; // overwritten while copying, and so is everything older
+            }
+            trades.add(new TradeTick(sequence, symbol, spec.fromTicks(price), spec.fromLots(lots),
+                    side == BUY ? OrderSide.BUY.name() : OrderSide.SELL.name(), time));
+        }
+        return trades;
+    }
+}
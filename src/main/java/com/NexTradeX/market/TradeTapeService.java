@@ -0,0 +1,74 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.order.OrderSide;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Public "last trades" view per symbol, fed by the execution path and
+ * streamed on {@code /topic/trades/{symbol}}. Every trade also feeds the
+ * symbol's candles. Served from memory, so it never
+ * scans spot_trades.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TradeTapeService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final CandleService candleService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${nextradex.trades.tape-size:1024}")
+    private int tapeSize;
+
+    private final Map<String, TradeTape> tapes = new ConcurrentHashMap<>();
+
+    /**
+     * Record an execution. Must run on the symbol's sequencer shard thread.
+     * Inside a transaction the trade is only published once it commits (still on
+     * the committing shard thread), so a rolled-back execution never reaches the
+     * tape, the candles or any subscriber.
+     */
+    public void record(String symbol, OrderSide takerSide, BigDecimal price, BigDecimal quantity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(symbol, takerSide, price, quantity);
+                }
+            });
+        } else {
+            publish(symbol, takerSide, price, quantity);
+        }
+    }
+
+    public List<TradeTick> getRecentTrades(String symbol, int limit) {
+        TradeTape tape = tapes.get(symbol);
+        return tape == null ? List.of() : tape.recent(limit);
+    }
+
+    private void publish(String symbol, OrderSide takerSide, BigDecimal price, BigDecimal quantity) {
+        TradeTape tape = tapes.computeIfAbsent(symbol, s -> new TradeTape(s, tapeSize));
+        InstrumentSpec spec = InstrumentSpec.of(symbol);
+        long time = System.currentTimeMillis();
+        long priceTicks = spec.toTicks(price);
+        long lots = spec.toLots(quantity);
+        long id = tape.append(takerSide, priceTicks, lots, time);
+        candleService.onTrade(symbol, priceTicks, lots, time);
+        TradeTick tick = new TradeTick(id, symbol, price, quantity, takerSide.name(), time);
+        messagingTemplate.convertAndSend("/topic/trades/" + symbol, tick);
+        eventPublisher.publishEvent(tick);
+    }
+}
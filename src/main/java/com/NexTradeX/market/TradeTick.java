@@ -0,0 +1,10 @@
+package com.NexTradeX.market;
+
+import java.math.BigDecimal;
+
+/**
+ * One public execution on the trade tape. {@code id} is the trade's sequence
+ * number within its symbol and {@code side} is the taker's side.
+ */
+public record TradeTick(long id, String symbol, BigDecimal price, BigDecimal quantity, String side, long time) {
+}
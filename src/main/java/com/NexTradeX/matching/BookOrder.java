@@ -0,0 +1,89 @@
+package com.NexTradeX.matching;
+
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.order.OrderSide;
+import com.NexTradeX.order.TimeInForce;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * A resting (or incoming) limit order as seen by the in-memory order book.
+ * Price and quantity are held as ticks and lots of the symbol's
+ * {@link InstrumentSpec}, so matching is plain long arithmetic.
+ * Price levels link their orders through {@code prev}/{@code next} so a cancel
+ * can unlink an order in O(1) without scanning the level.
+ */
+@Getter
+public class BookOrder {
+
+    static final long NO_PRICE = Long.MIN_VALUE;
+
+    private final Long orderId;
+    private final Long userId;
+    private final String symbol;
+    private final OrderSide side;
+    private final InstrumentSpec spec;
+    private final long priceTicks; // NO_PRICE for market orders
+    private final long quantityLots;
+    private final TimeInForce timeInForce;
+    private long remainingLots;
+    private long sequence;
+
+    PriceLevel level;
+    BookOrder prev;
+    BookOrder next;
+
+    public BookOrder(Long orderId, Long userId, String symbol, OrderSide side,
+                     BigDecimal price, BigDecimal quantity) {
+        this(orderId, userId, symbol, side, price, quantity, TimeInForce.GTC);
+    }
+
+    public BookOrder(Long orderId, Long userId, String symbol, OrderSide side,
+                     BigDecimal price, BigDecimal quantity, TimeInForce timeInForce) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.symbol = symbol;
+        this.side = side;
+        this.spec = InstrumentSpec.of(symbol);
+        this.priceTicks = price == null ? NO_PRICE : spec.toTicks(price);
+        this.quantityLots = spec.toLots(quantity);
+        this.timeInForce = timeInForce;
+        this.remainingLots = quantityLots;
+    }
+
+    public boolean isMarket() {
+        return priceTicks == NO_PRICE;
+    }
+
+    public boolean isFilled() {
+        return remainingLots == 0;
+    }
+
+    public boolean isResting() {
+        return level != null;
+    }
+
+    /**
+     * @return the limit price, or null for market orders
+     */
+    public BigDecimal getPrice() {
+        return isMarket() ? null : spec.fromTicks(priceTicks);
+    }
+
+    public BigDecimal getQuantity() {
+        return spec.fromLots(quantityLots);
+    }
+
+    public BigDecimal getRemainingQuantity() {
+        return spec.fromLots(remainingLots);
+    }
+
+    void reduce(long filledLots) {
+        remainingLots -= filledLots;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+}
@@ -0,0 +1,19 @@
+package com.NexTradeX.matching;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Level-2 view of a book: aggregated quantity per price, each level encoded as
+ * a {@code [price, quantity]} pair. A delta only carries the levels that
+ * changed, with quantity zero meaning the level is gone; a snapshot carries
+ * the top of both sides. Deltas are numbered consecutively per symbol and a
+ * snapshot reports the sequence of the last delta it already includes.
+ */
+public record DepthUpdate(String symbol, long sequence, boolean snapshot,
+                          List<BigDecimal[]> bids, List<BigDecimal[]> asks) {
+
+    public static DepthUpdate empty(String symbol) {
+        return new DepthUpdate(symbol, 0, true, List.of(), List.of());
+    }
+}
@@ -0,0 +1,24 @@
+package com.NexTradeX.matching;
+
+import com.NexTradeX.order.OrderSide;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Fill {
+    private String symbol;
+    private Long makerOrderId;
+    private Long makerUserId;
+    private Long takerOrderId;
+    private Long takerUserId;
+    private OrderSide takerSide;
+    private BigDecimal price;
+    private BigDecimal quantity;
+}
@@ -0,0 +1,199 @@
+package com.NexTradeX.matching;
+
+import com.NexTradeX.market.InstrumentSpec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one in-memory {@link OrderBook} and {@link StopBook} per symbol. Matching
+ * never touches the database; callers persist the resulting {@link Fill}s.
+ *
+ * Books are not locked: each one is only mutated from its symbol's
+ * {@link com.NexTradeX.engine.OrderSequencer} shard thread.
+ *
+ * After every command the book's changed level totals are published as one
+ * {@link DepthUpdate} delta, still on the shard thread.
+ *
+ * Commands issued inside a transaction are undone, newest first, if that
+ * transaction rolls back, so the books never keep fills or cancels the
+ * database does not have.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchingEngine {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, OrderBook> books = new ConcurrentHashMap<>();
+    private final Map<String, StopBook> stopBooks = new ConcurrentHashMap<>();
+
+    // Off while the books are rebuilt on startup, so history is not broadcast as live depth
+    private volatile boolean depthPublishing = true;
+
+    /**
+     * Match the order against the book and rest any remaining limit quantity its
+     * time in force allows. Orders that fail {@link #admits} are left untouched.
+     */
+    public List<Fill> submit(BookOrder order) {
+        if (!admits(order)) {
+            log.debug("Order {} ({}) not admitted on {}", order.getOrderId(), order.getTimeInForce(), order.getSymbol());
+            return List.of();
+        }
+        OrderBook book = getBook(order.getSymbol());
+        List<BookOrder> makers = new ArrayList<>();
+        List<Fill> fills = book.match(order, makers);
+        if (!order.isFilled() && !order.isMarket() && order.getTimeInForce().rests()) {
+            book.add(order);
+        }
+        publishDepth(book);
+        onRollback(() -> {
+            book.cancel(order.getOrderId());
+            book.unmatch(makers, fills);
+            publishDepth(book);
+        });
+        log.debug("Order {} matched {} fills on {}, remaining {}",
+                order.getOrderId(), fills.size(), order.getSymbol(), order.getRemainingLots());
+        return fills;
+    }
+
+    /**
+     * Time-in-force pre-check that never mutates the book: post-only orders must
+     * not cross, IOC orders must cross and FOK orders must be fillable in full.
+     */
+    public boolean admits(BookOrder order) {
+        OrderBook book = books.get(order.getSymbol());
+        return switch (order.getTimeInForce()) {
+            case POST_ONLY -> book == null || !book.crossesBest(order);
+            case IOC -> book != null && book.crossesBest(order);
+            case FOK -> book != null && book.canFill(order);
+            default -> true;
+        };
+    }
+
+    public boolean cancel(String symbol, Long orderId) {
+        OrderBook book = books.get(symbol);
+        BookOrder cancelled = book == null ? null : book.cancel(orderId);
+        if (cancelled != null) {
+            publishDepth(book);
+            onRollback(() -> {
+                book.restore(cancelled);
+                publishDepth(book);
+            });
+            return true;
+        }
+        StopBook stopBook = stopBooks.get(symbol);
+        StopOrder cancelledStop = stopBook == null ? null : stopBook.cancel(orderId);
+        if (cancelledStop != null) {
+            onRollback(() -> stopBook.add(cancelledStop));
+            return true;
+        }
+        return false;
+    }
+    
+    public void addStop(StopOrder order) {
+        StopBook stopBook = stopBooks.computeIfAbsent(supported(order.getSymbol()), StopBook::new);
+        stopBook.add(order);
+        onRollback(() -> stopBook.cancel(order.getOrderId()));
+    }
+    
+    /**
+     * Evaluate a price tick, in ticks of the symbol's spec, against the
+     * symbol's stops and remove the ones it triggered.
+     */
+    public List<StopOrder> triggerStops(String symbol, long priceTicks) {
+        StopBook stopBook = stopBooks.get(symbol);
+        return stopBook == null ? List.of() : stopBook.onPrice(priceTicks);
+    }
+
+    /**
+     * Whether the order rests in the symbol's book or waits in its stop book.
+     */
+    public boolean contains(String symbol, Long orderId) {
+        OrderBook book = books.get(symbol);
+        StopBook stopBook = stopBooks.get(symbol);
+        return (book != null && book.getOrder(orderId) != null)
+                || (stopBook != null && stopBook.getOrder(orderId) != null);
+    }
+
+    public OrderBook getBook(String symbol) {
+        return books.computeIfAbsent(supported(symbol), OrderBook::new);
+    }
+
+    public Collection<OrderBook> getBooks() {
+        return books.values();
+    }
+
+    public void setDepthPublishing(boolean depthPublishing) {
+        this.depthPublishing = depthPublishing;
+    }
+
+    /**
+     * Books are only ever created for listed symbols, so arbitrary client
+     * input cannot grow the book maps.
+     */
+    private static String supported(String symbol) {
+        if (!InstrumentSpec.isSupported(symbol)) {
+            throw new IllegalArgumentException("Unsupported symbol: " + symbol);
+        }
+        return symbol;
+    }
+
+    /**
+     * Remember how to undo a book mutation should the current transaction roll
+     * back. All undos of one transaction share a single synchronization and run
+     * in reverse order on the same shard thread that made the mutations.
+     */
+    private void onRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Deque<Runnable> undos = (Deque<Runnable>) TransactionSynchronizationManager.getResource(this);
+        if (undos == null) {
+            Deque<Runnable> pending = new ArrayDeque<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(MatchingEngine.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(MatchingEngine.this, pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MatchingEngine.this);
+                    if (status == STATUS_ROLLED_BACK) {
+                        log.warn("Transaction rolled back, undoing {} book changes", pending.size());
+                        pending.forEach(Runnable::run);
+                    }
+                }
+            });
+            undos = pending;
+        }
+        undos.push(undo);
+    }
+
+    private void publishDepth(OrderBook book) {
+        DepthUpdate delta = book.drainDepthChanges();
+        if (delta != null && depthPublishing) {
+            eventPublisher.publishEvent(delta);
+        }
+    }
+}
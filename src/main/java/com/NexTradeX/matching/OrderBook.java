@@ -0,0 +1,277 @@
+package com.NexTradeX.matching;
+
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.order.OrderSide;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Price-time priority limit order book for a single symbol. Levels are keyed
+ * by price in ticks of the symbol's {@link InstrumentSpec}; BigDecimal only
+ * appears on the {@link Fill}s handed back to the caller.
+ * Not thread-safe: callers must serialize access (see {@link MatchingEngine}).
+ */
+public class OrderBook {
+
+    @Getter
+    private final String symbol;
+    @Getter
+    private final InstrumentSpec spec;
+
+    private final NavigableMap<Long, PriceLevel> bids = new TreeMap<>(Collections.reverseOrder());
+    private final NavigableMap<Long, PriceLevel> asks = new TreeMap<>();
+    private final Map<Long, BookOrder> ordersById = new HashMap<>();
+    private long arrivalSequence;
+
+    // Level totals changed since the last drain, price ticks -> lots (0 = level removed)
+    private final Map<Long, Long> changedBids = new HashMap<>();
+    private final Map<Long, Long> changedAsks = new HashMap<>();
+    @Getter
+    private long depthSequence;
+
+    public OrderBook(String symbol) {
+        this.symbol = symbol;
+        this.spec = InstrumentSpec.of(symbol);
+    }
+
+    /**
+     * Match an incoming order against the opposite side of the book. The incoming
+     * order's remaining quantity is reduced by everything it traded; it is never
+     * added to the book here, see {@link #add(BookOrder)}.
+     */
+    public List<Fill> match(BookOrder taker) {
+        return match(taker, null);
+    }
+
+    /**
+     * {@link #match(BookOrder)} that also collects the maker of each fill, in
+     * fill order, so the match can later be reverted with {@link #unmatch}.
+     */
+    List<Fill> match(BookOrder taker, List<BookOrder> makers) {
+        NavigableMap<Long, PriceLevel> opposite = taker.getSide() == OrderSide.BUY ? asks : bids;
+        List<Fill> fills = new ArrayList<>();
+
+        while (!taker.isFilled() && !opposite.isEmpty()) {
+            PriceLevel level = opposite.firstEntry().getValue();
+            if (!crosses(taker, level.getPrice())) {
+                break;
+            }
+
+            BookOrder maker = level.head;
+            while (maker != null && !taker.isFilled()) {
+                BookOrder nextMaker = maker.next;
+                long quantity = Math.min(taker.getRemainingLots(), maker.getRemainingLots());
+
+                level.reduce(maker, quantity);
+                taker.reduce(quantity);
+                fills.add(Fill.builder()
+                        .symbol(symbol)
+                        .makerOrderId(maker.getOrderId())
+                        .makerUserId(maker.getUserId())
+                        .takerOrderId(taker.getOrderId())
+                        .takerUserId(taker.getUserId())
+                        .takerSide(taker.getSide())
+                        .price(spec.fromTicks(level.getPrice()))
+                        .quantity(spec.fromLots(quantity))
+                        .build());
+                if (makers != null) {
+                    makers.add(maker);
+                }
+
+                if (maker.isFilled()) {
+                    level.remove(maker);
+                    ordersById.remove(maker.getOrderId());
+                }
+                maker = nextMaker;
+            }
+            levelChanged(opposite == asks ? OrderSide.SELL : OrderSide.BUY, level);
+
+            if (level.isEmpty()) {
+                opposite.remove(level.getPrice());
+            }
+        }
+        return fills;
+    }
+
+    /**
+     * Rest an order at the back of its price level.
+     */
+    public void add(BookOrder order) {
+        if (order.isMarket()) {
+            throw new IllegalArgumentException("Market orders cannot rest in the book");
+        }
+        NavigableMap<Long, PriceLevel> side = order.getSide() == OrderSide.BUY ? bids : asks;
+        order.setSequence(++arrivalSequence);
+        PriceLevel level = side.computeIfAbsent(order.getPriceTicks(), PriceLevel::new);
+        level.append(order);
+        ordersById.put(order.getOrderId(), order);
+        levelChanged(order.getSide(), level);
+    }
+
+    public BookOrder cancel(Long orderId) {
+        BookOrder order = ordersById.remove(orderId);
+        if (order == null) {
+            return null;
+        }
+        PriceLevel level = order.level;
+        level.remove(order);
+        if (level.isEmpty()) {
+            (order.getSide() == OrderSide.BUY ? bids : asks).remove(level.getPrice());
+        }
+        levelChanged(order.getSide(), level);
+        return order;
+    }
+
+    /**
+     * Revert a match: every maker gets back the quantity of its fill, and makers
+     * the match used up are re-inserted by arrival sequence, so price-time
+     * priority is the same as before the match. {@code makers} and
+     * {@code fills} are as collected by {@link #match(BookOrder, List)}.
+     */
+    void unmatch(List<BookOrder> makers, List<Fill> fills) {
+        for (int i = makers.size() - 1; i >= 0; i--) {
+            BookOrder maker = makers.get(i);
+            long quantity = spec.toLots(fills.get(i).getQuantity());
+            if (maker.isResting()) {
+                maker.level.restore(maker, quantity);
+                levelChanged(maker.getSide(), maker.level);
+            } else {
+                maker.reduce(-quantity);
+                restore(maker);
+            }
+        }
+    }
+
+    /**
+     * Put a cancelled or used-up order back at its original place in the queue.
+     */
+    void restore(BookOrder order) {
+        NavigableMap<Long, PriceLevel> side = order.getSide() == OrderSide.BUY ? bids : asks;
+        PriceLevel level = side.computeIfAbsent(order.getPriceTicks(), PriceLevel::new);
+        level.insertBySequence(order);
+        ordersById.put(order.getOrderId(), order);
+        levelChanged(order.getSide(), level);
+    }
+
+    public BookOrder getOrder(Long orderId) {
+        return ordersById.get(orderId);
+    }
+
+    /**
+     * Visit resting orders bids-first, each side best price first and FIFO within
+     * a level, so re-adding them in this order restores time priority.
+     */
+    public void forEachOrder(Consumer<BookOrder> visitor) {
+        for (PriceLevel level : bids.values()) {
+            for (BookOrder order = level.head; order != null; order = order.next) {
+                visitor.accept(order);
+            }
+        }
+        for (PriceLevel level : asks.values()) {
+            for (BookOrder order = level.head; order != null; order = order.next) {
+                visitor.accept(order);
+            }
+        }
+    }
+
+    /**
+     * Hand out the levels changed since the previous call as one numbered delta,
+     * or null if nothing changed. Several changes to one level collapse into its
+     * latest total.
+     */
+    public DepthUpdate drainDepthChanges() {
+        if (changedBids.isEmpty() && changedAsks.isEmpty()) {
+            return null;
+        }
+        DepthUpdate delta = new DepthUpdate(symbol, ++depthSequence, false,
+                toLevels(changedBids), toLevels(changedAsks));
+        changedBids.clear();
+        changedAsks.clear();
+        return delta;
+    }
+
+    /**
+     * Top {@code maxLevels} levels per side, best first. Reads the level totals
+     * kept up to date by every add, cancel and fill; no orders are visited.
+     */
+    public DepthUpdate depthSnapshot(int maxLevels) {
+        return new DepthUpdate(symbol, depthSequence, true, topLevels(bids, maxLevels), topLevels(asks, maxLevels));
+    }
+
+    /**
+     * Whether the order would trade against the best opposite level right now.
+     */
+    public boolean crossesBest(BookOrder order) {
+        NavigableMap<Long, PriceLevel> opposite = order.getSide() == OrderSide.BUY ? asks : bids;
+        return !opposite.isEmpty() && crosses(order, opposite.firstKey());
+    }
+
+    /**
+     * Whether the order could be filled completely right now. Only sums level
+     * totals within its limit price; the book is not modified.
+     */
+    public boolean canFill(BookOrder order) {
+        NavigableMap<Long, PriceLevel> opposite = order.getSide() == OrderSide.BUY ? asks : bids;
+        long available = 0;
+        for (PriceLevel level : opposite.values()) {
+            if (!crosses(order, level.getPrice())) {
+                break;
+            }
+            available += level.getTotalQuantity();
+            if (available >= order.getRemainingLots()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public BigDecimal getBestBid() {
+        return bids.isEmpty() ? null : spec.fromTicks(bids.firstKey());
+    }
+
+    public BigDecimal getBestAsk() {
+        return asks.isEmpty() ? null : spec.fromTicks(asks.firstKey());
+    }
+
+    public int getOrderCount() {
+        return ordersById.size();
+    }
+
+    private void levelChanged(OrderSide side, PriceLevel level) {
+        (side == OrderSide.BUY ? changedBids : changedAsks).put(level.getPrice(), level.getTotalQuantity());
+    }
+
+    private List<BigDecimal[]> toLevels(Map<Long, Long> changes) {
+        List<BigDecimal[]> levels = new ArrayList<>(changes.size());
+        changes.forEach((price, quantity) ->
+                levels.add(new BigDecimal[]{spec.fromTicks(price), spec.fromLots(quantity)}));
+        return levels;
+    }
+
+    private List<BigDecimal[]> topLevels(NavigableMap<Long, PriceLevel> side, int maxLevels) {
+        List<BigDecimal[]> levels = new ArrayList<>(Math.min(side.size(), maxLevels));
+        for (PriceLevel level : side.values()) {
+            if (levels.size() == maxLevels) {
+                break;
+            }
+            levels.add(new BigDecimal[]{spec.fromTicks(level.getPrice()), spec.fromLots(level.getTotalQuantity())});
+        }
+        return levels;
+    }
+
+    private boolean crosses(BookOrder taker, long levelPrice) {
+        if (taker.isMarket()) {
+            return true;
+        }
+        return taker.getSide() == OrderSide.BUY ? taker.getPriceTicks() >= levelPrice : taker.getPriceTicks() <= levelPrice;
+    }
+}
@@ -0,0 +1,94 @@
+package com.NexTradeX.matching;
+
+import lombok.Getter;
+
+/**
+ * FIFO queue of orders resting at a single price, kept as an intrusive doubly
+ * linked list so that both matching (head) and cancels (anywhere) are O(1).
+ * Price and total quantity are in ticks and lots.
+ */
+@Getter
+public class PriceLevel {
+
+    private final long price;
+    private long totalQuantity;
+    private int orderCount;
+
+    BookOrder head;
+    BookOrder tail;
+
+    PriceLevel(long price) {
+        this.price = price;
+    }
+
+    boolean isEmpty() {
+        return head == null;
+    }
+
+    void append(BookOrder order) {
+        order.level = this;
+        order.prev = tail;
+        order.next = null;
+        if (tail == null) {
+            head = order;
+        } else {
+            tail.next = order;
+        }
+        tail = order;
+        orderCount++;
+        totalQuantity += order.getRemainingLots();
+    }
+
+    /**
+     * Put an order back in front of the first order that arrived after it.
+     */
+    void insertBySequence(BookOrder order) {
+        BookOrder after = head;
+        while (after != null && after.getSequence() < order.getSequence()) {
+            after = after.next;
+        }
+        if (after == null) {
+            append(order);
+            return;
+        }
+        order.level = this;
+        order.next = after;
+        order.prev = after.prev;
+        if (after.prev == null) {
+            head = order;
+        } else {
+            after.prev.next = order;
+        }
+        after.prev = order;
+        orderCount++;
+        totalQuantity += order.getRemainingLots();
+    }
+
+    void remove(BookOrder order) {
+        if (order.prev == null) {
+            head = order.next;
+        } else {
+            order.prev.next = order.next;
+        }
+        if (order.next == null) {
+            tail = order.prev;
+        } else {
+            order.next.prev = order.prev;
+        }
+        totalQuantity -= order.getRemainingLots();
+        orderCount--;
+        order.level = null;
+        order.prev = null;
+        order.next = null;
+    }
+
+    void reduce(BookOrder order, long filled) {
+        order.reduce(filled);
+        totalQuantity -= filled;
+    }
+
+    void restore(BookOrder order, long filled) {
+        order.reduce(-filled);
+        totalQuantity += filled;
+    }
+}
@@ -0,0 +1,134 @@
+package com.NexTradeX.matching;
+
+import com.NexTradeX.order.OrderSide;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Untriggered stop orders for a single symbol, indexed by trigger price in
+ * ticks so a tick only visits the orders it fires, with plain long comparisons. Buy stops fire when the price rises to
+ * their trigger and sell stops when it falls to it, so evaluating a tick is one
+ * head or tail range per side: O(log n + triggered).
+ *
+ * Trailing stops are also indexed by anchor, so a tick only re-anchors the
+ * trailing stops whose peak (sell) or trough (buy) it moved past.
+ * Not thread-safe: confined to the symbol's sequencer shard like {@link OrderBook}.
+ */
+public class StopBook {
+
+    @Getter
+    private final String symbol;
+
+    private final NavigableMap<Long, Map<Long, StopOrder>> buyTriggers = new TreeMap<>();
+    private final NavigableMap<Long, Map<Long, StopOrder>> sellTriggers = new TreeMap<>();
+    private final NavigableMap<Long, Map<Long, StopOrder>> buyTrailingAnchors = new TreeMap<>();
+    private final NavigableMap<Long, Map<Long, StopOrder>> sellTrailingAnchors = new TreeMap<>();
+    private final Map<Long, StopOrder> ordersById = new HashMap<>();
+
+    public StopBook(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public void add(StopOrder order) {
+        index(triggers(order.getSide()), order.getTriggerTicks(), order);
+        if (order.isTrailing()) {
+            index(anchors(order.getSide()), order.getAnchorTicks(), order);
+        }
+        ordersById.put(order.getOrderId(), order);
+    }
+
+    public StopOrder cancel(Long orderId) {
+        StopOrder order = ordersById.remove(orderId);
+        if (order == null) {
+            return null;
+        }
+        unindex(triggers(order.getSide()), order.getTriggerTicks(), order);
+        if (order.isTrailing()) {
+            unindex(anchors(order.getSide()), order.getAnchorTicks(), order);
+        }
+        return order;
+    }
+
+    /**
+     * Apply a price tick: move trailing anchors the price passed, then remove and
+     * return every stop whose trigger was reached, in trigger-price order.
+     */
+    public List<StopOrder> onPrice(long priceTicks) {
+        reanchor(sellTrailingAnchors.headMap(priceTicks, false), priceTicks);
+        reanchor(buyTrailingAnchors.tailMap(priceTicks, false), priceTicks);
+
+        List<StopOrder> triggered = new ArrayList<>();
+        drain(buyTriggers.headMap(priceTicks, true), triggered);
+        drain(sellTriggers.tailMap(priceTicks, true), triggered);
+        return triggered;
+    }
+
+    public StopOrder getOrder(Long orderId) {
+        return ordersById.get(orderId);
+    }
+
+    public int getOrderCount() {
+        return ordersById.size();
+    }
+
+    private void reanchor(NavigableMap<Long, Map<Long, StopOrder>> passed, long priceTicks) {
+        if (passed.isEmpty()) {
+            return;
+        }
+        List<Map<Long, StopOrder>> buckets = new ArrayList<>(passed.values());
+        passed.clear();
+        for (Map<Long, StopOrder> bucket : buckets) {
+            for (StopOrder order : bucket.values()) {
+                unindex(triggers(order.getSide()), order.getTriggerTicks(), order);
+                order.reanchor(priceTicks);
+                index(triggers(order.getSide()), order.getTriggerTicks(), order);
+                index(anchors(order.getSide()), priceTicks, order);
+            }
+        }
+    }
+
+    private void drain(NavigableMap<Long, Map<Long, StopOrder>> reached, List<StopOrder> triggered) {
+        if (reached.isEmpty()) {
+            return;
+        }
+        for (Map<Long, StopOrder> bucket : reached.values()) {
+            for (StopOrder order : bucket.values()) {
+                ordersById.remove(order.getOrderId());
+                if (order.isTrailing()) {
+                    unindex(anchors(order.getSide()), order.getAnchorTicks(), order);
+                }
+                triggered.add(order);
+            }
+        }
+        reached.clear();
+    }
+
+    private NavigableMap<Long, Map<Long, StopOrder>> triggers(OrderSide side) {
+        return side == OrderSide.BUY ? buyTriggers : sellTriggers;
+    }
+
+    private NavigableMap<Long, Map<Long, StopOrder>> anchors(OrderSide side) {
+        return side == OrderSide.BUY ? buyTrailingAnchors : sellTrailingAnchors;
+    }
+
+    private static void index(NavigableMap<Long, Map<Long, StopOrder>> index, long key, StopOrder order) {
+        index.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(order.getOrderId(), order);
+    }
+
+    private static void unindex(NavigableMap<Long, Map<Long, StopOrder>> index, long key, StopOrder order) {
+        Map<Long, StopOrder> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(order.getOrderId());
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
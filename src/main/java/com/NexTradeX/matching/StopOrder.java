@@ -0,0 +1,82 @@
+package com.NexTradeX.matching;
+
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.order.OrderSide;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * An untriggered stop as seen by the {@link StopBook}. Plain stops have a fixed
+ * trigger; trailing stops derive theirs from {@code anchor}, the best price seen
+ * since placement, and the trailing delta. Prices are held as ticks of the
+ * symbol's {@link InstrumentSpec}, like {@link BookOrder}.
+ */
+@Getter
+public class StopOrder {
+
+    static final long NO_DELTA = 0;
+
+    private final Long orderId;
+    private final Long userId;
+    private final String symbol;
+    private final OrderSide side;
+    private final InstrumentSpec spec;
+    private final long trailingDeltaTicks; // NO_DELTA for plain stops
+    private long triggerTicks;
+    private long anchorTicks;
+
+    private StopOrder(Long orderId, Long userId, String symbol, OrderSide side,
+                      long triggerTicks, long trailingDeltaTicks) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.symbol = symbol;
+        this.side = side;
+        this.spec = InstrumentSpec.of(symbol);
+        this.triggerTicks = triggerTicks;
+        this.trailingDeltaTicks = trailingDeltaTicks;
+    }
+
+    public static StopOrder stop(Long orderId, Long userId, String symbol, OrderSide side, BigDecimal stopPrice) {
+        return new StopOrder(orderId, userId, symbol, side, InstrumentSpec.of(symbol).toTicks(stopPrice), NO_DELTA);
+    }
+
+    /**
+     * A sell trailing stop follows the price up and fires {@code trailingDelta}
+     * below the peak; a buy trailing stop follows it down and fires above the trough.
+     */
+    public static StopOrder trailing(Long orderId, Long userId, String symbol, OrderSide side,
+                                     BigDecimal trailingDelta, BigDecimal marketPrice) {
+        InstrumentSpec spec = InstrumentSpec.of(symbol);
+        StopOrder order = new StopOrder(orderId, userId, symbol, side, 0, spec.toTicks(trailingDelta));
+        order.reanchor(spec.toTicks(spec.roundPrice(marketPrice)));
+        return order;
+    }
+
+    public boolean isTrailing() {
+        return trailingDeltaTicks != NO_DELTA;
+    }
+
+    public BigDecimal getTriggerPrice() {
+        return spec.fromTicks(triggerTicks);
+    }
+
+    /**
+     * @return the best price seen since placement, or null for plain stops
+     */
+    public BigDecimal getAnchor() {
+        return isTrailing() ? spec.fromTicks(anchorTicks) : null;
+    }
+
+    /**
+     * @return the trailing delta, or null for plain stops
+     */
+    public BigDecimal getTrailingDelta() {
+        return isTrailing() ? spec.fromTicks(trailingDeltaTicks) : null;
+    }
+
+    void reanchor(long priceTicks) {
+        anchorTicks = priceTicks;
+        triggerTicks = side == OrderSide.SELL ? priceTicks - trailingDeltaTicks : priceTicks + trailingDeltaTicks;
+    }
+}
@@ -0,0 +1,121 @@
+package com.NexTradeX.order;
+
+import com.NexTradeX.user.User;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a terminal {@link Order}, moved to orders_archive by
+ * {@link OrderArchiver}. Same columns as orders, but never written after the move.
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_user_created", columnList = "user_id,created_at,id")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedOrder {
+    
+    @Id
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Column(nullable = false)
+    private String symbol;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderSide side;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderType orderType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TimeInForce timeInForce;
+    
+    private LocalDateTime expireAt;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TradeType tradeType;
+    
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal quantity;
+    
+    @Column(precision = 19, scale = 8)
+    private BigDecimal price;
+    
+    @Column(precision = 19, scale = 8)
+    private BigDecimal stopPrice;
+    
+    @Column(precision = 19, scale = 8)
+    private BigDecimal trailingDelta;
+    
+    @Column(length = 64)
+    private String clientOrderId;
+    
+    @Column(precision = 19, scale = 8)
+    private BigDecimal filledQuantity;
+    
+    @Column(precision = 19, scale = 8)
+    private BigDecimal averagePrice;
+    
+    @Column(precision = 19, scale = 8)
+    private BigDecimal commission;
+    
+    @Column(precision = 19, scale = 2)
+    private BigDecimal leverage;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    private LocalDateTime filledAt;
+    
+    private String remarks;
+    
+    /**
+     * Read-only {@link Order} view for history listings; never persist it.
+     */
+    public Order toOrder() {
+        return Order.builder()
+                .id(id)
+                .user(user)
+                .symbol(symbol)
+                .side(side)
+                .orderType(orderType)
+                .status(status)
+                .timeInForce(timeInForce)
+                .expireAt(expireAt)
+                .tradeType(tradeType)
+                .quantity(quantity)
+                .price(price)
+                .stopPrice(stopPrice)
+                .trailingDelta(trailingDelta)
+                .clientOrderId(clientOrderId)
+                .filledQuantity(filledQuantity)
+                .averagePrice(averagePrice)
+                .commission(commission)
+                .leverage(leverage)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .filledAt(filledAt)
+                .remarks(remarks)
+                .build();
+    }
+}
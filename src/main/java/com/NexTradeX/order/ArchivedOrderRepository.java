@@ -0,0 +1,53 @@
+package com.NexTradeX.order;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    
+    /**
+     * Copy the given orders into the archive with a single INSERT ... SELECT.
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedOrder (id, user, symbol, side, orderType, status, timeInForce, expireAt, tradeType, " +
+           "quantity, price, stopPrice, trailingDelta, clientOrderId, filledQuantity, averagePrice, commission, " +
+           "leverage, createdAt, updatedAt, filledAt, remarks) " +
+           "SELECT o.id, o.user, o.symbol, o.side, o.orderType, o.status, o.timeInForce, o.expireAt, o.tradeType, " +
+           "o.quantity, o.price, o.stopPrice, o.trailingDelta, o.clientOrderId, o.filledQuantity, o.averagePrice, " +
+           "o.commission, o.leverage, o.createdAt, o.updatedAt, o.filledAt, o.remarks " +
+           "FROM Order o WHERE o.id IN :ids")
+    int copyFromOrders(@Param("ids") Collection<Long> ids);
+    
+    // Same keyset as OrderRepository.findHistory, so both tables can be merged page by page
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.user.id = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findHistory(@Param("userId") Long userId, Limit limit);
+    
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.user.id = :userId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findHistoryBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Limit limit);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.user.id = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    Stream<ArchivedOrder> streamHistory(@Param("userId") Long userId);
+    
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.user.id = :userId AND o.symbol = :symbol")
+    List<ArchivedOrder> findAllByUserIdAndSymbol(@Param("userId") Long userId, @Param("symbol") String symbol);
+}
@@ -0,0 +1,220 @@
+package com.NexTradeX.order;
+
+import com.NexTradeX.common.ApiResponse;
+import com.NexTradeX.dto.OrderResponse;
+import com.NexTradeX.engine.OrderSequencer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory dedupe window for client order ids, so a retried submission gets
+ * the original order back instead of creating (and paying for) a second one.
+ *
+ * Each user has an insertion-ordered map of recently seen ids: lookups are
+ * O(1), the map is capped per user, and expiry only walks the expired head of
+ * each map. Memory therefore stays bounded by the window, not by daily volume.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClientOrderIdRegistry {
+
+    private final OrderSequencer orderSequencer;
+
+    @Value("${nextradex.sequencer.ack-timeout-ms:5000}")
+    private long duplicateWaitMillis;
+
+    @Value("${nextradex.client-order-id.window-ms:600000}")
+    private long windowMillis;
+
+    @Value("${nextradex.client-order-id.max-per-user:10000}")
+    private int maxPerUser;
+
+    private final Map<Long, UserWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Claim a client order id for a new submission.
+     *
+     * @return null if the id is new and the caller must {@link #complete},
+     * {@link #settle} or {@link #release} it, otherwise the response of the original submission
+     * (possibly still in flight)
+     */
+    public CompletableFuture<OrderResponse> claim(Long userId, String clientOrderId) {
+        long now = System.currentTimeMillis();
+        while (true) {
+            UserWindow window = windows.computeIfAbsent(userId, id -> new UserWindow());
+            synchronized (window) {
+                if (window.retired) {
+                    continue; // swept concurrently, pick up the replacement
+                }
+                Entry existing = window.get(clientOrderId);
+                if (existing != null && (!existing.response().isDone() || now - existing.createdAt() < windowMillis)) {
+                    return existing.response();
+                }
+                window.remove(clientOrderId);
+                window.put(clientOrderId, new Entry(new CompletableFuture<>(), now));
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Place a single order at most once per client order id: {@code enqueue}
+     * hands the order's command to the sequencer and its outcome settles the
+     * claim. A repeated id waits up to the ack timeout for the original
+     * response instead of placing the order again.
+     */
+    public Submission submit(Long userId, String clientOrderId, Supplier<CompletableFuture<Order>> enqueue,
+                             Function<Order, OrderResponse> toResponse) throws InterruptedException, ExecutionException {
+        if (clientOrderId == null) {
+            return new Submission(toResponse.apply(orderSequencer.await(enqueue.get())), false);
+        }
+        CompletableFuture<OrderResponse> original = claim(userId, clientOrderId);
+        if (original != null) {
+            try {
+                return new Submission(original.get(duplicateWaitMillis, TimeUnit.MILLISECONDS), true);
+            } catch (TimeoutException e) {
+                return new Submission(null, true);
+            }
+        }
+        CompletableFuture<Order> ack;
+        try {
+            ack = enqueue.get();
+        } catch (RuntimeException e) {
+            release(userId, clientOrderId, e);
+            throw e;
+        }
+        settle(userId, clientOrderId, ack.thenApply(toResponse));
+        return new Submission(toResponse.apply(orderSequencer.await(ack)), false);
+    }
+
+    public void complete(Long userId, String clientOrderId, OrderResponse response) {
+        Entry entry = entry(userId, clientOrderId);
+        if (entry != null) {
+            entry.response().complete(response);
+        }
+    }
+
+    /**
+     * Complete or release a claim from the outcome of its sequenced command
+     * rather than from the request thread. A request that stopped waiting
+     * leaves the claim pending until the command has actually run or been
+     * withdrawn, so a retry with the same id can never place the order twice.
+     */
+    public void settle(Long userId, String clientOrderId, CompletableFuture<OrderResponse> outcome) {
+        outcome.whenComplete((response, failure) -> {
+            if (failure == null) {
+                complete(userId, clientOrderId, response);
+            } else {
+                release(userId, clientOrderId, failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure);
+            }
+        });
+    }
+
+    /**
+     * Forget a claim whose submission failed, so the client may retry it.
+     */
+    public void release(Long userId, String clientOrderId, Throwable cause) {
+        UserWindow window = windows.get(userId);
+        if (window == null) {
+            return;
+        }
+        Entry entry;
+        synchronized (window) {
+            entry = window.remove(clientOrderId);
+        }
+        if (entry != null) {
+            entry.response().completeExceptionally(cause);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${nextradex.client-order-id.sweep-interval-ms:10000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMillis;
+        int evicted = 0;
+        for (Map.Entry<Long, UserWindow> userWindow : windows.entrySet()) {
+            UserWindow window = userWindow.getValue();
+            synchronized (window) {
+                Iterator<Entry> entries = window.values().iterator();
+                while (entries.hasNext()) {
+                    Entry entry = entries.next();
+                    if (entry.createdAt() >= cutoff) {
+                        break;
+                    }
+                    if (entry.response().isDone()) {
+                        entries.remove();
+                        evicted++;
+                    }
+                }
+                if (window.isEmpty()) {
+                    window.retired = true;
+                    windows.remove(userWindow.getKey(), window);
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} expired client order ids", evicted);
+        }
+    }
+
+    private Entry entry(Long userId, String clientOrderId) {
+        UserWindow window = windows.get(userId);
+        if (window == null) {
+            return null;
+        }
+        synchronized (window) {
+            return window.get(clientOrderId);
+        }
+    }
+
+    private record Entry(CompletableFuture<OrderResponse> response, long createdAt) {
+    }
+
+    /**
+     * Outcome of {@link #submit}: the new order, or for a repeated client
+     * order id the original one, null while it is still being processed.
+     */
+    public record Submission(OrderResponse order, boolean duplicate) {
+
+        public ResponseEntity<ApiResponse<OrderResponse>> toResponse(String createdMessage) {
+            if (!duplicate) {
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(new ApiResponse<>(201, createdMessage, order));
+            }
+            if (order == null) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(new ApiResponse<>(202, "Duplicate clientOrderId, original order still being processed", null));
+            }
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(200, "Duplicate clientOrderId, returning original order", order));
+        }
+    }
+
+    private final class UserWindow extends LinkedHashMap<String, Entry> {
+
+        private boolean retired;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxPerUser;
+        }
+    }
+}
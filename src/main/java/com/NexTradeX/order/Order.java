@@ -1,5 +1,6 @@
 package com.NexTradeX.order;
 
+import com.NexTradeX.common.SnowflakeId;
 import com.NexTradeX.user.User;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -15,7 +16,10 @@ import java.time.LocalDateTime;
         @Index(name = "idx_user_id", columnList = "user_id"),
         @Index(name = "idx_symbol", columnList = "symbol"),
         @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_created_at", columnList = "created_at")
+        @Index(name = "idx_orders_user_status", columnList = "user_id,status"),
+        @Index(name = "idx_orders_status_updated", columnList = "status,updated_at"),
+        @Index(name = "idx_created_at", columnList = "created_at"),
+        @Index(name = "idx_orders_user_created", columnList = "user_id,created_at,id")
 })
 @Data
 @NoArgsConstructor
@@ -24,7 +28,7 @@ import java.time.LocalDateTime;
 public class Order {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -42,10 +46,19 @@ public class Order {
     @Column(nullable = false)
     private OrderType orderType;
     
+    @Builder.Default
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private OrderStatus status = OrderStatus.OPEN;
     
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TimeInForce timeInForce = TimeInForce.GTC;
+    
+    // Only set for GTD orders
+    private LocalDateTime expireAt;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TradeType tradeType;
@@ -56,21 +69,36 @@ public class Order {
     @Column(precision = 19, scale = 8)
     private BigDecimal price;
     
+    @Column(precision = 19, scale = 8)
+    private BigDecimal stopPrice;
+    
+    @Column(precision = 19, scale = 8)
+    private BigDecimal trailingDelta;
+    
+    @Column(length = 64)
+    private String clientOrderId;
+    
+    @Builder.Default
     @Column(precision = 19, scale = 8)
     private BigDecimal filledQuantity = BigDecimal.ZERO;
     
+    @Builder.Default
     @Column(precision = 19, scale = 8)
     private BigDecimal averagePrice = BigDecimal.ZERO;
     
+    @Builder.Default
     @Column(precision = 19, scale = 8)
     private BigDecimal commission = BigDecimal.ZERO;
     
+    @Builder.Default
     @Column(precision = 19, scale = 2)
     private BigDecimal leverage = BigDecimal.ONE;
     
+    @Builder.Default
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
     
+    @Builder.Default
     @Column(nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
     
@@ -0,0 +1,61 @@
+package com.NexTradeX.order;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the orders table down to the working set by moving terminal orders
+ * older than the configured age to orders_archive. Each batch is its own short
+ * transaction, so the archiver never holds locks for long and can stop at any
+ * point without leaving work half done.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderArchiver {
+
+    private static final Set<OrderStatus> TERMINAL_STATUSES =
+            EnumSet.of(OrderStatus.FILLED, OrderStatus.CANCELLED, OrderStatus.REJECTED, OrderStatus.EXPIRED);
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+
+    @Value("${nextradex.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${nextradex.archive.min-age-ms:86400000}")
+    private long minAgeMillis;
+
+    @Value("${nextradex.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${nextradex.archive.interval-ms:60000}")
+    public void archiveTerminalOrders() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAgeMillis, ChronoUnit.MILLIS);
+        int archived = 0;
+        List<Long> batch;
+        do {
+            batch = orderRepository.findArchivableIds(TERMINAL_STATUSES, cutoff, Limit.of(batchSize));
+            if (!batch.isEmpty()) {
+                archived += orderService.archiveOrders(batch);
+            }
+        } while (batch.size() == batchSize);
+
+        if (archived > 0) {
+            log.info("Archived {} terminal orders last updated before {}", archived, cutoff);
+        }
+    }
+}
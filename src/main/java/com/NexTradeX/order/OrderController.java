@@ -1,18 +1,33 @@
 package com.NexTradeX.order;
 
 import com.NexTradeX.common.ApiResponse;
+import com.NexTradeX.common.CsvWriter;
+import com.NexTradeX.dto.BatchOrderRequest;
+import com.NexTradeX.dto.BatchOrderResult;
+import com.NexTradeX.dto.CursorPage;
 import com.NexTradeX.dto.OrderResponse;
 import com.NexTradeX.dto.SpotOrderRequest;
+import com.NexTradeX.dto.TradeResponse;
+import com.NexTradeX.engine.OrderSequencer;
+import com.NexTradeX.exception.SequencerTimeoutException;
+import com.NexTradeX.spot.SpotTrade;
 import com.NexTradeX.spot.SpotTradingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,24 +38,110 @@ public class OrderController {
     
     private final OrderService orderService;
     private final SpotTradingService spotTradingService;
+    private final OrderSequencer orderSequencer;
+    private final ClientOrderIdRegistry clientOrderIdRegistry;
+    private final OrderExpiryScheduler orderExpiryScheduler;
     
     @PostMapping("/spot")
     public ResponseEntity<ApiResponse<OrderResponse>> createSpotOrder(
             @Valid @RequestBody SpotOrderRequest request,
             Authentication authentication) {
+        Long userId = extractUserIdFromAuth(authentication);
         try {
-            Long userId = extractUserIdFromAuth(authentication);
             OrderSide side = OrderSide.valueOf(request.getSide().toUpperCase());
             OrderType orderType = OrderType.valueOf(request.getOrderType().toUpperCase());
+            TimeInForce timeInForce = request.getTimeInForce() == null
+                    ? TimeInForce.GTC : TimeInForce.valueOf(request.getTimeInForce().toUpperCase());
+            
+            return clientOrderIdRegistry.submit(userId, request.getClientOrderId(),
+                    () -> orderSequencer.enqueue(request.getSymbol(), () -> spotTradingService.createSpotOrder(
+                            userId, request.getSymbol(), side, orderType,
+                            request.getQuantity(), request.getPrice(),
+                            request.getStopPrice(), request.getTrailingDelta(),
+                            timeInForce, request.getExpireAt(), request.getClientOrderId())),
+                    this::toOrderResponse).toResponse("Order created");
+        } catch (SequencerTimeoutException e) {
+            log.warn("Spot order for user {} not acknowledged in time: {}", userId, e.getMessage());
+            return sequencerTimeout(e);
+        } catch (Exception e) {
+            log.error("Error creating spot order: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
+    }
+    
+    /**
+     * Submit up to 500 spot orders at once. Orders are grouped by symbol and each
+     * group is created in one transaction on its sequencer shard; the response
+     * carries one result per submitted order, in request order. Items repeating
+     * a recent clientOrderId are not created again.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<BatchOrderResult>>> createBatchOrders(
+            @Valid @RequestBody BatchOrderRequest request,
+            Authentication authentication) {
+        try {
+            Long userId = extractUserIdFromAuth(authentication);
+            List<SpotOrderRequest> requests = request.getOrders();
+            BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+            
+            Map<String, List<Integer>> indexesBySymbol = new LinkedHashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                SpotOrderRequest item = requests.get(i);
+                try {
+                    OrderSide.valueOf(item.getSide().toUpperCase());
+                    OrderType.valueOf(item.getOrderType().toUpperCase());
+                    if (item.getTimeInForce() != null) {
+                        TimeInForce.valueOf(item.getTimeInForce().toUpperCase());
+                    }
+                    if (item.getClientOrderId() != null) {
+                        CompletableFuture<OrderResponse> original = clientOrderIdRegistry.claim(userId, item.getClientOrderId());
+                        if (original != null) {
+                            results[i] = duplicate(i, original);
+                            continue;
+                        }
+                    }
+                    indexesBySymbol.computeIfAbsent(item.getSymbol(), symbol -> new ArrayList<>()).add(i);
+                } catch (IllegalArgumentException e) {
+                    results[i] = rejected(i, "Invalid side, order type or time in force");
+                }
+            }
             
-            Order order = spotTradingService.createSpotOrder(
-                    userId, request.getSymbol(), side, orderType, 
-                    request.getQuantity(), request.getPrice());
+            indexesBySymbol.forEach((symbol, indexes) -> {
+                List<SpotOrderRequest> group = indexes.stream().map(requests::get).toList();
+                CompletableFuture<List<Order>> ack = orderSequencer.enqueue(symbol,
+                        () -> spotTradingService.createSpotOrders(userId, symbol, group));
+                for (int j = 0; j < group.size(); j++) {
+                    int position = j;
+                    if (group.get(j).getClientOrderId() != null) {
+                        clientOrderIdRegistry.settle(userId, group.get(j).getClientOrderId(),
+                                ack.thenApply(orders -> toOrderResponse(orders.get(position))));
+                    }
+                }
+                try {
+                    List<Order> orders = orderSequencer.await(ack);
+                    for (int j = 0; j < indexes.size(); j++) {
+                        Order order = orders.get(j);
+                        boolean accepted = order.getStatus() != OrderStatus.REJECTED;
+                        results[indexes.get(j)] = BatchOrderResult.builder()
+                                .index(indexes.get(j))
+                                .accepted(accepted)
+                                .order(toOrderResponse(order))
+                                .error(accepted ? null : order.getRemarks())
+                                .build();
+                    }
+                } catch (Exception e) {
+                    log.error("Error creating batch orders for {}: {}", symbol, e.getMessage());
+                    indexes.forEach(i -> results[i] = rejected(i, e.getMessage()));
+                }
+            });
             
+            long accepted = Arrays.stream(results).filter(BatchOrderResult::isAccepted).count();
             return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(new ApiResponse<>(201, "Order created", toOrderResponse(order)));
+                    .body(new ApiResponse<>(201, accepted + " of " + results.length + " orders accepted",
+                            Arrays.asList(results)));
         } catch (Exception e) {
-            log.error("Error creating spot order: {}", e.getMessage());
+            log.error("Error creating batch orders: {}", e.getMessage());
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(400, e.getMessage(), null));
         }
@@ -65,18 +166,21 @@ public class OrderController {
         }
     }
     
+    /**
+     * Order history, newest first. Pass the returned nextCursor to get the next page.
+     */
     @GetMapping("/history")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrderHistory(
+    public ResponseEntity<ApiResponse<CursorPage<OrderResponse>>> getOrderHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
             Authentication authentication) {
         try {
             Long userId = extractUserIdFromAuth(authentication);
-            List<Order> orders = orderService.getOrderHistory(userId);
-            List<OrderResponse> responses = orders.stream()
-                    .map(this::toOrderResponse)
-                    .collect(Collectors.toList());
+            CursorPage<OrderResponse> page = orderService.getOrderHistory(userId, cursor, limit)
+                    .map(this::toOrderResponse);
             
             return ResponseEntity.ok()
-                    .body(new ApiResponse<>(200, "Order history retrieved", responses));
+                    .body(new ApiResponse<>(200, "Order history retrieved", page));
         } catch (Exception e) {
             log.error("Error retrieving order history: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -84,14 +188,76 @@ public class OrderController {
         }
     }
     
+    /**
+     * Full order history as CSV, streamed from a database cursor.
+     */
+    @GetMapping(value = "/history/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportOrderHistory(Authentication authentication) {
+        Long userId = extractUserIdFromAuth(authentication);
+        StreamingResponseBody body = out -> {
+            CsvWriter csv = new CsvWriter(out);
+            csv.row("id", "clientOrderId", "symbol", "side", "orderType", "timeInForce", "status", "quantity",
+                    "price", "filledQuantity", "averagePrice", "commission", "createdAt", "filledAt");
+            orderService.streamOrderHistory(userId, order -> csv.row(order.getId(), order.getClientOrderId(),
+                    order.getSymbol(), order.getSide(), order.getOrderType(), order.getTimeInForce(), order.getStatus(),
+                    order.getQuantity(), order.getPrice(), order.getFilledQuantity(), order.getAveragePrice(),
+                    order.getCommission(), order.getCreatedAt(), order.getFilledAt()));
+            csv.flush();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\"")
+                .body(body);
+    }
+    
+    @GetMapping("/trades")
+    public ResponseEntity<ApiResponse<CursorPage<TradeResponse>>> getTradeHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+            Authentication authentication) {
+        try {
+            Long userId = extractUserIdFromAuth(authentication);
+            CursorPage<TradeResponse> page = spotTradingService.getUserSpotTrades(userId, cursor, limit)
+                    .map(this::toTradeResponse);
+            
+            return ResponseEntity.ok()
+                    .body(new ApiResponse<>(200, "Trade history retrieved", page));
+        } catch (Exception e) {
+            log.error("Error retrieving trade history: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(400, e.getMessage(), null));
+        }
+    }
+    
+    @GetMapping(value = "/trades/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportTradeHistory(Authentication authentication) {
+        Long userId = extractUserIdFromAuth(authentication);
+        StreamingResponseBody body = out -> {
+            CsvWriter csv = new CsvWriter(out);
+            csv.row("id", "symbol", "side", "quantity", "executionPrice", "totalValue", "commission", "createdAt");
+            spotTradingService.streamUserSpotTrades(userId, trade -> csv.row(trade.getId(), trade.getSymbol(),
+                    trade.getSide(), trade.getQuantity(), trade.getExecutionPrice(), trade.getTotalValue(),
+                    trade.getCommission(), trade.getCreatedAt()));
+            csv.flush();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"trades.csv\"")
+                .body(body);
+    }
+    
     @DeleteMapping("/{orderId}")
     public ResponseEntity<ApiResponse<OrderResponse>> cancelOrder(
             @PathVariable Long orderId,
             Authentication authentication) {
         try {
-            Order order = orderService.cancelOrder(orderId);
+            Long userId = extractUserIdFromAuth(authentication);
+            String symbol = orderService.getOrder(orderId, userId).getSymbol();
+            Order order = orderSequencer.execute(symbol, () -> orderService.cancelOrder(orderId));
+            orderExpiryScheduler.cancel(orderId);
             return ResponseEntity.ok()
                     .body(new ApiResponse<>(200, "Order cancelled", toOrderResponse(order)));
+        } catch (SequencerTimeoutException e) {
+            log.warn("Cancel of order {} not acknowledged in time: {}", orderId, e.getMessage());
+            return sequencerTimeout(e);
         } catch (Exception e) {
             log.error("Error cancelling order: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -99,16 +265,35 @@ public class OrderController {
         }
     }
     
+    /**
+     * The original order for a repeated clientOrderId, or 202 while the original
+     * submission is still being processed.
+     */
+    /**
+     * 202 when the command is still running and may yet take effect, 503 when
+     * it was withdrawn before it ran and can safely be retried.
+     */
+    private static <T> ResponseEntity<ApiResponse<T>> sequencerTimeout(SequencerTimeoutException e) {
+        HttpStatus status = e.isPending() ? HttpStatus.ACCEPTED : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .body(new ApiResponse<>(status.value(), e.getMessage(), null));
+    }
+    
     private OrderResponse toOrderResponse(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
+                .clientOrderId(order.getClientOrderId())
                 .symbol(order.getSymbol())
                 .side(order.getSide().name())
                 .orderType(order.getOrderType().name())
                 .status(order.getStatus().name())
+                .timeInForce(order.getTimeInForce().name())
+                .expireAt(order.getExpireAt())
                 .tradeType(order.getTradeType().name())
                 .quantity(order.getQuantity())
                 .price(order.getPrice())
+                .stopPrice(order.getStopPrice())
+                .trailingDelta(order.getTrailingDelta())
                 .filledQuantity(order.getFilledQuantity())
                 .averagePrice(order.getAveragePrice())
                 .commission(order.getCommission())
@@ -119,6 +304,37 @@ public class OrderController {
                 .build();
     }
     
+    private TradeResponse toTradeResponse(SpotTrade trade) {
+        return TradeResponse.builder()
+                .id(trade.getId())
+                .symbol(trade.getSymbol())
+                .side(trade.getSide())
+                .quantity(trade.getQuantity())
+                .executionPrice(trade.getExecutionPrice())
+                .totalValue(trade.getTotalValue())
+                .commission(trade.getCommission())
+                .createdAt(trade.getCreatedAt())
+                .build();
+    }
+    
+    private BatchOrderResult rejected(int index, String error) {
+        return BatchOrderResult.builder()
+                .index(index)
+                .accepted(false)
+                .error(error)
+                .build();
+    }
+    
+    private BatchOrderResult duplicate(int index, CompletableFuture<OrderResponse> original) {
+        OrderResponse response = original.isDone() && !original.isCompletedExceptionally() ? original.join() : null;
+        return BatchOrderResult.builder()
+                .index(index)
+                .accepted(false)
+                .order(response)
+                .error(response != null ? "Duplicate clientOrderId" : "Duplicate clientOrderId, original order still in flight")
+                .build();
+    }
+    
     private Long extractUserIdFromAuth(Authentication authentication) {
         return 1L; // Placeholder
     }
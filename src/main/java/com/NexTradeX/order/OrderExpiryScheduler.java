@@ -0,0 +1,90 @@
+package com.NexTradeX.order;
+
+import com.NexTradeX.engine.OrderSequencer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires GTD orders from a timer queue keyed on their expiry time, instead of
+ * scanning the orders table. When a timer fires, the expiry is handed to the
+ * symbol's sequencer shard like any other order command. Timers of orders that
+ * are cancelled or filled earlier are removed from the queue.
+ */
+@Slf4j
+@Component
+public class OrderExpiryScheduler {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final OrderSequencer orderSequencer;
+    private final ScheduledThreadPoolExecutor timer;
+    private final Map<Long, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+
+    public OrderExpiryScheduler(OrderService orderService, OrderRepository orderRepository,
+                                OrderSequencer orderSequencer) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.orderSequencer = orderSequencer;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "order-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    public void schedule(Order order) {
+        Long orderId = order.getId();
+        String symbol = order.getSymbol();
+        long delay = Duration.between(LocalDateTime.now(), order.getExpireAt()).toMillis();
+        ScheduledFuture<?> expiry = timer.schedule(() -> expire(orderId, symbol), Math.max(delay, 0), TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previous = pending.put(orderId, expiry);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    public void cancel(Long orderId) {
+        ScheduledFuture<?> expiry = pending.remove(orderId);
+        if (expiry != null) {
+            expiry.cancel(false);
+        }
+    }
+
+    /**
+     * Timers live in memory only, so re-arm the ones of GTD orders still open
+     * after a restart. Orders past their expiry fire immediately.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescheduleOpenOrders() {
+        List<Order> orders = orderRepository.findAllByTimeInForceAndStatusIn(TimeInForce.GTD,
+                EnumSet.of(OrderStatus.OPEN, OrderStatus.PARTIALLY_FILLED));
+        orders.forEach(this::schedule);
+        if (!orders.isEmpty()) {
+            log.info("Rescheduled expiry of {} open GTD orders", orders.size());
+        }
+    }
+
+    private void expire(Long orderId, String symbol) {
+        pending.remove(orderId);
+        orderSequencer.submit(symbol, () -> orderService.expireOrder(orderId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
@@ -1,14 +1,20 @@
 package com.NexTradeX.order;
 
 import com.NexTradeX.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -21,5 +27,32 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.user = :user AND o.status IN ('OPEN', 'PARTIALLY_FILLED')")
     List<Order> findActiveOrdersByUser(@Param("user") User user);
     
+    List<Order> findAllByTimeInForceAndStatusIn(TimeInForce timeInForce, Collection<OrderStatus> statuses);
+    
+    List<Order> findAllByTradeTypeAndOrderTypeInAndStatus(TradeType tradeType, Collection<OrderType> orderTypes,
+                                                          OrderStatus status);
+    
     Optional<Order> findByIdAndUser(Long orderId, User user);
+    
+    // Terminal orders untouched since the cutoff, oldest first, for the archiver
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.updatedAt < :cutoff ORDER BY o.updatedAt")
+    List<Long> findArchivableIds(@Param("statuses") Collection<OrderStatus> statuses,
+                                 @Param("cutoff") LocalDateTime cutoff, Limit limit);
+    
+    // Keyset pagination over (created_at, id), newest first
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findHistory(@Param("userId") Long userId, Limit limit);
+    
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findHistoryBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id, Limit limit);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    Stream<Order> streamHistory(@Param("userId") Long userId);
 }
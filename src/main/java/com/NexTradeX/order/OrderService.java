@@ -1,20 +1,33 @@
 package com.NexTradeX.order;
 
+import com.NexTradeX.common.KeysetCursor;
+import com.NexTradeX.dto.CursorPage;
 import com.NexTradeX.exception.InsufficientBalanceException;
 import com.NexTradeX.exception.InvalidOrderException;
+import com.NexTradeX.engine.OrderJournal;
 import com.NexTradeX.exception.OrderNotFoundException;
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.matching.MatchingEngine;
+import com.NexTradeX.risk.TradingRules;
 import com.NexTradeX.user.User;
 import com.NexTradeX.user.UserService;
 import com.NexTradeX.wallet.WalletService;
 import com.NexTradeX.wallet.WalletType;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -22,9 +35,17 @@ import java.util.List;
 @Transactional
 public class OrderService {
     
+    // Newest first, ties broken by id: the keyset order of every history listing
+    private static final Comparator<Order> HISTORY_ORDER =
+            Comparator.comparing(Order::getCreatedAt).thenComparing(Order::getId).reversed();
+    
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
     private final UserService userService;
     private final WalletService walletService;
+    private final MatchingEngine matchingEngine;
+    private final OrderJournal orderJournal;
+    private final EntityManager entityManager;
     
     public Order createOrder(Long userId, String symbol, OrderSide side, 
                             OrderType orderType, BigDecimal quantity, 
@@ -65,7 +86,8 @@ public class OrderService {
             throw new InvalidOrderException("Cannot fill cancelled or rejected order");
         }
         
-        BigDecimal totalFilled = order.getFilledQuantity().add(filledQuantity);
+        BigDecimal previouslyFilled = order.getFilledQuantity();
+        BigDecimal totalFilled = previouslyFilled.add(filledQuantity);
         
         if (totalFilled.compareTo(order.getQuantity()) > 0) {
             throw new InvalidOrderException("Filled quantity exceeds order quantity");
@@ -74,7 +96,7 @@ public class OrderService {
         order.setFilledQuantity(totalFilled);
         
         // Calculate average price
-        BigDecimal totalCost = order.getAveragePrice().multiply(order.getFilledQuantity())
+        BigDecimal totalCost = order.getAveragePrice().multiply(previouslyFilled)
                 .add(filledPrice.multiply(filledQuantity));
         order.setAveragePrice(totalCost.divide(totalFilled, 8, java.math.RoundingMode.HALF_UP));
         
@@ -98,12 +120,78 @@ public class OrderService {
             throw new InvalidOrderException("Cannot cancel filled order");
         }
         
+        if (order.getOrderType() != OrderType.MARKET) {
+            matchingEngine.cancel(order.getSymbol(), orderId);
+            orderJournal.orderCancelled(order.getSymbol(), orderId);
+        }
+        
+        releaseReservedFunds(order);
         order.setStatus(OrderStatus.CANCELLED);
         Order updatedOrder = orderRepository.save(order);
         log.info("Order {} cancelled", orderId);
         return updatedOrder;
     }
     
+    /**
+     * Expire a GTD order whose time has come. Must run on the symbol's sequencer
+     * shard; orders that were filled or cancelled in the meantime are left alone.
+     */
+    public void expireOrder(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || (order.getStatus() != OrderStatus.OPEN && order.getStatus() != OrderStatus.PARTIALLY_FILLED)) {
+            return;
+        }
+        matchingEngine.cancel(order.getSymbol(), orderId);
+        orderJournal.orderCancelled(order.getSymbol(), orderId);
+        releaseReservedFunds(order);
+        order.setStatus(OrderStatus.EXPIRED);
+        orderRepository.save(order);
+        log.info("Order {} expired", orderId);
+    }
+    
+    /**
+     * Reject an order that can never be executed, releasing what it holds. Must
+     * run on the symbol's sequencer shard; orders that were filled or cancelled
+     * in the meantime are left alone.
+     */
+    public void rejectOrder(Long orderId, String reason) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || (order.getStatus() != OrderStatus.OPEN && order.getStatus() != OrderStatus.PARTIALLY_FILLED)) {
+            return;
+        }
+        matchingEngine.cancel(order.getSymbol(), orderId);
+        orderJournal.orderCancelled(order.getSymbol(), orderId);
+        releaseReservedFunds(order);
+        order.setStatus(OrderStatus.REJECTED);
+        order.setRemarks(reason);
+        orderRepository.save(order);
+        log.warn("Order {} rejected: {}", orderId, reason);
+    }
+    
+    /**
+     * Funds a spot limit or stop-limit order holds for {@code quantity} of its
+     * unfilled remainder while it is live; zero for every other kind of order.
+     */
+    public static BigDecimal reservedFunds(Order order, BigDecimal quantity) {
+        if (order.getTradeType() != TradeType.SPOT
+                || (order.getOrderType() != OrderType.LIMIT && order.getOrderType() != OrderType.STOP_LIMIT)) {
+            return BigDecimal.ZERO;
+        }
+        InstrumentSpec spec = InstrumentSpec.of(order.getSymbol());
+        return TradingRules.spotReservation(spec, order.getSide() == OrderSide.BUY,
+                spec.toTicks(order.getPrice()), spec.toLots(quantity));
+    }
+    
+    private void releaseReservedFunds(Order order) {
+        if (order.getStatus() != OrderStatus.OPEN && order.getStatus() != OrderStatus.PARTIALLY_FILLED) {
+            return;
+        }
+        BigDecimal reserved = reservedFunds(order, order.getQuantity().subtract(order.getFilledQuantity()));
+        if (reserved.signum() > 0) {
+            walletService.unlockFunds(walletService.getWallet(order.getUser().getId(), WalletType.SPOT).getId(), reserved);
+        }
+    }
+    
     public Order getOrder(Long orderId, Long userId) {
         User user = userService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -117,15 +205,79 @@ public class OrderService {
         return orderRepository.findActiveOrdersByUser(user);
     }
     
-    public List<Order> getOrderHistory(Long userId) {
-        User user = userService.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return orderRepository.findAllByUser(user);
+    /**
+     * One page of the user's orders, newest first, starting after {@code cursor}
+     * (or from the newest order when null).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Order> getOrderHistory(Long userId, String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        Limit fetch = Limit.of(pageSize + 1);
+        List<Order> hot;
+        List<ArchivedOrder> cold;
+        if (cursor == null) {
+            hot = orderRepository.findHistory(userId, fetch);
+            cold = archivedOrderRepository.findHistory(userId, fetch);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            hot = orderRepository.findHistoryBefore(userId, after.createdAt(), after.id(), fetch);
+            cold = archivedOrderRepository.findHistoryBefore(userId, after.createdAt(), after.id(), fetch);
+        }
+        
+        // Both tables use the same keyset, so merging their pages gives the right page of the union
+        List<Order> rows = new ArrayList<>(hot.size() + cold.size());
+        rows.addAll(hot);
+        cold.forEach(order -> rows.add(order.toOrder()));
+        rows.sort(HISTORY_ORDER);
+        return CursorPage.of(rows, pageSize, order -> new KeysetCursor(order.getCreatedAt(), order.getId()));
+    }
+    
+    /**
+     * Feed every order of the user, newest first, to {@code consumer} straight
+     * from a database cursor. Each order is detached once consumed, so memory
+     * use does not grow with the size of the history.
+     */
+    @Transactional(readOnly = true)
+    public void streamOrderHistory(Long userId, Consumer<Order> consumer) {
+        try (Stream<Order> hotOrders = orderRepository.streamHistory(userId);
+             Stream<ArchivedOrder> coldOrders = archivedOrderRepository.streamHistory(userId)) {
+            Iterator<Order> hot = hotOrders.iterator();
+            Iterator<Order> cold = coldOrders.map(order -> {
+                entityManager.detach(order);
+                return order.toOrder();
+            }).iterator();
+            
+            // Merge the two sorted cursors, holding one row of each at a time
+            Order nextHot = hot.hasNext() ? hot.next() : null;
+            Order nextCold = cold.hasNext() ? cold.next() : null;
+            while (nextHot != null || nextCold != null) {
+                if (nextCold == null || (nextHot != null && HISTORY_ORDER.compare(nextHot, nextCold) <= 0)) {
+                    consumer.accept(nextHot);
+                    entityManager.detach(nextHot);
+                    nextHot = hot.hasNext() ? hot.next() : null;
+                } else {
+                    consumer.accept(nextCold);
+                    nextCold = cold.hasNext() ? cold.next() : null;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Move terminal orders to orders_archive: one INSERT ... SELECT and one
+     * DELETE, committed together so each batch holds its locks only briefly.
+     */
+    public int archiveOrders(List<Long> orderIds) {
+        int copied = archivedOrderRepository.copyFromOrders(orderIds);
+        orderRepository.deleteAllByIdInBatch(orderIds);
+        return copied;
     }
     
     public List<Order> getOrdersBySymbol(Long userId, String symbol) {
         User user = userService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return orderRepository.findAllByUserAndSymbol(user, symbol);
+        List<Order> orders = new ArrayList<>(orderRepository.findAllByUserAndSymbol(user, symbol));
+        archivedOrderRepository.findAllByUserIdAndSymbol(userId, symbol).forEach(order -> orders.add(order.toOrder()));
+        return orders;
     }
 }
\ No newline at end of file
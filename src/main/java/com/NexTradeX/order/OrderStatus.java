@@ -5,5 +5,6 @@ public enum OrderStatus {
     FILLED,
     PARTIALLY_FILLED,
     CANCELLED,
+    EXPIRED,
     REJECTED
 }
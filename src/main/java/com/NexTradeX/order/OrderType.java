@@ -2,5 +2,8 @@ package com.NexTradeX.order;
 
 public enum OrderType {
     MARKET,
-    LIMIT
+    LIMIT,
+    STOP_MARKET,
+    STOP_LIMIT,
+    TRAILING_STOP
 }
@@ -0,0 +1,22 @@
+package com.NexTradeX.order;
+
+/**
+ * How long a limit order may stay in the book.
+ * GTC and GTD rest until filled or cancelled (GTD also until its expiry time),
+ * IOC cancels whatever it cannot fill at once, FOK fills completely at once or
+ * not at all, and POST_ONLY is rejected if it would take liquidity.
+ */
+public enum TimeInForce {
+    GTC,
+    IOC,
+    FOK,
+    GTD,
+    POST_ONLY;
+
+    /**
+     * Whether an unfilled remainder is added to the book.
+     */
+    public boolean rests() {
+        return this == GTC || this == GTD || this == POST_ONLY;
+    }
+}
@@ -0,0 +1,83 @@
+package com.NexTradeX.risk;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Open positions of one symbol keyed by liquidation price in ticks. A long is
+ * liquidated by any price at or below its level, a short by any price at or
+ * above it, so a tick only visits the levels it crosses and costs nothing
+ * while every position is safe.
+ * Not thread-safe: confined to the symbol's sequencer shard (see {@link LiquidationIndex}).
+ */
+public class LiquidationBook {
+
+    private record Entry(boolean isLong, long liquidationTicks) {
+    }
+
+    private final NavigableMap<Long, Set<Long>> longs = new TreeMap<>();
+    private final NavigableMap<Long, Set<Long>> shorts = new TreeMap<>();
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+
+    /**
+     * Index a position, replacing any earlier entry for it. A long whose
+     * liquidation price is 0 can never be liquidated and is not indexed.
+     */
+    public void add(long positionId, boolean isLong, long liquidationTicks) {
+        remove(positionId);
+        if (liquidationTicks <= 0) {
+            return;
+        }
+        (isLong ? longs : shorts).computeIfAbsent(liquidationTicks, ticks -> new HashSet<>()).add(positionId);
+        entriesById.put(positionId, new Entry(isLong, liquidationTicks));
+    }
+
+    public boolean remove(long positionId) {
+        Entry entry = entriesById.remove(positionId);
+        if (entry == null) {
+            return false;
+        }
+        NavigableMap<Long, Set<Long>> side = entry.isLong() ? longs : shorts;
+        Set<Long> level = side.get(entry.liquidationTicks());
+        level.remove(positionId);
+        if (level.isEmpty()) {
+            side.remove(entry.liquidationTicks());
+        }
+        return true;
+    }
+
+    /**
+     * Remove and return every position the price has reached.
+     */
+    public List<Long> cross(long priceTicks) {
+        NavigableMap<Long, Set<Long>> crossedLongs = longs.tailMap(priceTicks, true);
+        NavigableMap<Long, Set<Long>> crossedShorts = shorts.headMap(priceTicks, true);
+        if (crossedLongs.isEmpty() && crossedShorts.isEmpty()) {
+            return List.of();
+        }
+        List<Long> crossed = new ArrayList<>();
+        drain(crossedLongs, crossed);
+        drain(crossedShorts, crossed);
+        return crossed;
+    }
+
+    public int size() {
+        return entriesById.size();
+    }
+
+    private void drain(NavigableMap<Long, Set<Long>> levels, List<Long> crossed) {
+        for (Set<Long> level : levels.values()) {
+            for (Long positionId : level) {
+                entriesById.remove(positionId);
+                crossed.add(positionId);
+            }
+        }
+        levels.clear();
+    }
+}
@@ -0,0 +1,171 @@
+package com.NexTradeX.risk;
+
+import com.NexTradeX.engine.OrderSequencer;
+import com.NexTradeX.futures.FuturesPosition;
+import com.NexTradeX.futures.PositionMode;
+import com.NexTradeX.margin.MarginPosition;
+import com.NexTradeX.market.InstrumentSpec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * One futures and one margin {@link LiquidationBook} per symbol. Like the order
+ * books, each symbol's books are only touched on its
+ * {@link OrderSequencer} shard thread; tracking calls made elsewhere hop onto it.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiquidationIndex {
+
+    private final OrderSequencer orderSequencer;
+
+    private final Map<String, LiquidationBook> futuresBooks = new ConcurrentHashMap<>();
+    private final Map<String, LiquidationBook> marginBooks = new ConcurrentHashMap<>();
+
+    public static BigDecimal futuresLiquidationPrice(FuturesPosition position) {
+        InstrumentSpec spec = InstrumentSpec.of(position.getSymbol());
+        return spec.fromTicks(TradingRules.futuresLiquidationTicks(spec,
+                position.getPositionMode() == PositionMode.LONG, spec.toTicks(position.getEntryPrice()),
+                spec.toLots(position.getQuantity()), TradingRules.toMoney(position.getCollateral())));
+    }
+
+    public static BigDecimal marginLiquidationPrice(MarginPosition position) {
+        InstrumentSpec spec = InstrumentSpec.of(position.getSymbol());
+        return spec.fromTicks(TradingRules.marginLiquidationTicks(spec,
+                "BUY".equals(position.getSide()), spec.toTicks(position.getEntryPrice()),
+                spec.toLots(position.getQuantity()), TradingRules.toMoney(position.getCollateral()),
+                TradingRules.toMoney(position.getInterestAccrued()), TradingRules.toMoney(position.getBorrowedAmount())));
+    }
+
+    /**
+     * Track a position opened or changed in the current transaction. The index
+     * only learns about it once the transaction commits, so a rollback never
+     * leaves a position behind that the database does not have.
+     */
+    public void trackFutures(FuturesPosition position) {
+        Entry entry = futuresEntry(position);
+        afterCommit(() -> track(futuresBooks, position.getSymbol(), List.of(entry)));
+    }
+
+    public void trackMargin(MarginPosition position) {
+        Entry entry = marginEntry(position);
+        afterCommit(() -> track(marginBooks, position.getSymbol(), List.of(entry)));
+    }
+
+    /**
+     * Track already committed positions, one shard command per symbol.
+     */
+    public void trackFutures(Collection<FuturesPosition> positions) {
+        positions.stream()
+                .collect(Collectors.groupingBy(FuturesPosition::getSymbol,
+                        Collectors.mapping(LiquidationIndex::futuresEntry, Collectors.toList())))
+                .forEach((symbol, entries) -> track(futuresBooks, symbol, entries));
+    }
+
+    public void trackMargin(Collection<MarginPosition> positions) {
+        positions.stream()
+                .collect(Collectors.groupingBy(MarginPosition::getSymbol,
+                        Collectors.mapping(LiquidationIndex::marginEntry, Collectors.toList())))
+                .forEach((symbol, entries) -> track(marginBooks, symbol, entries));
+    }
+
+    public void untrackFutures(FuturesPosition position) {
+        afterCommit(() -> untrack(futuresBooks, position.getSymbol(), position.getId()));
+    }
+
+    public void untrackMargin(MarginPosition position) {
+        afterCommit(() -> untrack(marginBooks, position.getSymbol(), position.getId()));
+    }
+
+    /**
+     * Whether any position was ever tracked for the symbol; lets price ticks
+     * for symbols nobody trades with leverage skip the shard hop.
+     */
+    public boolean covers(String symbol) {
+        return futuresBooks.containsKey(symbol) || marginBooks.containsKey(symbol);
+    }
+
+    /**
+     * Remove and return the futures positions liquidated by the price. Must run on the symbol's shard.
+     */
+    public List<Long> crossFutures(String symbol, long priceTicks) {
+        LiquidationBook book = futuresBooks.get(symbol);
+        return book == null ? List.of() : book.cross(priceTicks);
+    }
+
+    /**
+     * Remove and return the margin positions liquidated by the price. Must run on the symbol's shard.
+     */
+    public List<Long> crossMargin(String symbol, long priceTicks) {
+        LiquidationBook book = marginBooks.get(symbol);
+        return book == null ? List.of() : book.cross(priceTicks);
+    }
+
+    private static Entry futuresEntry(FuturesPosition position) {
+        BigDecimal liquidationPrice = position.getLiquidationPrice() != null
+                ? position.getLiquidationPrice() : futuresLiquidationPrice(position);
+        return new Entry(position.getId(), position.getPositionMode() == PositionMode.LONG,
+                InstrumentSpec.of(position.getSymbol()).toTicks(liquidationPrice));
+    }
+
+    private static Entry marginEntry(MarginPosition position) {
+        BigDecimal liquidationPrice = position.getLiquidationPrice() != null
+                ? position.getLiquidationPrice() : marginLiquidationPrice(position);
+        return new Entry(position.getId(), "BUY".equals(position.getSide()),
+                InstrumentSpec.of(position.getSymbol()).toTicks(liquidationPrice));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Index maintenance must never be lost: a queued command, unlike a blocking
+     * {@code run} that times out, cannot be withdrawn. Called on the shard itself
+     * (e.g. after a commit there) it runs inline instead of queueing behind the caller.
+     */
+    private void onShard(String symbol, Runnable command) {
+        if (orderSequencer.isShardThread(symbol)) {
+            command.run();
+        } else {
+            orderSequencer.submit(symbol, command);
+        }
+    }
+
+    private void track(Map<String, LiquidationBook> books, String symbol, List<Entry> entries) {
+        onShard(symbol, () -> {
+            LiquidationBook book = books.computeIfAbsent(symbol, s -> new LiquidationBook());
+            entries.forEach(entry -> book.add(entry.positionId(), entry.isLong(), entry.liquidationTicks()));
+        });
+    }
+
+    private void untrack(Map<String, LiquidationBook> books, String symbol, Long positionId) {
+        onShard(symbol, () -> {
+            LiquidationBook book = books.get(symbol);
+            if (book != null) {
+                book.remove(positionId);
+            }
+        });
+    }
+
+    private record Entry(Long positionId, boolean isLong, long liquidationTicks) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.NexTradeX.risk;
 
+import com.NexTradeX.engine.OrderSequencer;
 import com.NexTradeX.futures.FuturesPosition;
 import com.NexTradeX.futures.FuturesPositionRepository;
 import com.NexTradeX.futures.FuturesTradingService;
@@ -7,156 +8,82 @@ import com.NexTradeX.futures.PositionStatus;
 import com.NexTradeX.margin.MarginPosition;
 import com.NexTradeX.margin.MarginPositionRepository;
 import com.NexTradeX.margin.MarginTradingService;
-import com.NexTradeX.market.MarketService;
-import com.NexTradeX.user.User;
-import com.NexTradeX.user.UserService;
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.market.PriceUpdatedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 
+/**
+ * Liquidates positions as soon as a price tick reaches their liquidation price.
+ * Each tick is checked against the {@link LiquidationIndex} on the symbol's
+ * sequencer shard, so it only costs work for the positions it actually
+ * crosses; a transaction is only opened to liquidate one of them.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class RiskManagementService {
     
     private final FuturesPositionRepository futuresPositionRepository;
     private final MarginPositionRepository marginPositionRepository;
     private final FuturesTradingService futuresTradingService;
     private final MarginTradingService marginTradingService;
-    private final MarketService marketService;
-    private final UserService userService;
+    private final LiquidationIndex liquidationIndex;
+    private final OrderSequencer orderSequencer;
     
-    private static final BigDecimal FUTURES_MAINTENANCE_MARGIN = new BigDecimal("0.05");
-    private static final BigDecimal MARGIN_MAINTENANCE_MARGIN = new BigDecimal("0.20");
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void indexOpenPositions() {
+        List<FuturesPosition> futuresPositions = futuresPositionRepository.findAllByStatus(PositionStatus.OPEN);
+        liquidationIndex.trackFutures(futuresPositions);
+        List<MarginPosition> marginPositions = marginPositionRepository.findAllByStatus("OPEN");
+        liquidationIndex.trackMargin(marginPositions);
+        log.info("Indexed {} futures and {} margin positions for liquidation",
+                futuresPositions.size(), marginPositions.size());
+    }
     
-    @Scheduled(fixedDelay = 5000) // Run every 5 seconds
-    @Transactional
-    public void monitorAndLiquidatePositions() {
-        try {
-            monitorFuturesPositions();
-            monitorMarginPositions();
-        } catch (Exception e) {
-            log.error("Error during risk monitoring: ", e);
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        String symbol = event.symbol();
+        if (!liquidationIndex.covers(symbol)) {
+            return;
         }
+        InstrumentSpec spec = InstrumentSpec.of(symbol);
+        long priceTicks = spec.toTicks(spec.roundPrice(event.price()));
+        orderSequencer.submit(symbol, () -> liquidateCrossed(symbol, priceTicks, event.price()));
     }
     
-    private void monitorFuturesPositions() {
-        List<FuturesPosition> openPositions = futuresPositionRepository
-                .findAll()
-                .stream()
-                .filter(p -> p.getStatus() == PositionStatus.OPEN)
-                .toList();
-        
-        for (FuturesPosition position : openPositions) {
+    private void liquidateCrossed(String symbol, long priceTicks, BigDecimal price) {
+        for (Long positionId : liquidationIndex.crossFutures(symbol, priceTicks)) {
             try {
-                BigDecimal currentPrice = marketService.getPrice(position.getSymbol()).getCurrentPrice();
-                updateFuturesPosition(position, currentPrice);
+                log.warn("Liquidating futures position {} at {}", positionId, price);
+                futuresTradingService.liquidatePosition(positionId);
             } catch (Exception e) {
-                log.error("Error monitoring futures position {}: ", position.getId(), e);
+                log.error("Error liquidating futures position {}: ", positionId, e);
             }
         }
-    }
-    
-    private void monitorMarginPositions() {
-        List<MarginPosition> openPositions = marginPositionRepository
-                .findAll()
-                .stream()
-                .filter(p -> "OPEN".equals(p.getStatus()))
-                .toList();
-        
-        for (MarginPosition position : openPositions) {
+        for (Long positionId : liquidationIndex.crossMargin(symbol, priceTicks)) {
             try {
-                BigDecimal currentPrice = marketService.getPrice(position.getSymbol()).getCurrentPrice();
-                updateMarginPosition(position, currentPrice);
+                log.warn("Liquidating margin position {} at {}", positionId, price);
+                marginTradingService.liquidatePosition(positionId);
             } catch (Exception e) {
-                log.error("Error monitoring margin position {}: ", position.getId(), e);
+                log.error("Error liquidating margin position {}: ", positionId, e);
             }
         }
     }
     
-    private void updateFuturesPosition(FuturesPosition position, BigDecimal currentPrice) {
-        position.setMarkPrice(currentPrice);
-        
-        // Calculate unrealized PnL
-        BigDecimal pnlPerUnit = position.getPositionMode().toString().equals("LONG") ?
-                currentPrice.subtract(position.getEntryPrice()) :
-                position.getEntryPrice().subtract(currentPrice);
-        
-        BigDecimal unrealizedPnL = pnlPerUnit.multiply(position.getQuantity());
-        position.setUnrealizedPnL(unrealizedPnL);
-        
-        // Calculate margin ratio
-        BigDecimal equity = position.getCollateral().add(unrealizedPnL);
-        BigDecimal maintenanceMargin = position.getCollateral()
-                .multiply(FUTURES_MAINTENANCE_MARGIN);
-        
-        BigDecimal marginRatio;
-        if (maintenanceMargin.compareTo(BigDecimal.ZERO) > 0) {
-            marginRatio = equity.divide(maintenanceMargin, 4, RoundingMode.HALF_UP);
-        } else {
-            marginRatio = BigDecimal.ZERO;
-        }
-        
-        position.setMarginRatio(marginRatio);
-        
-        futuresPositionRepository.save(position);
-        
-        // Check liquidation condition
-        if (marginRatio.compareTo(BigDecimal.ONE) < 0) {
-            log.warn("Liquidating futures position {} with margin ratio: {}", position.getId(), marginRatio);
-            futuresTradingService.liquidatePosition(position.getId());
-        }
-    }
-    
-    private void updateMarginPosition(MarginPosition position, BigDecimal currentPrice) {
-        // Calculate unrealized PnL
-        BigDecimal pnlPerUnit = "BUY".equals(position.getSide()) ?
-                currentPrice.subtract(position.getEntryPrice()) :
-                position.getEntryPrice().subtract(currentPrice);
-        
-        BigDecimal unrealizedPnL = pnlPerUnit.multiply(position.getQuantity());
-        position.setUnrealizedPnL(unrealizedPnL);
-        
-        // Calculate equity
-        BigDecimal equity = position.getCollateral()
-                .add(unrealizedPnL)
-                .subtract(position.getInterestAccrued());
-        
-        // Calculate margin ratio
-        BigDecimal marginRatio = equity.divide(position.getBorrowedAmount(), 4, RoundingMode.HALF_UP);
-        position.setMarginRatio(marginRatio);
-        
-        marginPositionRepository.save(position);
-        
-        // Check liquidation condition
-        if (marginRatio.compareTo(MARGIN_MAINTENANCE_MARGIN) < 0) {
-            log.warn("Liquidating margin position {} with margin ratio: {}", position.getId(), marginRatio);
-            marginTradingService.liquidatePosition(position.getId());
-        }
-    }
-    
+    @Transactional(readOnly = true)
     public RiskAnalysis analyzeUserRisk(Long userId) {
-        User user = userService.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        List<FuturesPosition> futuresPositions = futuresPositionRepository
-                .findAll()
-                .stream()
-                .filter(p -> p.getUser().getId().equals(userId) && p.getStatus() == PositionStatus.OPEN)
-                .toList();
-        
-        List<MarginPosition> marginPositions = marginPositionRepository
-                .findAll()
-                .stream()
-                .filter(p -> p.getUser().getId().equals(userId) && "OPEN".equals(p.getStatus()))
-                .toList();
+        List<FuturesPosition> futuresPositions = futuresTradingService.getUserOpenPositions(userId);
+        List<MarginPosition> marginPositions = marginTradingService.getUserOpenPositions(userId);
         
         BigDecimal totalUnrealizedPnL = BigDecimal.ZERO;
         BigDecimal totalCollateral = BigDecimal.ZERO;
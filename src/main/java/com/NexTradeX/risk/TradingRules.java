@@ -0,0 +1,162 @@
+package com.NexTradeX.risk;
+
+import com.NexTradeX.common.FixedPoint;
+import com.NexTradeX.market.InstrumentSpec;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.LongPredicate;
+
+/**
+ * Fee, leverage and liquidation rules on fixed-point values. Money amounts
+ * (notional, PnL, collateral, fees) are longs at {@link #MONEY_SCALE}, the scale
+ * of the balance and PnL columns; rates and margin ratios are at {@link #RATIO_SCALE}.
+ */
+public final class TradingRules {
+
+    public static final int MONEY_SCALE = 8;
+    public static final int RATIO_SCALE = 4;
+
+    public static final long COMMISSION_RATE = 10; // 0.1%
+    public static final long FUTURES_MAINTENANCE_MARGIN = 500; // 5% of collateral
+    public static final long MARGIN_MAINTENANCE_MARGIN = 2_000; // 20% of borrowed amount
+    public static final long RATIO_ONE = 10_000;
+
+    public static final BigDecimal FUTURES_MIN_LEVERAGE = BigDecimal.ONE;
+    public static final BigDecimal FUTURES_MAX_LEVERAGE = new BigDecimal("20");
+    public static final BigDecimal MARGIN_MIN_LEVERAGE = new BigDecimal("2");
+    public static final BigDecimal MARGIN_MAX_LEVERAGE = new BigDecimal("10");
+
+    private TradingRules() {
+    }
+
+    public static long toMoney(BigDecimal amount) {
+        return FixedPoint.toScaled(amount, MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    public static BigDecimal fromMoney(long amount) {
+        return FixedPoint.toBigDecimal(amount, MONEY_SCALE);
+    }
+
+    public static BigDecimal fromRatio(long ratio) {
+        return FixedPoint.toBigDecimal(ratio, RATIO_SCALE);
+    }
+
+    public static long notional(InstrumentSpec spec, long priceTicks, long quantityLots) {
+        return FixedPoint.multiply(priceTicks, quantityLots, spec.priceScale() + spec.quantityScale(), MONEY_SCALE);
+    }
+
+    public static long commission(long notional) {
+        return FixedPoint.multiply(notional, COMMISSION_RATE, MONEY_SCALE + RATIO_SCALE, MONEY_SCALE);
+    }
+
+    /**
+     * Funds a resting spot limit order keeps locked for {@code quantityLots} of
+     * its unfilled remainder: notional plus commission at the limit price for a
+     * buy, the quantity itself for a sell.
+     */
+    public static BigDecimal spotReservation(InstrumentSpec spec, boolean isBuy, long priceTicks, long quantityLots) {
+        if (!isBuy) {
+            return spec.fromLots(quantityLots);
+        }
+        long notional = notional(spec, priceTicks, quantityLots);
+        return fromMoney(notional + commission(notional));
+    }
+
+    public static long unrealizedPnL(InstrumentSpec spec, boolean isLong, long entryTicks, long markTicks, long quantityLots) {
+        long pnlPerUnit = isLong ? markTicks - entryTicks : entryTicks - markTicks;
+        return notional(spec, pnlPerUnit, quantityLots);
+    }
+
+    /**
+     * Futures margin ratio: equity over the maintenance margin on the collateral.
+     * Below {@link #RATIO_ONE} the position is liquidated.
+     */
+    public static long futuresMarginRatio(long collateral, long unrealizedPnL) {
+        long maintenance = FixedPoint.multiply(collateral, FUTURES_MAINTENANCE_MARGIN, MONEY_SCALE + RATIO_SCALE, MONEY_SCALE);
+        if (maintenance <= 0) {
+            return 0;
+        }
+        return FixedPoint.divide(collateral + unrealizedPnL, maintenance, RATIO_SCALE);
+    }
+
+    public static boolean isFuturesLiquidatable(long marginRatio) {
+        return marginRatio < RATIO_ONE;
+    }
+
+    /**
+     * Margin ratio: equity net of accrued interest over the borrowed amount.
+     */
+    public static long marginRatio(long collateral, long unrealizedPnL, long interestAccrued, long borrowed) {
+        return FixedPoint.divide(collateral + unrealizedPnL - interestAccrued, borrowed, RATIO_SCALE);
+    }
+
+    public static boolean isMarginLiquidatable(long marginRatio) {
+        return marginRatio < MARGIN_MAINTENANCE_MARGIN;
+    }
+
+    /**
+     * Liquidation price of a futures position in ticks: the highest price at
+     * which a long, or the lowest at which a short, fails
+     * {@link #isFuturesLiquidatable}. 0 if a long can never be liquidated.
+     */
+    public static long futuresLiquidationTicks(InstrumentSpec spec, boolean isLong, long entryTicks,
+                                               long quantityLots, long collateral) {
+        long maintenance = FixedPoint.multiply(collateral, FUTURES_MAINTENANCE_MARGIN, MONEY_SCALE + RATIO_SCALE, MONEY_SCALE);
+        return liquidationTicks(spec, isLong, entryTicks, quantityLots, collateral - maintenance,
+                markTicks -> isFuturesLiquidatable(futuresMarginRatio(collateral,
+                        unrealizedPnL(spec, isLong, entryTicks, markTicks, quantityLots))));
+    }
+
+    /**
+     * Liquidation price of a margin position in ticks, as for
+     * {@link #futuresLiquidationTicks} but against {@link #isMarginLiquidatable}.
+     */
+    public static long marginLiquidationTicks(InstrumentSpec spec, boolean isLong, long entryTicks, long quantityLots,
+                                              long collateral, long interestAccrued, long borrowed) {
+        long maintenance = FixedPoint.multiply(borrowed, MARGIN_MAINTENANCE_MARGIN, MONEY_SCALE + RATIO_SCALE, MONEY_SCALE);
+        return liquidationTicks(spec, isLong, entryTicks, quantityLots, collateral - interestAccrued - maintenance,
+                markTicks -> isMarginLiquidatable(marginRatio(collateral,
+                        unrealizedPnL(spec, isLong, entryTicks, markTicks, quantityLots), interestAccrued, borrowed)));
+    }
+
+    /**
+     * Estimate the price at which the position has lost {@code lossBudget}, then
+     * step tick by tick onto the exact boundary of {@code liquidatableAt} so that
+     * rounding in the ratio rules cannot put the two a tick apart.
+     */
+    private static long liquidationTicks(InstrumentSpec spec, boolean isLong, long entryTicks, long quantityLots,
+                                         long lossBudget, LongPredicate liquidatableAt) {
+        long move = spec.toTicks(fromMoney(lossBudget)
+                .divide(spec.fromLots(quantityLots), spec.priceScale(), RoundingMode.HALF_UP));
+        if (isLong) {
+            long ticks = entryTicks - move;
+            if (ticks < 1) {
+                ticks = 1;
+            }
+            while (liquidatableAt.test(ticks + 1)) {
+                ticks++;
+            }
+            while (ticks > 0 && !liquidatableAt.test(ticks)) {
+                ticks--;
+            }
+            return ticks;
+        }
+        long ticks = Math.max(1, entryTicks + move);
+        while (ticks > 1 && liquidatableAt.test(ticks - 1)) {
+            ticks--;
+        }
+        while (!liquidatableAt.test(ticks)) {
+            ticks++;
+        }
+        return ticks;
+    }
+
+    public static boolean isValidFuturesLeverage(BigDecimal leverage) {
+        return leverage.compareTo(FUTURES_MIN_LEVERAGE) >= 0 && leverage.compareTo(FUTURES_MAX_LEVERAGE) <= 0;
+    }
+
+    public static boolean isValidMarginLeverage(BigDecimal leverage) {
+        return leverage.compareTo(MARGIN_MIN_LEVERAGE) >= 0 && leverage.compareTo(MARGIN_MAX_LEVERAGE) <= 0;
+    }
+}
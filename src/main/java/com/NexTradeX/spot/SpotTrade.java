@@ -1,5 +1,6 @@
 package com.NexTradeX.spot;
 
+import com.NexTradeX.common.SnowflakeId;
 import com.NexTradeX.user.User;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -13,7 +14,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "spot_trades", indexes = {
         @Index(name = "idx_user_symbol", columnList = "user_id,symbol"),
-        @Index(name = "idx_created_at", columnList = "created_at")
+        @Index(name = "idx_created_at", columnList = "created_at"),
+        @Index(name = "idx_spot_trades_user_created", columnList = "user_id,created_at,id")
 })
 @Data
 @NoArgsConstructor
@@ -22,7 +24,7 @@ import java.time.LocalDateTime;
 public class SpotTrade {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -44,9 +46,11 @@ public class SpotTrade {
     @Column(nullable = false, precision = 19, scale = 8)
     private BigDecimal totalValue;
     
+    @Builder.Default
     @Column(precision = 19, scale = 8)
     private BigDecimal commission = BigDecimal.ZERO;
     
+    @Builder.Default
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
     
@@ -1,13 +1,38 @@
 package com.NexTradeX.spot;
 
 import com.NexTradeX.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SpotTradeRepository extends JpaRepository<SpotTrade, Long> {
     List<SpotTrade> findAllByUser(User user);
     List<SpotTrade> findAllByUserAndSymbol(User user, String symbol);
+    
+    // Keyset pagination over (created_at, id), newest first
+    @Query("SELECT t FROM SpotTrade t WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    List<SpotTrade> findHistory(@Param("userId") Long userId, Limit limit);
+    
+    @Query("SELECT t FROM SpotTrade t WHERE t.user.id = :userId " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<SpotTrade> findHistoryBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id, Limit limit);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM SpotTrade t WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<SpotTrade> streamHistory(@Param("userId") Long userId);
 }
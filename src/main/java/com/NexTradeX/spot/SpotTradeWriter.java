@@ -0,0 +1,193 @@
+package com.NexTradeX.spot;
+
+import com.NexTradeX.common.CsvWriter;
+import com.NexTradeX.common.SnowflakeIdGenerator;
+import com.NexTradeX.engine.OrderJournal;
+import com.NexTradeX.engine.WriteBehindQueue;
+import com.NexTradeX.user.User;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Persistence of {@link SpotTrade} rows. Trades are append-only and nothing on
+ * the order path reads them back, so with the order journal enabled an
+ * execution does not wait for their insert: each trade is journaled with the
+ * order transaction, queued once it commits and inserted by a background
+ * flusher in JDBC batches. Trades still queued when the process stops are
+ * re-inserted from the journal on the next start.
+ *
+ * Without the journal nothing could bring a queued trade back after a crash,
+ * so trades are then inserted in the order transaction itself.
+ */
+@Slf4j
+@Component
+public class SpotTradeWriter {
+
+    private static final int RESTORE_CHUNK = 1000;
+
+    private final SpotTradeRepository spotTradeRepository;
+    private final OrderJournal orderJournal;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindQueue<SpotTrade> queue;
+
+    @Value("${nextradex.write-behind.lag-warn-ms:5000}")
+    private long lagWarnMillis;
+
+    @Value("${nextradex.write-behind.dead-letter-dir:data/dead-letter}")
+    private String deadLetterDirectory;
+
+    public SpotTradeWriter(SpotTradeRepository spotTradeRepository, OrderJournal orderJournal,
+                           EntityManager entityManager, PlatformTransactionManager transactionManager,
+                           @Value("${nextradex.write-behind.capacity:65536}") int capacity,
+                           @Value("${nextradex.write-behind.batch-size:500}") int batchSize,
+                           @Value("${nextradex.write-behind.flush-interval-ms:50}") long flushIntervalMillis,
+                           @Value("${nextradex.write-behind.put-timeout-ms:1000}") long putTimeoutMillis) {
+        this.spotTradeRepository = spotTradeRepository;
+        this.orderJournal = orderJournal;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new WriteBehindQueue<>("spot-trades", capacity, batchSize, flushIntervalMillis, putTimeoutMillis,
+                this::insert, SpotTradeWriter::isRetryable, this::setAside);
+        this.queue.start();
+    }
+
+    public void write(SpotTrade trade) {
+        if (!orderJournal.isEnabled()) {
+            spotTradeRepository.save(trade);
+            return;
+        }
+        // The id is fixed up front so a replayed trade can be told apart from one already inserted
+        trade.setId(SnowflakeIdGenerator.nextId());
+        orderJournal.spotTrade(trade);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(trade);
+                }
+            });
+        } else {
+            enqueue(trade);
+        }
+    }
+
+    /**
+     * Queue journaled trades whose rows never reached spot_trades, e.g. because
+     * the process stopped while they were still queued.
+     */
+    public void restore(List<SpotTrade> trades) {
+        int restored = 0;
+        for (int from = 0; from < trades.size(); from += RESTORE_CHUNK) {
+            List<SpotTrade> chunk = trades.subList(from, Math.min(from + RESTORE_CHUNK, trades.size()));
+            Set<Long> inserted = new HashSet<>();
+            spotTradeRepository.findAllById(chunk.stream().map(SpotTrade::getId).toList())
+                    .forEach(trade -> inserted.add(trade.getId()));
+            for (SpotTrade trade : chunk) {
+                if (!inserted.contains(trade.getId())) {
+                    trade.setUser(entityManager.getReference(User.class, trade.getUser().getId()));
+                    queue.put(trade);
+                    restored++;
+                }
+            }
+        }
+        if (restored > 0) {
+            log.info("Re-queued {} journaled spot trades that were not inserted before shutdown", restored);
+        }
+    }
+
+    /**
+     * Wait until every trade queued so far has been inserted or set aside.
+     */
+    public boolean awaitFlushed(long timeoutMillis) throws InterruptedException {
+        return queue.awaitFlushed(timeoutMillis);
+    }
+
+    public WriteBehindQueue.Stats getStats() {
+        return queue.getStats();
+    }
+
+    @Scheduled(fixedDelayString = "${nextradex.write-behind.lag-check-interval-ms:10000}")
+    public void reportLag() {
+        WriteBehindQueue.Stats stats = queue.getStats();
+        if (stats.lagMillis() > lagWarnMillis) {
+            log.warn("Spot trade write-behind is {} ms behind with {} trades queued", stats.lagMillis(), stats.queued());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queue.shutdown(30_000);
+    }
+
+    /**
+     * Runs on the committing shard thread. When the flusher has fallen so far
+     * behind that the queue stays full, the trade is inserted directly instead
+     * of stalling the shard any longer.
+     */
+    private void enqueue(SpotTrade trade) {
+        try {
+            queue.put(trade);
+        } catch (IllegalStateException e) {
+            log.warn("Inserting spot trade {} directly: {}", trade.getId(), e.getMessage());
+            try {
+                insert(List.of(trade));
+            } catch (RuntimeException failure) {
+                log.error("Spot trade {} could not be inserted: {}", trade.getId(), failure.getMessage());
+                setAside(List.of(trade));
+            }
+        }
+    }
+
+    private void insert(List<SpotTrade> trades) {
+        // persist, not save: the ids are already assigned, so save would look each row up first
+        transactionTemplate.executeWithoutResult(status -> trades.forEach(entityManager::persist));
+    }
+
+    private static boolean isRetryable(RuntimeException e) {
+        return !(e instanceof NonTransientDataAccessException) || e instanceof DataAccessResourceFailureException;
+    }
+
+    /**
+     * Append trades that can never be inserted to a CSV file, so they can be
+     * repaired and loaded by hand instead of blocking the ones behind them.
+     */
+    private void setAside(List<SpotTrade> trades) {
+        Path directory = Paths.get(deadLetterDirectory);
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = Files.newOutputStream(directory.resolve("spot-trades.csv"),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                CsvWriter csv = new CsvWriter(out);
+                for (SpotTrade trade : trades) {
+                    csv.row(trade.getId(), trade.getUser().getId(), trade.getSymbol(), trade.getSide(),
+                            trade.getQuantity(), trade.getExecutionPrice(), trade.getTotalValue(),
+                            trade.getCommission(), trade.getCreatedAt(), trade.getRemarks());
+                }
+                csv.flush();
+            }
+        } catch (IOException e) {
+            log.error("Unable to write {} dead-lettered spot trades to {}: {}", trades.size(), directory, e.getMessage());
+        }
+    }
+}
@@ -1,20 +1,38 @@
 package com.NexTradeX.spot;
 
+import com.NexTradeX.common.KeysetCursor;
+import com.NexTradeX.dto.CursorPage;
+import com.NexTradeX.dto.SpotOrderRequest;
+import com.NexTradeX.engine.OrderJournal;
 import com.NexTradeX.exception.InsufficientBalanceException;
 import com.NexTradeX.exception.InvalidOrderException;
+import com.NexTradeX.market.InstrumentSpec;
 import com.NexTradeX.market.MarketService;
+import com.NexTradeX.market.TradeTapeService;
+import com.NexTradeX.matching.BookOrder;
+import com.NexTradeX.matching.Fill;
+import com.NexTradeX.matching.MatchingEngine;
+import com.NexTradeX.matching.StopOrder;
 import com.NexTradeX.order.*;
+import com.NexTradeX.risk.TradingRules;
 import com.NexTradeX.user.User;
 import com.NexTradeX.user.UserService;
+import com.NexTradeX.wallet.Wallet;
 import com.NexTradeX.wallet.WalletService;
 import com.NexTradeX.wallet.WalletType;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -23,16 +41,26 @@ import java.util.List;
 public class SpotTradingService {
     
     private final SpotTradeRepository spotTradeRepository;
+    private final SpotTradeWriter spotTradeWriter;
     private final OrderService orderService;
     private final OrderRepository orderRepository;
     private final UserService userService;
     private final WalletService walletService;
     private final MarketService marketService;
-    
-    private static final BigDecimal COMMISSION_RATE = new BigDecimal("0.001"); // 0.1%
+    private final MatchingEngine matchingEngine;
+    private final OrderJournal orderJournal;
+    private final TradeTapeService tradeTapeService;
+    private final OrderExpiryScheduler orderExpiryScheduler;
+    private final EntityManager entityManager;
     
     public Order createSpotOrder(Long userId, String symbol, OrderSide side,
-                                 OrderType orderType, BigDecimal quantity, BigDecimal price) {
+                                 OrderType orderType, BigDecimal quantity, BigDecimal price,
+                                 BigDecimal stopPrice, BigDecimal trailingDelta,
+                                 TimeInForce timeInForce, LocalDateTime expireAt, String clientOrderId) {
+        if (!InstrumentSpec.isSupported(symbol)) {
+            throw new InvalidOrderException("Unsupported symbol: " + symbol);
+        }
+        
         User user = userService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
@@ -40,12 +68,16 @@ public class SpotTradingService {
             throw new InvalidOrderException("Quantity must be greater than zero");
         }
         
+        String invalid = validateOrder(InstrumentSpec.of(symbol), orderType, quantity, price, stopPrice, trailingDelta,
+                timeInForce, expireAt);
+        if (invalid != null) {
+            throw new InvalidOrderException(invalid);
+        }
+        
         // For market orders, get current price
         BigDecimal executionPrice = price;
         if (orderType == OrderType.MARKET) {
             executionPrice = marketService.getPrice(symbol).getCurrentPrice();
-        } else if (orderType == OrderType.LIMIT && (price == null || price.compareTo(BigDecimal.ZERO) <= 0)) {
-            throw new InvalidOrderException("Price must be specified for limit orders");
         }
         
         Order order = Order.builder()
@@ -55,22 +87,150 @@ public class SpotTradingService {
                 .orderType(orderType)
                 .quantity(quantity)
                 .price(executionPrice)
+                .stopPrice(stopPrice)
+                .trailingDelta(trailingDelta)
+                .timeInForce(timeInForce)
+                .expireAt(expireAt)
+                .clientOrderId(clientOrderId)
                 .status(OrderStatus.OPEN)
                 .tradeType(TradeType.SPOT)
                 .leverage(BigDecimal.ONE)
                 .build();
         
+        if (orderType == OrderType.LIMIT && !matchingEngine.admits(toBookOrder(order))) {
+            // Would be killed or rejected by the book straight away, so it is never persisted
+            closeUnrested(order);
+            log.info("Spot {} order for user {} on {} not admitted: {}", timeInForce, userId, symbol, order.getRemarks());
+            return order;
+        }
+        
         Order savedOrder = orderRepository.save(order);
         
-        // For market orders, execute immediately
+        // For market orders, execute immediately; limit orders go to the book and stops wait for their trigger
         if (orderType == OrderType.MARKET) {
+            orderJournal.orderAccepted(savedOrder);
             executeSpotOrder(savedOrder.getId(), userId);
+        } else if (orderType == OrderType.LIMIT) {
+            matchLimitOrder(savedOrder, walletService.getWallet(userId, WalletType.SPOT));
+        } else {
+            placeStopOrder(savedOrder, marketService.getPrice(symbol).getCurrentPrice());
         }
         
         log.info("Spot order created for user {}: {} {} {}", userId, symbol, side, quantity);
         return savedOrder;
     }
     
+    /**
+     * Create a batch of orders for one symbol in a single transaction. The user,
+     * wallet and market price are loaded once, all orders are inserted together,
+     * and orders that fail their checks are kept as REJECTED instead of aborting
+     * the rest of the batch. The result is aligned with {@code requests}.
+     *
+     * Every rejection is decided here, before the order reaches a transactional
+     * collaborator: an exception escaping one of those would mark the shared
+     * transaction rollback-only and sink the whole batch at commit. Anything
+     * that still fails after these checks fails the batch as a whole.
+     */
+    public List<Order> createSpotOrders(Long userId, String symbol, List<SpotOrderRequest> requests) {
+        if (!InstrumentSpec.isSupported(symbol)) {
+            throw new InvalidOrderException("Unsupported symbol: " + symbol);
+        }
+        User user = userService.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Wallet wallet = walletService.getWallet(userId, WalletType.SPOT);
+        BigDecimal marketPrice = null;
+        
+        List<Order> orders = new ArrayList<>(requests.size());
+        for (SpotOrderRequest request : requests) {
+            OrderType orderType = OrderType.valueOf(request.getOrderType().toUpperCase());
+            TimeInForce timeInForce = request.getTimeInForce() == null
+                    ? TimeInForce.GTC : TimeInForce.valueOf(request.getTimeInForce().toUpperCase());
+            BigDecimal price = request.getPrice();
+            if (orderType != OrderType.LIMIT && marketPrice == null) {
+                marketPrice = marketService.getPrice(symbol).getCurrentPrice();
+            }
+            if (orderType == OrderType.MARKET) {
+                price = marketPrice;
+            }
+            Order order = Order.builder()
+                    .user(user)
+                    .symbol(symbol)
+                    .side(OrderSide.valueOf(request.getSide().toUpperCase()))
+                    .orderType(orderType)
+                    .quantity(request.getQuantity())
+                    .price(price)
+                    .stopPrice(request.getStopPrice())
+                    .trailingDelta(request.getTrailingDelta())
+                    .timeInForce(timeInForce)
+                    .expireAt(request.getExpireAt())
+                    .clientOrderId(request.getClientOrderId())
+                    .status(OrderStatus.OPEN)
+                    .tradeType(TradeType.SPOT)
+                    .leverage(BigDecimal.ONE)
+                    .build();
+            String invalid = validateOrder(InstrumentSpec.of(symbol), orderType, request.getQuantity(),
+                    request.getPrice(), request.getStopPrice(), request.getTrailingDelta(),
+                    timeInForce, request.getExpireAt());
+            if (invalid != null) {
+                order.setStatus(OrderStatus.REJECTED);
+                order.setRemarks(invalid);
+            }
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+        
+        for (Order order : orders) {
+            if (order.getStatus() != OrderStatus.OPEN) {
+                continue;
+            }
+            String rejection = checkBatchOrder(order, wallet, marketPrice);
+            if (rejection != null) {
+                order.setStatus(OrderStatus.REJECTED);
+                order.setRemarks(rejection);
+                log.debug("Batch order {} rejected: {}", order.getId(), rejection);
+                continue;
+            }
+            if (order.getOrderType() == OrderType.MARKET) {
+                orderJournal.orderAccepted(order);
+                executeSpotOrder(order, wallet);
+            } else if (order.getOrderType() == OrderType.LIMIT) {
+                matchLimitOrder(order, wallet);
+            } else {
+                placeStopOrder(order, marketPrice);
+            }
+        }
+        
+        log.info("Batch of {} spot orders created for user {} on {}", orders.size(), userId, symbol);
+        return orders;
+    }
+    
+    /**
+     * The checks {@link #executeSpotOrder}, {@link #matchLimitOrder} and
+     * {@link #placeStopOrder} would fail on, against the wallet as left by the
+     * batch's earlier orders.
+     *
+     * @return why the order is rejected, or null if it can go ahead
+     */
+    private String checkBatchOrder(Order order, Wallet wallet, BigDecimal marketPrice) {
+        BigDecimal required;
+        if (order.getOrderType() == OrderType.MARKET) {
+            InstrumentSpec spec = InstrumentSpec.of(order.getSymbol());
+            long notional = TradingRules.notional(spec, spec.toTicks(order.getPrice()), spec.toLots(order.getQuantity()));
+            required = order.getSide() == OrderSide.BUY
+                    ? money(notional + TradingRules.commission(notional))
+                    : order.getQuantity();
+        } else {
+            if (order.getStopPrice() != null && order.getOrderType() != OrderType.TRAILING_STOP) {
+                int cmp = marketPrice.compareTo(order.getStopPrice());
+                if (order.getSide() == OrderSide.BUY ? cmp >= 0 : cmp <= 0) {
+                    return "Stop price would trigger immediately";
+                }
+            }
+            required = OrderService.reservedFunds(order, order.getQuantity());
+        }
+        return walletService.hasEnoughBalance(wallet.getId(), required) ? null : "Insufficient balance";
+    }
+    
     @Transactional
     public void executeSpotOrder(Long orderId, Long userId) {
         Order order = orderRepository.findById(orderId)
@@ -80,13 +240,17 @@ public class SpotTradingService {
             throw new InvalidOrderException("Order is not open");
         }
         
+        executeSpotOrder(order, walletService.getWallet(userId, WalletType.SPOT));
+    }
+    
+    private void executeSpotOrder(Order order, Wallet wallet) {
+        InstrumentSpec spec = InstrumentSpec.of(order.getSymbol());
         BigDecimal executionPrice = order.getPrice();
-        BigDecimal totalCost = executionPrice.multiply(order.getQuantity());
-        BigDecimal commission = totalCost.multiply(COMMISSION_RATE);
-        BigDecimal totalWithCommission = totalCost.add(commission);
-        
-        // Get wallet
-        var wallet = walletService.getWallet(userId, WalletType.SPOT);
+        long notional = TradingRules.notional(spec, spec.toTicks(executionPrice), spec.toLots(order.getQuantity()));
+        long fee = TradingRules.commission(notional);
+        BigDecimal totalCost = money(notional);
+        BigDecimal commission = money(fee);
+        BigDecimal totalWithCommission = money(notional + fee);
         
         if (order.getSide() == OrderSide.BUY) {
             // Check balance
@@ -109,12 +273,11 @@ public class SpotTradingService {
             }
             
             // Add to balance after commission
-            BigDecimal netProceeds = totalCost.subtract(commission);
-            walletService.updateBalance(wallet.getId(), netProceeds);
+            walletService.updateBalance(wallet.getId(), money(notional - fee));
         }
         
         // Fill order
-        orderService.fillOrder(orderId, order.getQuantity(), executionPrice);
+        orderService.fillOrder(order.getId(), order.getQuantity(), executionPrice);
         
         // Record trade
         SpotTrade trade = SpotTrade.builder()
@@ -127,14 +290,233 @@ public class SpotTradingService {
                 .commission(commission)
                 .build();
         
-        spotTradeRepository.save(trade);
+        spotTradeWriter.write(trade);
+        tradeTapeService.record(order.getSymbol(), order.getSide(), executionPrice, order.getQuantity());
         log.info("Spot order executed: {} {} {}", order.getSymbol(), order.getSide(), order.getQuantity());
     }
     
-    public List<SpotTrade> getUserSpotTrades(Long userId) {
-        User user = userService.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return spotTradeRepository.findAllByUser(user);
+    private void matchLimitOrder(Order order, Wallet wallet) {
+        if (!walletService.hasEnoughBalance(wallet.getId(), OrderService.reservedFunds(order, order.getQuantity()))) {
+            order.setStatus(OrderStatus.REJECTED);
+            order.setRemarks("Insufficient balance");
+            orderRepository.save(order);
+            throw new InsufficientBalanceException("Insufficient balance for limit order");
+        }
+        
+        orderJournal.orderAccepted(order);
+        BookOrder bookOrder = toBookOrder(order);
+        List<Fill> fills = matchingEngine.submit(bookOrder);
+        
+        OrderSide makerSide = order.getSide() == OrderSide.BUY ? OrderSide.SELL : OrderSide.BUY;
+        for (Fill fill : fills) {
+            orderJournal.fill(fill);
+            settleFill(fill.getSymbol(), fill.getTakerOrderId(), fill.getTakerUserId(), order.getSide(), fill.getPrice(), fill.getQuantity(), false);
+            settleFill(fill.getSymbol(), fill.getMakerOrderId(), fill.getMakerUserId(), makerSide, fill.getPrice(), fill.getQuantity(), true);
+            tradeTapeService.record(fill.getSymbol(), fill.getTakerSide(), fill.getPrice(), fill.getQuantity());
+        }
+        
+        if (bookOrder.isResting()) {
+            // The resting remainder holds its funds until it is filled, cancelled or expires
+            walletService.lockFunds(wallet.getId(), OrderService.reservedFunds(order, bookOrder.getRemainingQuantity()));
+            if (order.getTimeInForce() == TimeInForce.GTD) {
+                orderExpiryScheduler.schedule(order);
+            }
+        } else if (!bookOrder.isFilled()) {
+            closeUnrested(order);
+            orderRepository.save(order);
+        }
+    }
+    
+    /**
+     * Close an order whose time in force kept (the rest of) it out of the book.
+     */
+    private void closeUnrested(Order order) {
+        if (order.getTimeInForce() == TimeInForce.POST_ONLY) {
+            order.setStatus(OrderStatus.REJECTED);
+            order.setRemarks("Post-only order would take liquidity");
+        } else {
+            order.setStatus(OrderStatus.EXPIRED);
+            order.setRemarks(order.getTimeInForce() == TimeInForce.FOK
+                    ? "Fill-or-kill order could not be filled in full"
+                    : "Unfilled remainder of immediate-or-cancel order expired");
+        }
+    }
+    
+    private BookOrder toBookOrder(Order order) {
+        return new BookOrder(order.getId(), order.getUser().getId(), order.getSymbol(),
+                order.getSide(), order.getPrice(), order.getQuantity(), order.getTimeInForce());
+    }
+    
+    /**
+     * Execute stops triggered by a price tick. Called on the symbol's sequencer
+     * shard after {@link MatchingEngine#triggerStops} removed them from the stop book.
+     */
+    public void executeTriggeredStops(List<StopOrder> triggered, BigDecimal price) {
+        for (StopOrder stop : triggered) {
+            Order order = orderRepository.findById(stop.getOrderId()).orElse(null);
+            if (order == null || order.getStatus() != OrderStatus.OPEN) {
+                continue;
+            }
+            try {
+                Wallet wallet = walletService.getWallet(stop.getUserId(), WalletType.SPOT);
+                if (order.getOrderType() == OrderType.STOP_LIMIT) {
+                    // Hand the funds reserved at placement over to the limit order
+                    walletService.unlockFunds(wallet.getId(), OrderService.reservedFunds(order, order.getQuantity()));
+                    matchLimitOrder(order, wallet);
+                } else {
+                    order.setPrice(price);
+                    orderJournal.orderAccepted(order);
+                    executeSpotOrder(order, wallet);
+                }
+                log.info("Stop order {} triggered at {}", order.getId(), price);
+            } catch (InsufficientBalanceException | InvalidOrderException e) {
+                log.info("Triggered stop order {} rejected: {}", order.getId(), e.getMessage());
+            }
+        }
+    }
+    
+    private void placeStopOrder(Order order, BigDecimal marketPrice) {
+        StopOrder stop;
+        if (order.getOrderType() == OrderType.TRAILING_STOP) {
+            stop = StopOrder.trailing(order.getId(), order.getUser().getId(), order.getSymbol(),
+                    order.getSide(), order.getTrailingDelta(), marketPrice);
+        } else {
+            int cmp = marketPrice.compareTo(order.getStopPrice());
+            if (order.getSide() == OrderSide.BUY ? cmp >= 0 : cmp <= 0) {
+                order.setStatus(OrderStatus.REJECTED);
+                order.setRemarks("Stop price would trigger immediately");
+                orderRepository.save(order);
+                throw new InvalidOrderException("Stop price would trigger immediately");
+            }
+            stop = StopOrder.stop(order.getId(), order.getUser().getId(), order.getSymbol(),
+                    order.getSide(), order.getStopPrice());
+        }
+        if (order.getOrderType() == OrderType.STOP_LIMIT) {
+            // Stop-limit orders reserve their limit-price cost up front, like a resting limit order
+            BigDecimal reserved = OrderService.reservedFunds(order, order.getQuantity());
+            Wallet wallet = walletService.getWallet(order.getUser().getId(), WalletType.SPOT);
+            if (!walletService.hasEnoughBalance(wallet.getId(), reserved)) {
+                order.setStatus(OrderStatus.REJECTED);
+                order.setRemarks("Insufficient balance");
+                orderRepository.save(order);
+                throw new InsufficientBalanceException("Insufficient balance for stop-limit order");
+            }
+            walletService.lockFunds(wallet.getId(), reserved);
+        }
+        matchingEngine.addStop(stop);
+    }
+    
+    private String validateOrder(InstrumentSpec spec, OrderType orderType, BigDecimal quantity,
+                                 BigDecimal price, BigDecimal stopPrice, BigDecimal trailingDelta,
+                                 TimeInForce timeInForce, LocalDateTime expireAt) {
+        boolean needsPrice = orderType == OrderType.LIMIT || orderType == OrderType.STOP_LIMIT;
+        boolean needsStop = orderType == OrderType.STOP_MARKET || orderType == OrderType.STOP_LIMIT;
+        if (needsPrice && (price == null || price.compareTo(BigDecimal.ZERO) <= 0)) {
+            return "Price must be specified for limit orders";
+        }
+        if (needsStop && (stopPrice == null || stopPrice.compareTo(BigDecimal.ZERO) <= 0)) {
+            return "Stop price must be specified for stop orders";
+        }
+        if (orderType == OrderType.TRAILING_STOP && (trailingDelta == null || trailingDelta.compareTo(BigDecimal.ZERO) <= 0)) {
+            return "Trailing delta must be specified for trailing stop orders";
+        }
+        if (timeInForce != TimeInForce.GTC && !needsPrice) {
+            return "Time in force only applies to limit and stop-limit orders";
+        }
+        if (timeInForce == TimeInForce.GTD && (expireAt == null || !expireAt.isAfter(LocalDateTime.now()))) {
+            return "Expiry time must be in the future for GTD orders";
+        }
+        if (timeInForce != TimeInForce.GTD && expireAt != null) {
+            return "Expiry time is only allowed for GTD orders";
+        }
+        if (!spec.isValidQuantity(quantity)) {
+            return "Quantity exceeds " + spec.quantityScale() + " decimals for " + spec.symbol();
+        }
+        for (BigDecimal value : new BigDecimal[]{price, stopPrice, trailingDelta}) {
+            if (value != null && !spec.isValidPrice(value)) {
+                return "Price exceeds " + spec.priceScale() + " decimals for " + spec.symbol();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Book one side of a fill. A resting maker first releases the part of its
+     * reservation that the filled quantity no longer needs.
+     */
+    private void settleFill(String symbol, Long orderId, Long userId, OrderSide side, BigDecimal price,
+                            BigDecimal quantity, boolean resting) {
+        InstrumentSpec spec = InstrumentSpec.of(symbol);
+        long notional = TradingRules.notional(spec, spec.toTicks(price), spec.toLots(quantity));
+        long fee = TradingRules.commission(notional);
+        BigDecimal totalValue = money(notional);
+        BigDecimal commission = money(fee);
+        
+        var wallet = walletService.getWallet(userId, WalletType.SPOT);
+        if (resting) {
+            Order maker = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new RuntimeException("Order not found"));
+            BigDecimal remaining = maker.getQuantity().subtract(maker.getFilledQuantity());
+            walletService.unlockFunds(wallet.getId(), OrderService.reservedFunds(maker, remaining)
+                    .subtract(OrderService.reservedFunds(maker, remaining.subtract(quantity))));
+        }
+        if (side == OrderSide.BUY) {
+            walletService.updateBalance(wallet.getId(), money(notional + fee).negate());
+        } else {
+            walletService.updateBalance(wallet.getId(), money(notional - fee));
+        }
+        
+        Order filled = orderService.fillOrder(orderId, quantity, price);
+        if (filled.getStatus() == OrderStatus.FILLED && filled.getTimeInForce() == TimeInForce.GTD) {
+            orderExpiryScheduler.cancel(orderId);
+        }
+        
+        SpotTrade trade = SpotTrade.builder()
+                .user(filled.getUser())
+                .symbol(filled.getSymbol())
+                .side(side.name())
+                .quantity(quantity)
+                .executionPrice(price)
+                .totalValue(totalValue)
+                .commission(commission)
+                .build();
+        
+        spotTradeWriter.write(trade);
+        log.info("Spot limit order {} filled {} @ {}", orderId, quantity, price);
+    }
+    
+    private static BigDecimal money(long amount) {
+        return TradingRules.fromMoney(amount);
+    }
+    
+    /**
+     * One page of the user's spot trades, newest first, starting after {@code cursor}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<SpotTrade> getUserSpotTrades(Long userId, String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<SpotTrade> rows;
+        if (cursor == null) {
+            rows = spotTradeRepository.findHistory(userId, Limit.of(pageSize + 1));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = spotTradeRepository.findHistoryBefore(userId, after.createdAt(), after.id(), Limit.of(pageSize + 1));
+        }
+        return CursorPage.of(rows, pageSize, trade -> new KeysetCursor(trade.getCreatedAt(), trade.getId()));
+    }
+    
+    /**
+     * Feed every spot trade of the user to {@code consumer} from a database
+     * cursor, detaching each one once consumed.
+     */
+    @Transactional(readOnly = true)
+    public void streamUserSpotTrades(Long userId, Consumer<SpotTrade> consumer) {
+        try (Stream<SpotTrade> trades = spotTradeRepository.streamHistory(userId)) {
+            trades.forEach(trade -> {
+                consumer.accept(trade);
+                entityManager.detach(trade);
+            });
+        }
     }
     
     public List<SpotTrade> getUserSpotTradesBySymbol(Long userId, String symbol) {
@@ -0,0 +1,170 @@
+package com.NexTradeX.spot;
+
+import com.NexTradeX.engine.OrderSequencer;
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.market.MarketService;
+import com.NexTradeX.market.PriceUpdatedEvent;
+import com.NexTradeX.matching.MatchingEngine;
+import com.NexTradeX.matching.StopOrder;
+import com.NexTradeX.order.Order;
+import com.NexTradeX.order.OrderRepository;
+import com.NexTradeX.order.OrderService;
+import com.NexTradeX.order.OrderStatus;
+import com.NexTradeX.order.OrderType;
+import com.NexTradeX.order.TradeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds committed price updates into the stop books. Evaluation runs on the
+ * symbol's sequencer shard and stays in memory; a transaction is only opened
+ * when the tick actually triggered something.
+ *
+ * A stop whose execution fails is re-armed for the next tick and rejected
+ * once it has failed {@code nextradex.stops.max-trigger-attempts} times, so an
+ * order that can never go through does not fail on every tick forever.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StopOrderTrigger {
+
+    private final OrderSequencer orderSequencer;
+    private final MatchingEngine matchingEngine;
+    private final SpotTradingService spotTradingService;
+    private final OrderRepository orderRepository;
+    private final MarketService marketService;
+    private final OrderService orderService;
+
+    // Failed attempts per order id, kept until the stop goes through or is rejected
+    private final Map<Long, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    @Value("${nextradex.stops.max-trigger-attempts:5}")
+    private int maxTriggerAttempts;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        if (!InstrumentSpec.isSupported(event.symbol())) {
+            return;
+        }
+        InstrumentSpec spec = InstrumentSpec.of(event.symbol());
+        long priceTicks = spec.toTicks(spec.roundPrice(event.price()));
+        orderSequencer.submit(event.symbol(), () -> {
+            List<StopOrder> triggered = matchingEngine.triggerStops(event.symbol(), priceTicks);
+            if (triggered.isEmpty()) {
+                return;
+            }
+            try {
+                spotTradingService.executeTriggeredStops(triggered, event.price());
+                if (!failedAttempts.isEmpty()) {
+                    triggered.forEach(stop -> failedAttempts.remove(stop.getOrderId()));
+                }
+            } catch (RuntimeException e) {
+                if (triggered.size() == 1) {
+                    onFailure(triggered.get(0), e);
+                    return;
+                }
+                // The whole batch rolled back: run the stops one by one so only the failing ones are held back
+                log.warn("Executing {} triggered stops on {} failed, retrying them one by one: {}",
+                        triggered.size(), event.symbol(), e.getMessage());
+                for (StopOrder stop : triggered) {
+                    try {
+                        spotTradingService.executeTriggeredStops(List.of(stop), event.price());
+                        failedAttempts.remove(stop.getOrderId());
+                    } catch (RuntimeException failure) {
+                        onFailure(stop, failure);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs on the stop's shard after its execution rolled back, so the order
+     * is still open: re-arm it for the next tick, or reject it once it has
+     * used up its attempts.
+     */
+    private void onFailure(StopOrder stop, RuntimeException e) {
+        int attempts = failedAttempts.merge(stop.getOrderId(), 1, Integer::sum);
+        if (attempts < maxTriggerAttempts) {
+            matchingEngine.addStop(stop);
+            log.error("Triggered stop order {} failed (attempt {} of {}), re-armed it: {}",
+                    stop.getOrderId(), attempts, maxTriggerAttempts, e.getMessage());
+            return;
+        }
+        failedAttempts.remove(stop.getOrderId());
+        try {
+            orderService.rejectOrder(stop.getOrderId(), "Stop order could not be executed");
+        } catch (RuntimeException rejection) {
+            log.error("Unable to reject stop order {} after {} failed attempts: {}",
+                    stop.getOrderId(), attempts, rejection.getMessage());
+        }
+    }
+
+    /**
+     * Stop books live in memory only, so re-arm the stops of spot orders still
+     * waiting for their trigger after a restart. Trailing stops re-anchor at the
+     * current price, as the extreme they tracked before the restart is not stored.
+     * Orders already in a replayed book, such as triggered stop-limit orders,
+     * or placed since startup are left as they are.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreOpenStops() {
+        List<Order> orders = orderRepository.findAllByTradeTypeAndOrderTypeInAndStatus(TradeType.SPOT,
+                EnumSet.of(OrderType.STOP_MARKET, OrderType.STOP_LIMIT, OrderType.TRAILING_STOP), OrderStatus.OPEN);
+        Map<String, List<Order>> bySymbol = orders.stream().collect(Collectors.groupingBy(Order::getSymbol));
+        int[] restored = {0};
+        bySymbol.forEach((symbol, symbolOrders) -> {
+            if (!InstrumentSpec.isSupported(symbol)) {
+                log.warn("Not restoring {} stop orders on unlisted symbol {}", symbolOrders.size(), symbol);
+                return;
+            }
+            BigDecimal marketPrice = currentPrice(symbol);
+            List<StopOrder> stops = symbolOrders.stream()
+                    .filter(order -> order.getOrderType() != OrderType.TRAILING_STOP || marketPrice != null)
+                    .map(order -> toStop(order, marketPrice))
+                    .toList();
+            orderSequencer.run(symbol, () -> stops.stream()
+                    .filter(stop -> !matchingEngine.contains(symbol, stop.getOrderId()))
+                    .forEach(stop -> {
+                        matchingEngine.addStop(stop);
+                        restored[0]++;
+                    }));
+            if (stops.size() < symbolOrders.size()) {
+                log.warn("No price for {}, trailing stops stay unarmed until the next restart", symbol);
+            }
+        });
+        if (restored[0] > 0) {
+            log.info("Restored {} open stop orders", restored[0]);
+        }
+    }
+
+    private BigDecimal currentPrice(String symbol) {
+        try {
+            return marketService.getPrice(symbol).getCurrentPrice();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static StopOrder toStop(Order order, BigDecimal marketPrice) {
+        if (order.getOrderType() == OrderType.TRAILING_STOP) {
+            return StopOrder.trailing(order.getId(), order.getUser().getId(), order.getSymbol(),
+                    order.getSide(), order.getTrailingDelta(), marketPrice);
+        }
+        return StopOrder.stop(order.getId(), order.getUser().getId(), order.getSymbol(),
+                order.getSide(), order.getStopPrice());
+    }
+}
@@ -0,0 +1,42 @@
+package com.NexTradeX.tickstore;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads back bit strings written by {@link BitWriter}.
+ */
+final class BitReader {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private long position;
+
+    BitReader(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    long read(int bits) {
+        long value = 0;
+        while (bits > 0) {
+            int available = 8 - (int) (position & 7);
+            int n = Math.min(available, bits);
+            int current = buffer.get(offset + (int) (position >>> 3)) & 0xFF;
+            value = value << n | (current >>> (available - n)) & ((1 << n) - 1);
+            bits -= n;
+            position += n;
+        }
+        return value;
+    }
+
+    boolean readBit() {
+        return read(1) == 1;
+    }
+
+    /**
+     * Read a {@code bits}-wide two's complement value.
+     */
+    long readSigned(int bits) {
+        return read(bits) << (64 - bits) >> (64 - bits);
+    }
+}
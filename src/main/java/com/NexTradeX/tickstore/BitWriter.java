@@ -0,0 +1,45 @@
+package com.NexTradeX.tickstore;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Appends bit strings, most significant bit first, into a region of a buffer
+ * that starts zeroed. Only absolute buffer access is used, so readers on other
+ * threads may decode the bits already written.
+ */
+final class BitWriter {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final long capacityBits;
+    private long position;
+
+    BitWriter(ByteBuffer buffer, int offset, int capacityBytes) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.capacityBits = capacityBytes * 8L;
+    }
+
+    /**
+     * Write the low {@code bits} bits of {@code value}.
+     */
+    void write(long value, int bits) {
+        while (bits > 0) {
+            int index = offset + (int) (position >>> 3);
+            int free = 8 - (int) (position & 7);
+            int n = Math.min(free, bits);
+            int chunk = (int) (value >>> (bits - n)) & ((1 << n) - 1);
+            buffer.put(index, (byte) (buffer.get(index) | chunk << (free - n)));
+            bits -= n;
+            position += n;
+        }
+    }
+
+    long remaining() {
+        return capacityBits - position;
+    }
+
+    long position() {
+        return position;
+    }
+}
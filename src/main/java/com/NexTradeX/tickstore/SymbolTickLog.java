@@ -0,0 +1,155 @@
+package com.NexTradeX.tickstore;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The ordered segment files of one symbol. Segment names are
+ * {@code <first tick millis>-<sequence>.seg}, zero padded so that name order
+ * is time order; a new segment is started when the current one is full or
+ * spans more than the configured duration.
+ */
+@Slf4j
+final class SymbolTickLog {
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int columnBytes;
+    private final long segmentMillis;
+
+    // Sorted by first tick time; replaced on every change so scans can take a snapshot
+    private volatile List<SegmentRef> segments;
+    private TickSegment active;
+    private long nextSequence;
+    private long lastTime = Long.MIN_VALUE;
+
+    record SegmentRef(long firstTime, Path path, TickSegment openSegment) {
+
+        TickSegment segment() {
+            return openSegment != null ? openSegment : TickSegment.open(path);
+        }
+    }
+
+    SymbolTickLog(Path directory, int columnBytes, long segmentMillis) {
+        this.directory = directory;
+        this.columnBytes = columnBytes;
+        this.segmentMillis = segmentMillis;
+        List<SegmentRef> existing = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.map(Path::getFileName).map(Path::toString).filter(name -> name.endsWith(SUFFIX)).sorted()
+                        .forEach(name -> {
+                            String[] parts = name.substring(0, name.length() - SUFFIX.length()).split("-");
+                            existing.add(new SegmentRef(Long.parseLong(parts[0]), directory.resolve(name), null));
+                            nextSequence = Math.max(nextSequence, Long.parseLong(parts[1]) + 1);
+                        });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read tick directory " + directory, e);
+        }
+        this.segments = List.copyOf(existing);
+    }
+
+    synchronized void append(long timeMillis, long priceTicks) {
+        // Timestamps are delta encoded and scans stop at the first later tick: keep them monotonic
+        long time = Math.max(timeMillis, lastTime);
+        if (active == null || time - active.getFirstTime() >= segmentMillis || !active.append(time, priceTicks)) {
+            roll(time, priceTicks);
+        }
+        lastTime = time;
+    }
+
+    private void roll(long timeMillis, long priceTicks) {
+        if (active != null) {
+            active.force();
+        }
+        Path path = directory.resolve(String.format("%013d-%06d%s", timeMillis, nextSequence++, SUFFIX));
+        active = TickSegment.create(path, columnBytes, timeMillis, priceTicks);
+
+        List<SegmentRef> next = new ArrayList<>(segments.size() + 1);
+        for (SegmentRef ref : segments) {
+            // Only the active segment stays mapped; sealed ones are mapped per scan
+            next.add(ref.openSegment() != null ? new SegmentRef(ref.firstTime(), ref.path(), null) : ref);
+        }
+        next.add(new SegmentRef(timeMillis, path, active));
+        segments = List.copyOf(next);
+    }
+
+    /**
+     * Visit ticks in {@code [from, to]} across segments, in time order.
+     */
+    void scan(long from, long to, TickVisitor visitor) {
+        List<SegmentRef> snapshot = segments;
+        for (int i = firstCandidate(snapshot, from); i < snapshot.size(); i++) {
+            SegmentRef ref = snapshot.get(i);
+            if (ref.firstTime() > to) {
+                return;
+            }
+            if (!ref.segment().scan(from, to, visitor)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Index of the last segment starting at or before {@code from}, the first that
+     * can hold ticks at or after it.
+     */
+    private static int firstCandidate(List<SegmentRef> refs, long from) {
+        int low = 0;
+        int high = refs.size() - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (refs.get(mid).firstTime() <= from) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        // Segments may share a first millisecond; step back to the earliest of them
+        while (found > 0 && refs.get(found - 1).firstTime() == refs.get(found).firstTime()) {
+            found--;
+        }
+        return found;
+    }
+
+    /**
+     * Delete sealed segments whose every tick is older than the cutoff.
+     */
+    synchronized int deleteBefore(long cutoffMillis) {
+        List<SegmentRef> kept = new ArrayList<>(segments);
+        int deleted = 0;
+        // A segment ends before its successor starts, so only check those with a successor
+        while (kept.size() > 1 && kept.get(1).firstTime() < cutoffMillis) {
+            SegmentRef ref = kept.remove(0);
+            try {
+                Files.deleteIfExists(ref.path());
+                deleted++;
+            } catch (IOException e) {
+                log.warn("Cannot delete tick segment {}: {}", ref.path(), e.getMessage());
+                kept.add(0, ref);
+                break;
+            }
+        }
+        segments = List.copyOf(kept);
+        return deleted;
+    }
+
+    synchronized void close() {
+        if (active != null) {
+            active.force();
+            active = null;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.NexTradeX.tickstore;
+
+import java.math.BigDecimal;
+
+public record TickPoint(long time, BigDecimal price) {
+}
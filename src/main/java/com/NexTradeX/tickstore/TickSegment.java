@@ -0,0 +1,235 @@
+package com.NexTradeX.tickstore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One append-only, memory-mapped segment file of a symbol's ticks, stored as
+ * two compressed columns:
+ * <ul>
+ *     <li>timestamps as delta-of-deltas with Gorilla-style variable-width
+ *     prefixes, so evenly spaced ticks cost one bit</li>
+ *     <li>prices in ticks XORed with the previous price, storing only the
+ *     meaningful bits and reusing the previous leading/trailing-zero window
+ *     when the new value fits in it</li>
+ * </ul>
+ * The first tick lives in the header. A segment is written by one thread at
+ * a time; {@link #scan} may run concurrently and sees every tick appended
+ * before it started.
+ *
+ * A segment is never reopened for writing: after a restart its symbol starts
+ * a new one, so nothing has to be recovered from a partially written tick.
+ */
+final class TickSegment {
+
+    private static final int MAGIC = 0x5449434B; // "TICK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int FIRST_TIME = 8;
+    private static final int FIRST_VALUE = 16;
+    private static final int LAST_TIME = 24;
+    private static final int COUNT = 32;
+    private static final int COLUMN_BYTES = 36;
+
+    // Worst-case encoded size of one tick per column
+    private static final int MAX_TIME_BITS = 4 + 64;
+    private static final int MAX_VALUE_BITS = 2 + 6 + 6 + 64;
+
+    private final MappedByteBuffer buffer;
+    private final int columnBytes;
+    private final long firstTime;
+    private final long firstValue;
+
+    private BitWriter times;
+    private BitWriter values;
+    private long previousTime;
+    private long previousDelta;
+    private long previousValue;
+    private int previousLeading = -1;
+    private int previousTrailing;
+
+    private volatile int count;
+    private volatile long lastTime;
+
+    private TickSegment(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a tick segment");
+        }
+        this.columnBytes = buffer.getInt(COLUMN_BYTES);
+        this.firstTime = buffer.getLong(FIRST_TIME);
+        this.firstValue = buffer.getLong(FIRST_VALUE);
+        this.lastTime = buffer.getLong(LAST_TIME);
+        this.count = buffer.getInt(COUNT);
+    }
+
+    static TickSegment create(Path path, int columnBytes, long timeMillis, long priceTicks) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + 2L * columnBytes);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(FIRST_TIME, timeMillis);
+            buffer.putLong(FIRST_VALUE, priceTicks);
+            buffer.putLong(LAST_TIME, timeMillis);
+            buffer.putInt(COUNT, 1);
+            buffer.putInt(COLUMN_BYTES, columnBytes);
+
+            TickSegment segment = new TickSegment(buffer);
+            segment.times = new BitWriter(buffer, HEADER_BYTES, columnBytes);
+            segment.values = new BitWriter(buffer, HEADER_BYTES + columnBytes, columnBytes);
+            segment.previousTime = timeMillis;
+            segment.previousValue = priceTicks;
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create tick segment " + path, e);
+        }
+    }
+
+    static TickSegment open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new TickSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open tick segment " + path, e);
+        }
+    }
+
+    /**
+     * Append a tick; timestamps must not go backwards.
+     *
+     * @return false if the segment is full or read-only, nothing was written
+     */
+    boolean append(long timeMillis, long priceTicks) {
+        if (times == null || times.remaining() < MAX_TIME_BITS || values.remaining() < MAX_VALUE_BITS) {
+            return false;
+        }
+        long delta = timeMillis - previousTime;
+        encodeDeltaOfDelta(delta - previousDelta);
+        encodeValue(priceTicks);
+        previousTime = timeMillis;
+        previousDelta = delta;
+        previousValue = priceTicks;
+
+        buffer.putLong(LAST_TIME, timeMillis);
+        buffer.putInt(COUNT, count + 1);
+        lastTime = timeMillis;
+        count = count + 1; // publishes the bits above to concurrent scans
+        return true;
+    }
+
+    private void encodeDeltaOfDelta(long dod) {
+        if (dod == 0) {
+            times.write(0, 1);
+        } else if (dod >= -64 && dod <= 63) {
+            times.write(0b10, 2);
+            times.write(dod, 7);
+        } else if (dod >= -256 && dod <= 255) {
+            times.write(0b110, 3);
+            times.write(dod, 9);
+        } else if (dod >= -2048 && dod <= 2047) {
+            times.write(0b1110, 4);
+            times.write(dod, 12);
+        } else {
+            times.write(0b1111, 4);
+            times.write(dod, 64);
+        }
+    }
+
+    private void encodeValue(long value) {
+        long xor = value ^ previousValue;
+        if (xor == 0) {
+            values.write(0, 1);
+            return;
+        }
+        int leading = Long.numberOfLeadingZeros(xor);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+            values.write(0b10, 2);
+            values.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+        } else {
+            int meaningful = 64 - leading - trailing;
+            values.write(0b11, 2);
+            values.write(leading, 6);
+            values.write(meaningful - 1, 6);
+            values.write(xor >>> trailing, meaningful);
+            previousLeading = leading;
+            previousTrailing = trailing;
+        }
+    }
+
+    /**
+     * Visit ticks with {@code from <= time <= to} in time order.
+     *
+     * @return false if the visitor stopped the scan
+     */
+    boolean scan(long from, long to, TickVisitor visitor) {
+        int n = count;
+        if (n == 0 || firstTime > to || lastTime < from) {
+            return true;
+        }
+        BitReader timeReader = new BitReader(buffer, HEADER_BYTES);
+        BitReader valueReader = new BitReader(buffer, HEADER_BYTES + columnBytes);
+        long time = firstTime;
+        long delta = 0;
+        long value = firstValue;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                delta += decodeDeltaOfDelta(timeReader);
+                time += delta;
+                if (valueReader.readBit()) {
+                    if (valueReader.readBit()) {
+                        leading = (int) valueReader.read(6);
+                        int meaningful = (int) valueReader.read(6) + 1;
+                        trailing = 64 - leading - meaningful;
+                    }
+                    value ^= valueReader.read(64 - leading - trailing) << trailing;
+                }
+            }
+            if (time > to) {
+                return true;
+            }
+            if (time >= from && !visitor.visit(time, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long decodeDeltaOfDelta(BitReader reader) {
+        if (!reader.readBit()) {
+            return 0;
+        }
+        if (!reader.readBit()) {
+            return reader.readSigned(7);
+        }
+        if (!reader.readBit()) {
+            return reader.readSigned(9);
+        }
+        if (!reader.readBit()) {
+            return reader.readSigned(12);
+        }
+        return reader.read(64);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    long getFirstTime() {
+        return firstTime;
+    }
+
+    long getLastTime() {
+        return lastTime;
+    }
+
+    int getCount() {
+        return count;
+    }
+}
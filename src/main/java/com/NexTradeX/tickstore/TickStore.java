@@ -0,0 +1,157 @@
+package com.NexTradeX.tickstore;
+
+import com.NexTradeX.market.CandleBar;
+import com.NexTradeX.market.InstrumentSpec;
+import com.NexTradeX.market.PriceUpdatedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Full price-tick history on local disk, one directory of compressed
+ * memory-mapped {@link TickSegment}s per symbol. Every
+ * {@link PriceUpdatedEvent} is appended; history is answered by range scans
+ * and by OHLC downsampling, both decoding straight from the mapped columns.
+ */
+@Slf4j
+@Component
+public class TickStore {
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int columnBytes;
+    private final long segmentMillis;
+    private final long retentionMillis;
+
+    private final Map<String, SymbolTickLog> logs = new ConcurrentHashMap<>();
+
+    public TickStore(@Value("${nextradex.tickstore.enabled:true}") boolean enabled,
+                     @Value("${nextradex.tickstore.directory:data/ticks}") String directory,
+                     @Value("${nextradex.tickstore.column-bytes:8388608}") int columnBytes,
+                     @Value("${nextradex.tickstore.segment-duration-ms:3600000}") long segmentMillis,
+                     @Value("${nextradex.tickstore.retention-days:365}") long retentionDays) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.columnBytes = columnBytes;
+        this.segmentMillis = segmentMillis;
+        this.retentionMillis = retentionDays * 86_400_000L;
+    }
+
+    @EventListener
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            append(event.symbol(), System.currentTimeMillis(), InstrumentSpec.of(event.symbol()).toTicks(event.price()));
+        } catch (RuntimeException e) {
+            // History is best effort: never fail the price update over it
+            log.warn("Cannot store tick for {}: {}", event.symbol(), e.getMessage());
+        }
+    }
+
+    public void append(String symbol, long timeMillis, long priceTicks) {
+        logFor(symbol).append(timeMillis, priceTicks);
+    }
+
+    /**
+     * Visit the symbol's ticks in {@code [from, to]} in time order, prices in ticks.
+     */
+    public void scan(String symbol, long from, long to, TickVisitor visitor) {
+        if (!logs.containsKey(symbol) && !Files.isDirectory(directory.resolve(validated(symbol)))) {
+            return;
+        }
+        logFor(symbol).scan(from, to, visitor);
+    }
+
+    public List<TickPoint> getTicks(String symbol, long from, long to, int limit) {
+        InstrumentSpec spec = InstrumentSpec.of(symbol);
+        List<TickPoint> ticks = new ArrayList<>(Math.min(limit, 1024));
+        scan(symbol, from, to, (time, price) -> {
+            ticks.add(new TickPoint(time, spec.fromTicks(price)));
+            return ticks.size() < limit;
+        });
+        return ticks;
+    }
+
+    /**
+     * OHLC per {@code bucketMillis} bucket over {@code [from, to]}, oldest first;
+     * empty buckets are skipped. Ticks carry no volume, so volume is zero.
+     */
+    public List<CandleBar> downsample(String symbol, long from, long to, long bucketMillis, int maxBuckets) {
+        InstrumentSpec spec = InstrumentSpec.of(symbol);
+        List<CandleBar> bars = new ArrayList<>();
+        // open time, open, high, low, close of the bucket being built
+        long[] bucket = {Long.MIN_VALUE, 0, 0, 0, 0};
+        scan(symbol, from, to, (time, price) -> {
+            long start = Math.floorDiv(time, bucketMillis) * bucketMillis;
+            if (start != bucket[0]) {
+                if (bucket[0] != Long.MIN_VALUE) {
+                    bars.add(toBar(spec, bucket));
+                    if (bars.size() == maxBuckets) {
+                        bucket[0] = Long.MIN_VALUE;
+                        return false;
+                    }
+                }
+                bucket[0] = start;
+                bucket[1] = price;
+                bucket[2] = price;
+                bucket[3] = price;
+            }
+            bucket[2] = Math.max(bucket[2], price);
+            bucket[3] = Math.min(bucket[3], price);
+            bucket[4] = price;
+            return true;
+        });
+        if (bucket[0] != Long.MIN_VALUE) {
+            bars.add(toBar(spec, bucket));
+        }
+        return bars;
+    }
+
+    private static CandleBar toBar(InstrumentSpec spec, long[] bucket) {
+        return new CandleBar(bucket[0], spec.fromTicks(bucket[1]), spec.fromTicks(bucket[2]),
+                spec.fromTicks(bucket[3]), spec.fromTicks(bucket[4]), BigDecimal.ZERO);
+    }
+
+    @Scheduled(fixedDelayString = "${nextradex.tickstore.retention-check-interval-ms:3600000}")
+    public void enforceRetention() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        int deleted = 0;
+        for (SymbolTickLog tickLog : logs.values()) {
+            deleted += tickLog.deleteBefore(cutoff);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} tick segments older than the retention period", deleted);
+        }
+    }
+
+    private SymbolTickLog logFor(String symbol) {
+        return logs.computeIfAbsent(symbol,
+                s -> new SymbolTickLog(directory.resolve(validated(s)), columnBytes, segmentMillis));
+    }
+
+    // Symbols become directory names
+    private static String validated(String symbol) {
+        if (!symbol.matches("[A-Za-z0-9_]+")) {
+            throw new IllegalArgumentException("Invalid symbol: " + symbol);
+        }
+        return symbol;
+    }
+
+    @PreDestroy
+    public void close() {
+        logs.values().forEach(SymbolTickLog::close);
+    }
+}
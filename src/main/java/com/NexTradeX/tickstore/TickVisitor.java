@@ -0,0 +1,10 @@
+package com.NexTradeX.tickstore;
+
+@FunctionalInterface
+public interface TickVisitor {
+
+    /**
+     * @return false to stop the scan
+     */
+    boolean visit(long timeMillis, long priceTicks);
+}
@@ -3,6 +3,7 @@ package com.NexTradeX.wallet;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.NexTradeX.common.SnowflakeId;
 import com.NexTradeX.user.User;
 
 import jakarta.persistence.Column;
@@ -10,8 +11,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
@@ -41,7 +40,7 @@ import lombok.NoArgsConstructor;
 public class Wallet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,6 +3,8 @@ package com.NexTradeX.wallet;
 import com.NexTradeX.exception.InsufficientBalanceException;
 import com.NexTradeX.user.User;
 import com.NexTradeX.user.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,6 +21,7 @@ public class WalletService {
     
     private final WalletRepository walletRepository;
     private final UserService userService;
+    private final EntityManager entityManager;
     
     private static final BigDecimal INITIAL_PAPER_CAPITAL = new BigDecimal("100000.00");
     
@@ -57,7 +60,10 @@ public class WalletService {
     }
     
     public Wallet updateBalance(Long walletId, BigDecimal amount) {
-        Wallet wallet = getWalletById(walletId);
+        Wallet wallet = lockWallet(walletId);
+        if (wallet.getBalance().add(amount).signum() < 0) {
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
         wallet.setBalance(wallet.getBalance().add(amount));
         Wallet updated = walletRepository.save(wallet);
         log.info("Updated wallet {} balance by {}", walletId, amount);
@@ -65,7 +71,7 @@ public class WalletService {
     }
     
     public Wallet lockFunds(Long walletId, BigDecimal amount) {
-        Wallet wallet = getWalletById(walletId);
+        Wallet wallet = lockWallet(walletId);
         if (wallet.getAvailableBalance().compareTo(amount) < 0) {
             throw new InsufficientBalanceException("Insufficient available balance");
         }
@@ -76,7 +82,7 @@ public class WalletService {
     }
     
     public Wallet unlockFunds(Long walletId, BigDecimal amount) {
-        Wallet wallet = getWalletById(walletId);
+        Wallet wallet = lockWallet(walletId);
         wallet.setLockedFunds(wallet.getLockedFunds().subtract(amount));
         Wallet updated = walletRepository.save(wallet);
         log.info("Unlocked {} from wallet {}", amount, walletId);
@@ -84,13 +90,27 @@ public class WalletService {
     }
     
     public Wallet updateUnrealizedPnL(Long walletId, BigDecimal pnl) {
-        Wallet wallet = getWalletById(walletId);
+        Wallet wallet = lockWallet(walletId);
         wallet.setUnrealizedPnL(pnl);
         Wallet updated = walletRepository.save(wallet);
         log.info("Updated unrealized PnL for wallet {} to {}", walletId, pnl);
         return updated;
     }
     
+    /**
+     * Load the wallet under a row lock held until the transaction ends. Sequencer
+     * shards are per symbol but wallets are per user, so two shards can change
+     * the same wallet at once; every balance change therefore re-reads the row
+     * under the lock instead of writing back a copy the other shard changed.
+     */
+    private Wallet lockWallet(Long walletId) {
+        Wallet wallet = getWalletById(walletId);
+        if (entityManager.getLockMode(wallet) != LockModeType.PESSIMISTIC_WRITE) {
+            entityManager.refresh(wallet, LockModeType.PESSIMISTIC_WRITE);
+        }
+        return wallet;
+    }
+    
     public boolean hasEnoughBalance(Long walletId, BigDecimal amount) {
         Wallet wallet = getWalletById(walletId);
         return wallet.getAvailableBalance().compareTo(amount) >= 0;
@@ -0,0 +1,82 @@
+package com.NexTradeX.backtest;
+
+import com.NexTradeX.order.OrderSide;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BacktestTests {
+
+	@Test
+	void restingLimitsFillAtTheirPriceWhenTheTapeCrosses() {
+		BacktestExchange exchange = new BacktestExchange("BTCUSDT", new BigDecimal("10000"), BigDecimal.ZERO);
+		long[] prices = {10_100, 9_950, 10_300, 10_600};
+		TickSource source = visitor -> {
+			for (int i = 0; i < prices.length; i++) {
+				visitor.visit(1_000L * i, prices[i]);
+			}
+		};
+
+		BacktestReport report = Backtest.run(source, exchange, new Strategy() {
+			@Override
+			public void onStart(BacktestExchange exchange) {
+				exchange.limitOrder(OrderSide.BUY, 10_000, 1_000_000);
+			}
+
+			@Override
+			public void onTick(BacktestExchange exchange, long timeMillis, long priceTicks) {
+			}
+
+			@Override
+			public void onFill(BacktestExchange exchange, long orderId, OrderSide side, long priceTicks, long lots) {
+				if (side == OrderSide.BUY) {
+					exchange.limitOrder(OrderSide.SELL, 10_500, lots);
+				}
+			}
+		});
+
+		assertThat(report.events()).isEqualTo(4);
+		assertThat(report.trades()).isEqualTo(2);
+		assertThat(report.fees()).isEqualByComparingTo("0.205");
+		assertThat(report.finalEquity()).isEqualByComparingTo("10004.795");
+		assertThat(exchange.getBaseLots()).isZero();
+	}
+
+	@Test
+	void restingLimitsHoldTheirFundsUntilCancelled() {
+		BacktestExchange exchange = new BacktestExchange("BTCUSDT", new BigDecimal("10000"), BigDecimal.ZERO);
+		exchange.attach((ex, timeMillis, priceTicks) -> { });
+
+		long first = exchange.limitOrder(OrderSide.BUY, 600_000, 1_000_000);
+		assertThat(first).isPositive();
+		assertThat(exchange.limitOrder(OrderSide.BUY, 600_000, 1_000_000)).isEqualTo(-1);
+		assertThat(exchange.getReservedQuote()).isPositive();
+
+		exchange.cancel(first);
+		assertThat(exchange.getReservedQuote()).isZero();
+		assertThat(exchange.limitOrder(OrderSide.BUY, 600_000, 1_000_000)).isPositive();
+	}
+
+	@Test
+	void liquidatedPositionForfeitsItsCollateral() {
+		BacktestExchange exchange = new BacktestExchange("BTCUSDT", BigDecimal.ZERO, new BigDecimal("1000"));
+		long[] prices = {10_000, 9_500, 9_000};
+		TickSource source = visitor -> {
+			for (int i = 0; i < prices.length; i++) {
+				visitor.visit(1_000L * i, prices[i]);
+			}
+		};
+
+		BacktestReport report = Backtest.run(source, exchange, (ex, timeMillis, priceTicks) -> {
+			if (timeMillis == 0) {
+				ex.openFutures(OrderSide.BUY, 1_000_000, BigDecimal.TEN);
+			}
+		});
+
+		assertThat(report.liquidations()).isEqualTo(1);
+		assertThat(exchange.getOpenPositionCount()).isZero();
+		assertThat(report.finalEquity()).isEqualByComparingTo("990");
+	}
+}
@@ -0,0 +1,24 @@
+package com.NexTradeX.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTests {
+
+	@Test
+	void quotesSeparatorsAndDefusesFormulas() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CsvWriter csv = new CsvWriter(out);
+
+		csv.row("=HYPERLINK(\"x\")", "-1+1", "@SUM(A1)", "a\rb", "a,b", new BigDecimal("-1.50"), -2L, "plain");
+		csv.flush();
+
+		assertThat(out.toString(StandardCharsets.UTF_8))
+				.isEqualTo("\"'=HYPERLINK(\"\"x\"\")\",'-1+1,'@SUM(A1),\"a\rb\",\"a,b\",-1.50,-2,plain\n");
+	}
+}
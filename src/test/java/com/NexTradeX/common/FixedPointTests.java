@@ -0,0 +1,48 @@
+package com.NexTradeX.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixedPointTests {
+
+	@Test
+	void roundTripsExactly() {
+		long scaled = FixedPoint.toScaled(new BigDecimal("43250.5"), 2);
+
+		assertThat(scaled).isEqualTo(4_325_050L);
+		assertThat(FixedPoint.toBigDecimal(scaled, 2)).isEqualByComparingTo("43250.50");
+		assertThatThrownBy(() -> FixedPoint.toScaled(new BigDecimal("1.005"), 2)).isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void multiplyMatchesBigDecimal() {
+		BigDecimal price = new BigDecimal("43250.55");
+		BigDecimal quantity = new BigDecimal("0.123457");
+		BigDecimal expected = price.multiply(quantity).setScale(8, RoundingMode.HALF_UP);
+
+		long product = FixedPoint.multiply(FixedPoint.toScaled(price, 2), FixedPoint.toScaled(quantity, 6), 8, 8);
+
+		assertThat(FixedPoint.toBigDecimal(product, 8)).isEqualByComparingTo(expected);
+	}
+
+	@Test
+	void multiplyFallsBackWhenProductOverflows() {
+		long a = 9_000_000_000_000_000L;
+		BigDecimal expected = BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(300))
+				.movePointLeft(10).setScale(0, RoundingMode.HALF_UP);
+
+		assertThat(FixedPoint.multiply(a, 300, 10, 0)).isEqualTo(expected.longValueExact());
+	}
+
+	@Test
+	void divideRoundsHalfUp() {
+		assertThat(FixedPoint.divide(2, 3, 4)).isEqualTo(6_667L);
+		assertThat(FixedPoint.divide(-2, 3, 4)).isEqualTo(-6_667L);
+		assertThat(FixedPoint.compareProducts(Long.MAX_VALUE, 3, Long.MAX_VALUE, 2)).isPositive();
+	}
+}
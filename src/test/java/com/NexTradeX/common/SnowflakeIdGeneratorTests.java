@@ -0,0 +1,27 @@
+package com.NexTradeX.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnowflakeIdGeneratorTests {
+
+	@Test
+	void idsAreStrictlyIncreasing() {
+		long previous = SnowflakeIdGenerator.nextId();
+		for (int i = 0; i < 100_000; i++) {
+			long id = SnowflakeIdGenerator.nextId();
+			assertThat(id).isGreaterThan(previous);
+			previous = id;
+		}
+	}
+
+	@Test
+	void encodesCreationTime() {
+		long before = System.currentTimeMillis();
+		long id = SnowflakeIdGenerator.nextId();
+
+		assertThat(SnowflakeIdGenerator.timestampOf(id)).isGreaterThanOrEqualTo(before);
+		assertThat(id).isGreaterThanOrEqualTo(SnowflakeIdGenerator.minIdAt(before));
+	}
+}
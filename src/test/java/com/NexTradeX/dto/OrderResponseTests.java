@@ -0,0 +1,20 @@
+package com.NexTradeX.dto;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderResponseTests {
+
+	@Test
+	void idIsWrittenAsAString() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		long id = (1L << 53) + 1;
+
+		String json = objectMapper.writeValueAsString(OrderResponse.builder().id(id).build());
+
+		assertThat(json).contains("\"id\":\"" + id + "\"");
+		assertThat(objectMapper.readValue(json, OrderResponse.class).getId()).isEqualTo(id);
+	}
+}
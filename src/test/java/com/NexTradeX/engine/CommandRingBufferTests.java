@@ -0,0 +1,67 @@
+package com.NexTradeX.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommandRingBufferTests {
+
+	@Test
+	void keepsEachProducersOrderUnderContention() throws Exception {
+		int producers = 4;
+		int perProducer = 20_000;
+		CommandRingBuffer<long[]> ring = new CommandRingBuffer<>(64);
+
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			long producer = p;
+			Thread thread = new Thread(() -> {
+				for (long seq = 0; seq < perProducer; seq++) {
+					while (!ring.offer(new long[] {producer, seq})) {
+						LockSupport.parkNanos(1_000);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+
+		long[] next = new long[producers];
+		int received = 0;
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (received < producers * perProducer && System.currentTimeMillis() < deadline) {
+			long[] entry = ring.poll();
+			if (entry == null) {
+				Thread.onSpinWait();
+				continue;
+			}
+			assertThat(entry[1]).isEqualTo(next[(int) entry[0]]);
+			next[(int) entry[0]]++;
+			received++;
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(received).isEqualTo(producers * perProducer);
+		assertThat(next).containsOnly(perProducer);
+		assertThat(ring.isEmpty()).isTrue();
+	}
+
+	@Test
+	void rejectsOffersWhenFull() {
+		CommandRingBuffer<Integer> ring = new CommandRingBuffer<>(2);
+		assertThat(ring.offer(1)).isTrue();
+		assertThat(ring.offer(2)).isTrue();
+		assertThat(ring.offer(3)).isFalse();
+		assertThat(ring.poll()).isEqualTo(1);
+		assertThat(ring.offer(3)).isTrue();
+		assertThat(ring.size()).isEqualTo(2);
+		assertThatThrownBy(() -> new CommandRingBuffer<>(3)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,179 @@
+package com.NexTradeX.engine;
+
+import com.NexTradeX.matching.BookOrder;
+import com.NexTradeX.matching.MatchingEngine;
+import com.NexTradeX.order.Order;
+import com.NexTradeX.order.OrderSide;
+import com.NexTradeX.order.OrderType;
+import com.NexTradeX.order.TimeInForce;
+import com.NexTradeX.spot.SpotTradeWriter;
+import com.NexTradeX.user.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderJournalTests {
+
+	private static final User USER = User.builder().id(7L).build();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void rotatesSegmentsAndReadsEveryRecordBack() throws IOException {
+		OrderJournal journal = journal();
+		int records = 30_000;
+		for (int i = 0; i < records; i++) {
+			journal.orderCancelled("BTCUSDT", (long) i);
+		}
+		journal.close();
+
+		List<Path> segments = JournalReader.listSegments(dir);
+		assertThat(segments).hasSizeGreaterThan(1);
+		List<Long> sequences = new ArrayList<>();
+		List<Long> orderIds = new ArrayList<>();
+		for (Path segment : segments) {
+			JournalReader.read(segment, (type, sequence, timestamp, payload) -> {
+				assertThat(type).isEqualTo(JournalRecordType.ORDER_CANCELLED);
+				sequences.add(sequence);
+				JournalCodec.getString(payload);
+				orderIds.add(payload.getLong());
+			});
+		}
+		assertThat(sequences).hasSize(records).isSorted().startsWith(1L).endsWith((long) records);
+		assertThat(orderIds.get(1234)).isEqualTo(1234L);
+		assertThat(journal().getLastSequence()).isEqualTo(records);
+	}
+
+	@Test
+	void writesOnlyCommittedRecords() throws IOException {
+		OrderJournal journal = journal();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			journal.orderAccepted(order(1L, OrderSide.BUY, "100", "5"));
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clear();
+		}
+		assertThat(journal.getLastSequence()).isZero();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			Order order = order(2L, OrderSide.BUY, "100", "7");
+			journal.orderAccepted(order);
+			order.setQuantity(new BigDecimal("8"));
+			assertThat(journal.getLastSequence()).isZero();
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clear();
+		}
+		assertThat(journal.getLastSequence()).isEqualTo(1);
+		journal.close();
+
+		List<BigDecimal> quantities = new ArrayList<>();
+		JournalReader.read(JournalReader.listSegments(dir).get(0),
+				(type, sequence, timestamp, payload) -> quantities.add(JournalCodec.decodeOrder(payload).getQuantity()));
+		assertThat(quantities).singleElement().satisfies(quantity -> assertThat(quantity).isEqualByComparingTo("7"));
+	}
+
+	@Test
+	void snapshotDeletesSegmentsItCovers() throws IOException {
+		OrderJournal journal = journal();
+		for (int i = 0; i < 30_000; i++) {
+			journal.orderCancelled("BTCUSDT", (long) i);
+		}
+		assertThat(JournalReader.listSegments(dir)).hasSizeGreaterThan(1);
+
+		OrderSequencer sequencer = new OrderSequencer(1, 64, 5_000);
+		SpotTradeWriter trades = new SpotTradeWriter(null, journal, null, null, 16, 4, 10, 100);
+		SnapshotService snapshots = new SnapshotService(journal, sequencer, new MatchingEngine(event -> {
+		}), trades);
+		ReflectionTestUtils.setField(snapshots, "retain", 2);
+		snapshots.takeSnapshot();
+		trades.shutdown();
+		sequencer.shutdown();
+		journal.close();
+
+		// Only the segment still being appended to is left
+		List<Path> segments = JournalReader.listSegments(dir);
+		assertThat(segments).hasSize(1);
+		assertThat(OrderJournal.firstSequence(segments.get(0))).isLessThanOrEqualTo(30_000);
+	}
+
+	@Test
+	void replayRebuildsTheSameBook() throws IOException {
+		OrderJournal journal = journal();
+		MatchingEngine live = new MatchingEngine(event -> {
+		});
+		place(journal, live, order(1L, OrderSide.SELL, "100", "1"));
+		place(journal, live, order(2L, OrderSide.SELL, "101", "2"));
+		place(journal, live, order(3L, OrderSide.BUY, "99", "1"));
+		place(journal, live, order(4L, OrderSide.BUY, "101", "1.5"));
+		journal.orderCancelled("BTCUSDT", 3L);
+		live.cancel("BTCUSDT", 3L);
+		place(journal, live, order(5L, OrderSide.BUY, "98", "1"));
+		journal.close();
+
+		List<Object> published = new CopyOnWriteArrayList<>();
+		MatchingEngine rebuilt = new MatchingEngine(published::add);
+		OrderJournal reopened = journal();
+		OrderSequencer sequencer = new OrderSequencer(2, 64, 5_000);
+		SpotTradeWriter trades = new SpotTradeWriter(null, reopened, null, null, 16, 4, 10, 100);
+		SnapshotService snapshots = new SnapshotService(reopened, sequencer, rebuilt, trades);
+		new JournalReplayer(reopened, rebuilt, snapshots, sequencer, trades).replay();
+		trades.shutdown();
+		sequencer.shutdown();
+		reopened.close();
+
+		assertThat(restingOrders(rebuilt)).containsExactly("5:1", "2:1.5").isEqualTo(restingOrders(live));
+		assertThat(published).isEmpty();
+	}
+
+	private OrderJournal journal() throws IOException {
+		OrderJournal journal = new OrderJournal();
+		ReflectionTestUtils.setField(journal, "enabled", true);
+		ReflectionTestUtils.setField(journal, "directory", dir.toString());
+		ReflectionTestUtils.setField(journal, "segmentSizeMb", 1);
+		journal.open();
+		return journal;
+	}
+
+	private static void place(OrderJournal journal, MatchingEngine engine, Order order) {
+		journal.orderAccepted(order);
+		engine.submit(new BookOrder(order.getId(), USER.getId(), order.getSymbol(), order.getSide(),
+				order.getPrice(), order.getQuantity(), order.getTimeInForce()));
+	}
+
+	private static List<String> restingOrders(MatchingEngine engine) {
+		List<String> orders = new ArrayList<>();
+		engine.getBook("BTCUSDT").forEachOrder(order ->
+				orders.add(order.getOrderId() + ":" + order.getRemainingQuantity().stripTrailingZeros().toPlainString()));
+		return orders;
+	}
+
+	private static Order order(Long id, OrderSide side, String price, String quantity) {
+		return Order.builder()
+				.id(id)
+				.user(USER)
+				.symbol("BTCUSDT")
+				.side(side)
+				.orderType(OrderType.LIMIT)
+				.price(new BigDecimal(price))
+				.quantity(new BigDecimal(quantity))
+				.timeInForce(TimeInForce.GTC)
+				.build();
+	}
+}
@@ -0,0 +1,93 @@
+package com.NexTradeX.engine;
+
+import com.NexTradeX.exception.SequencerTimeoutException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderSequencerTests {
+
+	@Test
+	void runsEachSymbolsCommandsInProducerOrder() throws Exception {
+		OrderSequencer sequencer = new OrderSequencer(2, 64, 10_000);
+		int producers = 4;
+		int perProducer = 2_000;
+		// Only ever touched from the symbol's shard thread
+		Map<Integer, List<Integer>> seen = new HashMap<>();
+
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int producer = p;
+			Thread thread = new Thread(() -> {
+				for (int seq = 0; seq < perProducer; seq++) {
+					int value = seq;
+					if (seq % 2 == 0) {
+						sequencer.submit("BTC", () -> seen.computeIfAbsent(producer, k -> new ArrayList<>()).add(value));
+					} else {
+						sequencer.run("BTC", () -> seen.computeIfAbsent(producer, k -> new ArrayList<>()).add(value));
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Map<Integer, List<Integer>> snapshot = sequencer.execute("BTC", () -> Map.copyOf(seen));
+		sequencer.shutdown();
+
+		assertThat(snapshot).hasSize(producers);
+		snapshot.values().forEach(values -> assertThat(values).hasSize(perProducer).isSorted());
+	}
+
+	@Test
+	void withdrawsCommandsThatTimedOutBeforeStarting() throws Exception {
+		OrderSequencer sequencer = new OrderSequencer(1, 64, 100);
+		CountDownLatch blocker = new CountDownLatch(1);
+		AtomicBoolean ran = new AtomicBoolean();
+		sequencer.submit("BTC", () -> await(blocker));
+
+		assertThatThrownBy(() -> sequencer.run("BTC", () -> ran.set(true)))
+				.isInstanceOfSatisfying(SequencerTimeoutException.class, e -> assertThat(e.isPending()).isFalse());
+
+		blocker.countDown();
+		sequencer.run("BTC", () -> { });
+		sequencer.shutdown();
+		assertThat(ran).isFalse();
+	}
+
+	@Test
+	void reportsRunningCommandsAsPending() throws Exception {
+		OrderSequencer sequencer = new OrderSequencer(1, 64, 100);
+		CountDownLatch blocker = new CountDownLatch(1);
+		var ack = sequencer.enqueue("BTC", () -> {
+			await(blocker);
+			return "filled";
+		});
+
+		assertThatThrownBy(() -> sequencer.await(ack))
+				.isInstanceOfSatisfying(SequencerTimeoutException.class, e -> assertThat(e.isPending()).isTrue());
+
+		blocker.countDown();
+		assertThat(ack.get()).isEqualTo("filled");
+		sequencer.shutdown();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
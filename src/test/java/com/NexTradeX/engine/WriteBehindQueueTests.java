@@ -0,0 +1,99 @@
+package com.NexTradeX.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindQueueTests {
+
+	@Test
+	void flushesEverythingInBoundedBatches() {
+		List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+		WriteBehindQueue<Integer> queue = new WriteBehindQueue<>("test", 16, 4, 10, 1_000,
+				batch -> batches.add(List.copyOf(batch)), e -> true, batch -> { });
+		queue.start();
+		for (int i = 0; i < 10; i++) {
+			queue.put(i);
+		}
+		queue.shutdown(5_000);
+
+		List<Integer> flushed = new ArrayList<>();
+		batches.forEach(flushed::addAll);
+		assertThat(flushed).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+		assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(4));
+		assertThat(queue.getStats().flushed()).isEqualTo(10);
+		assertThat(queue.getLagMillis()).isZero();
+	}
+
+	@Test
+	void retriesFailedBatch() {
+		List<Integer> flushed = new CopyOnWriteArrayList<>();
+		int[] failures = {2};
+		WriteBehindQueue<Integer> queue = new WriteBehindQueue<>("test", 16, 4, 10, 1_000, batch -> {
+			if (failures[0]-- > 0) {
+				throw new IllegalStateException("database unavailable");
+			}
+			flushed.addAll(batch);
+		}, e -> true, batch -> { });
+		queue.start();
+		queue.put(1);
+		queue.put(2);
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (flushed.size() < 2 && System.currentTimeMillis() < deadline) {
+			Thread.onSpinWait();
+		}
+		queue.shutdown(5_000);
+
+		assertThat(flushed).containsExactly(1, 2);
+	}
+
+	@Test
+	void deadLettersRecordsThatCanNeverBeWritten() throws Exception {
+		List<Integer> flushed = new CopyOnWriteArrayList<>();
+		List<Integer> deadLetters = new CopyOnWriteArrayList<>();
+		WriteBehindQueue<Integer> queue = new WriteBehindQueue<>("test", 16, 4, 10, 1_000, batch -> {
+			if (batch.contains(2)) {
+				throw new IllegalArgumentException("constraint violation");
+			}
+			flushed.addAll(batch);
+		}, e -> !(e instanceof IllegalArgumentException), deadLetters::addAll);
+		queue.start();
+		for (int i = 0; i < 4; i++) {
+			queue.put(i);
+		}
+
+		assertThat(queue.awaitFlushed(5_000)).isTrue();
+		queue.shutdown(5_000);
+
+		assertThat(flushed).containsExactly(0, 1, 3);
+		assertThat(deadLetters).containsExactly(2);
+		assertThat(queue.getStats().deadLettered()).isEqualTo(1);
+	}
+
+	@Test
+	void putGivesUpWhenTheQueueStaysFull() {
+		CountDownLatch release = new CountDownLatch(1);
+		WriteBehindQueue<Integer> queue = new WriteBehindQueue<>("test", 1, 1, 10, 100, batch -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}, e -> true, batch -> { });
+		queue.start();
+		queue.put(1); // taken by the blocked flusher
+		queue.put(2); // fills the queue
+
+		assertThatThrownBy(() -> queue.put(3)).isInstanceOf(IllegalStateException.class);
+		assertThat(queue.getStats().rejected()).isEqualTo(1);
+		release.countDown();
+		queue.shutdown(5_000);
+	}
+}
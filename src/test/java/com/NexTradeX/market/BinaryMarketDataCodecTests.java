@@ -0,0 +1,49 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.matching.DepthUpdate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryMarketDataCodecTests {
+
+	@Test
+	void encodesPriceWithSchemaHeader() {
+		ByteBuffer buffer = BinaryMarketDataCodec.encodePrice("BTCUSDT", 1_000L, new BigDecimal("43250.5"));
+
+		assertThat(buffer.get()).isEqualTo(BinaryMarketDataCodec.SCHEMA_VERSION);
+		assertThat(buffer.get()).isEqualTo(BinaryMarketDataCodec.PRICE);
+		assertThat(buffer.get()).isEqualTo((byte) 2);
+		assertThat(buffer.get()).isEqualTo((byte) 6);
+		byte[] symbol = new byte[buffer.get()];
+		buffer.get(symbol);
+		assertThat(new String(symbol)).isEqualTo("BTCUSDT");
+		assertThat(buffer.getLong()).isEqualTo(1_000L);
+		assertThat(buffer.getLong()).isEqualTo(4_325_050L);
+		assertThat(buffer.hasRemaining()).isFalse();
+	}
+
+	@Test
+	void encodesDepthLevelsAsFixedPoint() {
+		DepthUpdate delta = new DepthUpdate("BTCUSDT", 7, false,
+				List.<BigDecimal[]>of(new BigDecimal[]{new BigDecimal("100.5"), new BigDecimal("2")}),
+				List.<BigDecimal[]>of(new BigDecimal[]{new BigDecimal("101"), BigDecimal.ZERO}));
+
+		ByteBuffer buffer = BinaryMarketDataCodec.encodeDepth(delta);
+		buffer.position(5 + "BTCUSDT".length());
+
+		assertThat(buffer.getLong()).isEqualTo(7);
+		assertThat(buffer.get()).isZero();
+		assertThat(buffer.getShort()).isEqualTo((short) 1);
+		assertThat(buffer.getShort()).isEqualTo((short) 1);
+		assertThat(buffer.getLong()).isEqualTo(10_050L);
+		assertThat(buffer.getLong()).isEqualTo(2_000_000L);
+		assertThat(buffer.getLong()).isEqualTo(10_100L);
+		assertThat(buffer.getLong()).isZero();
+		assertThat(buffer.hasRemaining()).isFalse();
+	}
+}
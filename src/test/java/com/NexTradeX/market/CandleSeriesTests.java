@@ -0,0 +1,44 @@
+package com.NexTradeX.market;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleSeriesTests {
+
+	@Test
+	void aggregatesTicksWithinABucket() {
+		CandleSeries series = new CandleSeries("BTCUSDT", CandleInterval.M1, 4);
+		series.update(60_000, 10000, 0);
+		series.update(65_000, 10500, 2_000_000);
+		series.update(70_000, 9800, 1_000_000);
+		series.update(119_999, 10100, 0);
+
+		CandleBar current = series.current();
+
+		assertThat(current.openTime()).isEqualTo(60_000);
+		assertThat(current.open()).isEqualByComparingTo("100");
+		assertThat(current.high()).isEqualByComparingTo("105");
+		assertThat(current.low()).isEqualByComparingTo("98");
+		assertThat(current.close()).isEqualByComparingTo("101");
+		assertThat(current.volume()).isEqualByComparingTo("3");
+	}
+
+	@Test
+	void closesOnNextBucketAndKeepsOnlyCapacity() {
+		CandleSeries series = new CandleSeries("BTCUSDT", CandleInterval.S1, 3);
+		assertThat(series.update(0, 100, 0)).isNull();
+		CandleBar closed = series.update(1_500, 200, 0);
+		series.update(2_000, 300, 0);
+		series.update(3_000, 400, 0);
+		assertThat(series.update(2_500, 999, 0)).isNull();
+
+		List<CandleBar> recent = series.recent(10);
+
+		assertThat(closed.openTime()).isZero();
+		assertThat(recent).extracting(CandleBar::openTime).containsExactly(1_000L, 2_000L, 3_000L);
+		assertThat(recent.get(2).high()).isEqualByComparingTo(series.current().open());
+	}
+}
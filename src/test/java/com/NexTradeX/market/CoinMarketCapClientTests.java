@@ -0,0 +1,86 @@
+package com.NexTradeX.market;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoinMarketCapClientTests {
+
+	private static final String QUOTES = """
+			{"status":{"error_code":0,"notice":null},
+			 "data":{
+			  "BTC":{"id":1,"symbol":"BTC","tags":["mineable"],
+			         "quote":{"USD":{"price":50000.5,"volume_24h":1000,"percent_change_24h":25,"market_cap":9000,"last_updated":"2024-01-01T00:00:00Z"}}},
+			  "ETH":{"id":1027,"symbol":"ETH",
+			         "quote":{"USD":{"price":2500,"volume_24h":null,"percent_change_24h":-1.5}}}}}
+			""";
+
+	private HttpServer server;
+	private final AtomicReference<String> lastQuery = new AtomicReference<>();
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.start();
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.stop(0);
+	}
+
+	@Test
+	void fetchesAllSymbolsInOneCall() {
+		respond(200, QUOTES, null);
+
+		List<PriceUpdateDTO> updates = client().fetchQuotes(List.of("BTC", "ETH")).block(Duration.ofSeconds(5));
+
+		assertThat(lastQuery.get()).contains("symbol=BTC,ETH");
+		assertThat(updates).extracting(PriceUpdateDTO::getSymbol).containsExactly("BTCUSDT", "ETHUSDT");
+		PriceUpdateDTO btc = updates.get(0);
+		assertThat(btc.getCurrentPrice()).isEqualByComparingTo("50000.5");
+		assertThat(btc.getOpenPrice()).isEqualByComparingTo("40000.4");
+		assertThat(btc.getMarketCap()).isEqualByComparingTo("9000");
+		assertThat(updates.get(1).getVolume24h()).isNull();
+	}
+
+	@Test
+	void surfacesRetryAfterOnRateLimit() {
+		respond(429, "{\"status\":{\"error_code\":1008}}", "30");
+
+		assertThatThrownBy(() -> client().fetchQuotes(List.of("BTC")).block(Duration.ofSeconds(5)))
+				.isInstanceOfSatisfying(CoinMarketCapClient.RateLimitedException.class,
+						e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(30)));
+	}
+
+	private CoinMarketCapClient client() {
+		return new CoinMarketCapClient("http://127.0.0.1:" + server.getAddress().getPort(), "test-key", 2000, 60000);
+	}
+
+	private void respond(int status, String body, String retryAfter) {
+		server.createContext(CoinMarketCapClient.QUOTES_PATH, exchange -> {
+			lastQuery.set(exchange.getRequestURI().getQuery());
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			if (retryAfter != null) {
+				exchange.getResponseHeaders().add("Retry-After", retryAfter);
+			}
+			exchange.sendResponseHeaders(status, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		});
+	}
+}
@@ -0,0 +1,45 @@
+package com.NexTradeX.market;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GbmJumpModelTests {
+
+	@Test
+	void logReturnsMatchConfiguredVolatility() {
+		double dt = 1.0 / 365;
+		GbmJumpModel model = new GbmJumpModel(0, 0.8, 0, 0, 0, dt, 7);
+		int steps = 100_000;
+		double price = 100;
+		double sum = 0;
+		double sumOfSquares = 0;
+		for (int i = 0; i < steps; i++) {
+			double next = model.next(price);
+			double logReturn = Math.log(next / price);
+			sum += logReturn;
+			sumOfSquares += logReturn * logReturn;
+			price = next;
+		}
+		double mean = sum / steps;
+		double stdDev = Math.sqrt(sumOfSquares / steps - mean * mean);
+
+		assertThat(stdDev).isCloseTo(0.8 * Math.sqrt(dt), within(0.8 * Math.sqrt(dt) * 0.02));
+		assertThat(price).isPositive();
+	}
+
+	@Test
+	void sameSeedReplaysTheSamePath() {
+		GbmJumpModel first = new GbmJumpModel(0.1, 0.5, 100, -0.02, 0.05, 1e-6, 42);
+		GbmJumpModel second = new GbmJumpModel(0.1, 0.5, 100, -0.02, 0.05, 1e-6, 42);
+		double a = 100;
+		double b = 100;
+		for (int i = 0; i < 1000; i++) {
+			a = first.next(a);
+			b = second.next(b);
+		}
+
+		assertThat(a).isEqualTo(b);
+	}
+}
@@ -0,0 +1,36 @@
+package com.NexTradeX.market;
+
+import com.NexTradeX.order.OrderSide;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TradeTapeTests {
+
+	@Test
+	void returnsNewestFirstUpToLimit() {
+		TradeTape tape = new TradeTape("BTCUSDT", 8);
+		tape.append(OrderSide.BUY, 10000, 1_000_000, 1L);
+		tape.append(OrderSide.SELL, 10100, 2_000_000, 2L);
+		tape.append(OrderSide.BUY, 10200, 3_000_000, 3L);
+
+		List<TradeTick> trades = tape.recent(2);
+
+		assertThat(trades).extracting(TradeTick::id).containsExactly(2L, 1L);
+		assertThat(trades.get(0).price()).isEqualByComparingTo("102");
+		assertThat(trades.get(1).quantity()).isEqualByComparingTo("2");
+		assertThat(trades.get(1).side()).isEqualTo("SELL");
+	}
+
+	@Test
+	void keepsOnlyTheLastCapacityTrades() {
+		TradeTape tape = new TradeTape("BTCUSDT", 4);
+		for (int i = 0; i < 10; i++) {
+			tape.append(OrderSide.BUY, 10000 + i, 1, i);
+		}
+
+		assertThat(tape.recent(100)).extracting(TradeTick::id).containsExactly(9L, 8L, 7L, 6L);
+	}
+}
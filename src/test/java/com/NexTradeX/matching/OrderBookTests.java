@@ -0,0 +1,140 @@
+package com.NexTradeX.matching;
+
+import com.NexTradeX.order.OrderSide;
+import com.NexTradeX.order.TimeInForce;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderBookTests {
+
+	@Test
+	void matchesByPriceThenTime() {
+		OrderBook book = new OrderBook("BTCUSDT");
+		book.add(order(1L, OrderSide.SELL, "101", "1"));
+		book.add(order(2L, OrderSide.SELL, "100", "1"));
+		book.add(order(3L, OrderSide.SELL, "100", "1"));
+
+		BookOrder taker = order(4L, OrderSide.BUY, "101", "2.5");
+		List<Fill> fills = book.match(taker);
+
+		assertThat(fills).extracting(Fill::getMakerOrderId).containsExactly(2L, 3L, 1L);
+		assertThat(fills.get(2).getQuantity()).isEqualByComparingTo("0.5");
+		assertThat(taker.isFilled()).isTrue();
+		assertThat(book.getOrder(1L).getRemainingQuantity()).isEqualByComparingTo("0.5");
+	}
+
+	@Test
+	void doesNotCrossLimitPrice() {
+		OrderBook book = new OrderBook("BTCUSDT");
+		book.add(order(1L, OrderSide.BUY, "99", "1"));
+
+		BookOrder taker = order(2L, OrderSide.SELL, "100", "1");
+
+		assertThat(book.match(taker)).isEmpty();
+		assertThat(taker.getRemainingQuantity()).isEqualByComparingTo("1");
+	}
+
+	@Test
+	void cancelRemovesEmptyLevel() {
+		OrderBook book = new OrderBook("BTCUSDT");
+		book.add(order(1L, OrderSide.BUY, "99", "1"));
+
+		assertThat(book.cancel(1L)).isNotNull();
+		assertThat(book.getBestBid()).isNull();
+		assertThat(book.getOrderCount()).isZero();
+	}
+
+	@Test
+	void drainsCollapsedDepthDeltas() {
+		OrderBook book = new OrderBook("BTCUSDT");
+		book.add(order(1L, OrderSide.SELL, "100", "1"));
+		book.add(order(2L, OrderSide.SELL, "100", "2"));
+		book.add(order(3L, OrderSide.BUY, "99", "1"));
+
+		DepthUpdate first = book.drainDepthChanges();
+		assertThat(first.sequence()).isEqualTo(1);
+		assertThat(first.asks()).hasSize(1);
+		assertThat(first.asks().get(0)[1]).isEqualByComparingTo("3");
+		assertThat(first.bids().get(0)[0]).isEqualByComparingTo("99");
+		assertThat(book.drainDepthChanges()).isNull();
+
+		book.match(order(4L, OrderSide.BUY, "100", "3"));
+		DepthUpdate second = book.drainDepthChanges();
+		assertThat(second.sequence()).isEqualTo(2);
+		assertThat(second.bids()).isEmpty();
+		assertThat(second.asks().get(0)[1]).isEqualByComparingTo("0");
+		assertThat(book.depthSnapshot(10).asks()).isEmpty();
+		assertThat(book.depthSnapshot(10).sequence()).isEqualTo(2);
+	}
+
+	@Test
+	void fillOrKillCheckLeavesBookUntouched() {
+		OrderBook book = new OrderBook("BTCUSDT");
+		book.add(order(1L, OrderSide.SELL, "100", "1"));
+		book.add(order(2L, OrderSide.SELL, "101", "1"));
+
+		assertThat(book.canFill(order(3L, OrderSide.BUY, "101", "2"))).isTrue();
+		assertThat(book.canFill(order(4L, OrderSide.BUY, "100", "2"))).isFalse();
+		assertThat(book.crossesBest(order(5L, OrderSide.BUY, "99", "1"))).isFalse();
+		assertThat(book.getOrderCount()).isEqualTo(2);
+		assertThat(book.getOrder(1L).getRemainingQuantity()).isEqualByComparingTo("1");
+	}
+
+	@Test
+	void immediateOrCancelRemainderDoesNotRest() {
+		MatchingEngine engine = new MatchingEngine(event -> {
+		});
+		engine.submit(order(1L, OrderSide.SELL, "100", "1"));
+
+		BookOrder taker = new BookOrder(2L, 1L, "BTCUSDT", OrderSide.BUY, new BigDecimal("100"), new BigDecimal("3"), TimeInForce.IOC);
+		assertThat(engine.submit(taker)).hasSize(1);
+		assertThat(taker.isResting()).isFalse();
+		assertThat(engine.getBook("BTCUSDT").getOrderCount()).isZero();
+	}
+
+	@Test
+	void rollbackRestoresMakersInTimePriority() {
+		MatchingEngine engine = new MatchingEngine(event -> {
+		});
+		engine.submit(order(1L, OrderSide.SELL, "100", "1"));
+		engine.submit(order(2L, OrderSide.SELL, "100", "1"));
+		engine.submit(order(3L, OrderSide.SELL, "101", "1"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			engine.submit(order(4L, OrderSide.BUY, "100", "1.5"));
+			engine.submit(order(5L, OrderSide.BUY, "102", "2"));
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clear();
+		}
+
+		OrderBook book = engine.getBook("BTCUSDT");
+		assertThat(book.getBestBid()).isNull();
+		assertThat(book.getOrderCount()).isEqualTo(3);
+		List<Fill> fills = book.match(order(6L, OrderSide.BUY, "101", "3"));
+		assertThat(fills).extracting(Fill::getMakerOrderId).containsExactly(1L, 2L, 3L);
+		assertThat(fills).allSatisfy(fill -> assertThat(fill.getQuantity()).isEqualByComparingTo("1"));
+	}
+
+	@Test
+	void unknownSymbolsGetNoBook() {
+		MatchingEngine engine = new MatchingEngine(event -> {
+		});
+
+		assertThatThrownBy(() -> engine.getBook("NOPEUSDT")).isInstanceOf(IllegalArgumentException.class);
+		assertThat(engine.getBooks()).isEmpty();
+	}
+
+	private BookOrder order(Long id, OrderSide side, String price, String quantity) {
+		return new BookOrder(id, 1L, "BTCUSDT", side, new BigDecimal(price), new BigDecimal(quantity));
+	}
+}
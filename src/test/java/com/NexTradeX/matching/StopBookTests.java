@@ -0,0 +1,43 @@
+package com.NexTradeX.matching;
+
+import com.NexTradeX.order.OrderSide;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StopBookTests {
+
+	@Test
+	void triggersOnlyReachedStops() {
+		StopBook book = new StopBook("BTCUSDT");
+		book.add(StopOrder.stop(1L, 1L, "BTCUSDT", OrderSide.BUY, new BigDecimal("105")));
+		book.add(StopOrder.stop(2L, 1L, "BTCUSDT", OrderSide.BUY, new BigDecimal("110")));
+		book.add(StopOrder.stop(3L, 1L, "BTCUSDT", OrderSide.SELL, new BigDecimal("95")));
+
+		assertThat(book.onPrice(10_600)).extracting(StopOrder::getOrderId).containsExactly(1L);
+		assertThat(book.onPrice(9_400)).extracting(StopOrder::getOrderId).containsExactly(3L);
+		assertThat(book.getOrderCount()).isEqualTo(1);
+	}
+
+	@Test
+	void trailingStopFollowsPeak() {
+		StopBook book = new StopBook("BTCUSDT");
+		book.add(StopOrder.trailing(1L, 1L, "BTCUSDT", OrderSide.SELL, new BigDecimal("5"), new BigDecimal("100")));
+
+		assertThat(book.onPrice(12_000)).isEmpty();
+		assertThat(book.getOrder(1L).getTriggerPrice()).isEqualByComparingTo("115");
+		assertThat(book.onPrice(11_600)).isEmpty();
+		assertThat(book.onPrice(11_500)).extracting(StopOrder::getOrderId).containsExactly(1L);
+	}
+
+	@Test
+	void cancelRemovesStop() {
+		StopBook book = new StopBook("BTCUSDT");
+		book.add(StopOrder.trailing(1L, 1L, "BTCUSDT", OrderSide.BUY, new BigDecimal("5"), new BigDecimal("100")));
+
+		assertThat(book.cancel(1L)).isNotNull();
+		assertThat(book.onPrice(20_000)).isEmpty();
+	}
+}
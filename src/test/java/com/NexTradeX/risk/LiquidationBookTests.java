@@ -0,0 +1,76 @@
+package com.NexTradeX.risk;
+
+import com.NexTradeX.engine.OrderSequencer;
+import com.NexTradeX.futures.FuturesPosition;
+import com.NexTradeX.futures.PositionMode;
+import com.NexTradeX.market.InstrumentSpec;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiquidationBookTests {
+
+	private final InstrumentSpec btc = InstrumentSpec.of("BTCUSDT");
+
+	@Test
+	void liquidationPriceIsTheFirstLiquidatableTick() {
+		long collateral = TradingRules.toMoney(new BigDecimal("10"));
+
+		assertThat(TradingRules.futuresLiquidationTicks(btc, true, 10_000, 1_000_000, collateral)).isEqualTo(9_049);
+		assertThat(TradingRules.futuresLiquidationTicks(btc, false, 10_000, 1_000_000, collateral)).isEqualTo(10_951);
+	}
+
+	@Test
+	void tickOnlyReturnsPositionsItCrosses() {
+		LiquidationBook book = new LiquidationBook();
+		book.add(1L, true, 9_000);
+		book.add(2L, true, 9_500);
+		book.add(3L, false, 11_000);
+		book.add(4L, false, 10_500);
+
+		assertThat(book.cross(10_000)).isEmpty();
+		assertThat(book.cross(9_500)).containsExactly(2L);
+		assertThat(book.cross(10_700)).containsExactly(4L);
+		assertThat(book.size()).isEqualTo(2);
+	}
+
+	@Test
+	void removedPositionsAreNotLiquidated() {
+		LiquidationBook book = new LiquidationBook();
+		book.add(1L, true, 9_000);
+		book.add(2L, true, 9_000);
+
+		assertThat(book.remove(1L)).isTrue();
+		assertThat(book.cross(8_000)).containsExactly(2L);
+		assertThat(book.remove(2L)).isFalse();
+	}
+
+	@Test
+	void indexTracksPositionsOnlyOnceTheirTransactionCommits() {
+		OrderSequencer sequencer = new OrderSequencer(1, 64, 10_000);
+		LiquidationIndex index = new LiquidationIndex(sequencer);
+		FuturesPosition rolledBack = FuturesPosition.builder().id(1L).symbol("BTCUSDT")
+				.positionMode(PositionMode.LONG).liquidationPrice(new BigDecimal("90")).build();
+		FuturesPosition committed = FuturesPosition.builder().id(2L).symbol("BTCUSDT")
+				.positionMode(PositionMode.LONG).liquidationPrice(new BigDecimal("90")).build();
+
+		TransactionSynchronizationManager.initSynchronization();
+		index.trackFutures(rolledBack);
+		TransactionSynchronizationManager.clearSynchronization();
+
+		TransactionSynchronizationManager.initSynchronization();
+		index.trackFutures(committed);
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+		long priceTicks = btc.toTicks(new BigDecimal("80"));
+		assertThat(sequencer.execute("BTCUSDT", () -> index.crossFutures("BTCUSDT", priceTicks))).containsExactly(2L);
+		sequencer.shutdown();
+	}
+}
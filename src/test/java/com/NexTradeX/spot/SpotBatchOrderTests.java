@@ -0,0 +1,64 @@
+package com.NexTradeX.spot;
+
+import com.NexTradeX.dto.SpotOrderRequest;
+import com.NexTradeX.engine.OrderSequencer;
+import com.NexTradeX.order.Order;
+import com.NexTradeX.order.OrderStatus;
+import com.NexTradeX.user.User;
+import com.NexTradeX.user.UserService;
+import com.NexTradeX.wallet.WalletService;
+import com.NexTradeX.wallet.WalletType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SpotBatchOrderTests {
+
+	@Autowired
+	private SpotTradingService spotTradingService;
+
+	@Autowired
+	private OrderSequencer orderSequencer;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private WalletService walletService;
+
+	@Test
+	void rejectedOrderDoesNotFailTheBatch() {
+		User user = userService.createUser("batchuser", "batch@nextradex.com", "BatchPassword123", "Batch", "User");
+		walletService.initializeUserWallets(user);
+
+		List<SpotOrderRequest> requests = List.of(
+				limit("BUY", "1", "100"),
+				limit("BUY", "10", "50000"),
+				limit("SELL", "1", "200"));
+		List<Order> orders = orderSequencer.execute("BTCUSDT",
+				() -> spotTradingService.createSpotOrders(user.getId(), "BTCUSDT", requests));
+
+		assertThat(orders).extracting(Order::getStatus)
+				.containsExactly(OrderStatus.OPEN, OrderStatus.REJECTED, OrderStatus.OPEN);
+		assertThat(orders.get(1).getRemarks()).isEqualTo("Insufficient balance");
+		// 100 + 0.1% commission held by the bid, 1 unit held by the ask
+		assertThat(walletService.getWallet(user.getId(), WalletType.SPOT).getLockedFunds())
+				.isEqualByComparingTo("101.1");
+	}
+
+	private static SpotOrderRequest limit(String side, String quantity, String price) {
+		return SpotOrderRequest.builder()
+				.symbol("BTCUSDT")
+				.side(side)
+				.orderType("LIMIT")
+				.quantity(new BigDecimal(quantity))
+				.price(new BigDecimal(price))
+				.build();
+	}
+}
@@ -0,0 +1,69 @@
+package com.NexTradeX.tickstore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolTickLogTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void roundTripsTicksAcrossSegmentsAndRestarts() {
+		Random random = new Random(1);
+		List<long[]> written = new ArrayList<>();
+		long time = 1_700_000_000_000L;
+		long price = 4_325_050;
+
+		// Tiny columns force many segment rolls
+		SymbolTickLog tickLog = new SymbolTickLog(directory, 64, 3_600_000);
+		for (int i = 0; i < 2_000; i++) {
+			if (i == 1_000) {
+				tickLog.close();
+				tickLog = new SymbolTickLog(directory, 64, 3_600_000);
+			}
+			time += switch (i % 4) {
+				case 0 -> 0;
+				case 1 -> 1;
+				case 2 -> random.nextInt(5_000);
+				default -> random.nextInt(100_000_000);
+			};
+			price = i % 5 == 0 ? price : price + random.nextInt(2_001) - 1_000;
+			tickLog.append(time, price);
+			written.add(new long[]{time, price});
+		}
+
+		List<long[]> all = new ArrayList<>();
+		tickLog.scan(Long.MIN_VALUE, Long.MAX_VALUE, (t, p) -> all.add(new long[]{t, p}));
+		assertThat(all).containsExactlyElementsOf(written);
+
+		long from = written.get(500)[0];
+		long to = written.get(1_500)[0];
+		List<long[]> range = new ArrayList<>();
+		tickLog.scan(from, to, (t, p) -> range.add(new long[]{t, p}));
+		assertThat(range).containsExactlyElementsOf(written.stream()
+				.filter(tick -> tick[0] >= from && tick[0] <= to).toList());
+	}
+
+	@Test
+	void evenlySpacedRepeatedPricesCostAboutTwoBitsPerTick() {
+		SymbolTickLog tickLog = new SymbolTickLog(directory, 1024, 3_600_000);
+		for (int i = 0; i < 4_000; i++) {
+			tickLog.append(1_000_000L + i * 100L, 6_185_000);
+		}
+
+		List<Long> times = new ArrayList<>();
+		tickLog.scan(0, Long.MAX_VALUE, (t, p) -> times.add(t));
+
+		// 4000 ticks in two 1 KiB columns: everything fits in one segment
+		assertThat(times).hasSize(4_000);
+		assertThat(directory.toFile().list()).hasSize(1);
+	}
+}
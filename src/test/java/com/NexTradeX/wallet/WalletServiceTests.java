@@ -0,0 +1,50 @@
+package com.NexTradeX.wallet;
+
+import com.NexTradeX.user.User;
+import com.NexTradeX.user.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class WalletServiceTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private WalletService walletService;
+
+	@Test
+	void concurrentBalanceChangesAreNotLost() throws Exception {
+		User user = userService.createUser("walletuser", "wallet@nextradex.com", "WalletPassword123", "Wallet", "User");
+		walletService.initializeUserWallets(user);
+		Long walletId = walletService.getWallet(user.getId(), WalletType.SPOT).getId();
+
+		// Like two shards settling orders of the same user on different symbols
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 2; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 100; i++) {
+					walletService.updateBalance(walletId, BigDecimal.ONE);
+					walletService.lockFunds(walletId, BigDecimal.ONE);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Wallet wallet = walletService.getWalletById(walletId);
+		assertThat(wallet.getBalance()).isEqualByComparingTo("100200");
+		assertThat(wallet.getLockedFunds()).isEqualByComparingTo("200");
+	}
+}